@@ -0,0 +1,50 @@
+package model;
+
+import model.perft.ReferencePosition;
+import model.pieces.EndgameHelper;
+import model.pieces.PieceBitboards;
+import model.util.Fen;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to look for check and checkmate in a crowded position where the king is safe, and in a position where the
+ * king is checkmated so that every move has to be ruled out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class EndgameHelperBenchmark {
+
+    /**
+     * Position after the four move checkmate in integration.GameIT, with black to move
+     */
+    private static final String CHECKMATE = "rnbqkbn1/1ppppQpr/p6p/8/2B5/4P3/PPPP1PPP/RNB1K1NR b";
+
+    private EndgameHelper endgameHelper;
+    private PieceBitboards middlegame;
+    private PieceBitboards checkmate;
+
+    @Setup
+    public void setUp() {
+        endgameHelper = new EndgameHelper();
+        middlegame = Fen.parsePieces(ReferencePosition.MIDDLEGAME.getFen()).getBitboards();
+        checkmate = Fen.parsePieces(CHECKMATE).getBitboards();
+    }
+
+    @Benchmark
+    public boolean isInCheckMiddlegame() {
+        return endgameHelper.isInCheck(Colour.WHITE, middlegame);
+    }
+
+    @Benchmark
+    public boolean isInCheckmateMiddlegame() {
+        return endgameHelper.isInCheckmate(Colour.WHITE, middlegame);
+    }
+
+    @Benchmark
+    public boolean isInCheckmateWhenCheckmated() {
+        return endgameHelper.isInCheckmate(Colour.BLACK, checkmate);
+    }
+}
@@ -0,0 +1,36 @@
+package model;
+
+import model.perft.ReferencePosition;
+import model.pieces.PiecesMover;
+import model.search.Evaluation;
+import model.util.Fen;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to score the middlegame reference position, both from the score the PiecesMover keeps up to date as pieces
+ * move and by adding up the value of every piece from scratch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class EvaluationBenchmark {
+
+    private PiecesMover piecesMover;
+
+    @Setup
+    public void setUp() {
+        piecesMover = new PiecesMover(Fen.parsePieces(ReferencePosition.MIDDLEGAME.getFen()));
+    }
+
+    @Benchmark
+    public int evaluateIncrementally() {
+        return Evaluation.evaluate(piecesMover, Colour.WHITE);
+    }
+
+    @Benchmark
+    public int evaluateFromScratch() {
+        return Evaluation.evaluate(piecesMover.getBitboards(), Colour.WHITE);
+    }
+}
@@ -0,0 +1,37 @@
+package model;
+
+import model.game.Game;
+import model.game.GameState;
+import model.piece.PieceState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to play the four move checkmate from integration.GameIT through Game.move(), from creating the game to the
+ * final move.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    private static final Move[] MOVES = {
+            Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E2), Square.E3),
+            Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.A7), Square.A6),
+            Move.of(PieceState.of(PieceType.BISHOP, Colour.WHITE, Square.F1), Square.C4),
+            Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.H7), Square.H6),
+            Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.D1), Square.F3),
+            Move.of(PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.H8), Square.H7),
+            Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.F3), Square.F7)};
+
+    @Benchmark
+    public GameState playToCheckmate() {
+        Game game = new Game();
+        GameState state = null;
+        for (Move move : MOVES) {
+            state = game.move(move);
+        }
+        return state;
+    }
+}
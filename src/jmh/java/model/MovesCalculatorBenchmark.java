@@ -0,0 +1,40 @@
+package model;
+
+import model.perft.ReferencePosition;
+import model.pieces.PieceBitboards;
+import model.util.Bitboards;
+import model.util.Fen;
+import model.util.MovesCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to calculate the moveable and threatened squares of one piece of each type, in the middlegame reference
+ * position.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class MovesCalculatorBenchmark {
+
+    @Param({"PAWN", "CASTLE", "KNIGHT", "BISHOP", "QUEEN", "KING"})
+    private PieceType type;
+
+    private MovesCalculator movesCalculator;
+    private PieceBitboards bitboards;
+    private Square square;
+
+    @Setup
+    public void setUp() {
+        movesCalculator = new MovesCalculator();
+        bitboards = Fen.parsePieces(ReferencePosition.MIDDLEGAME.getFen()).getBitboards();
+        square = Bitboards.square(Long.numberOfTrailingZeros(bitboards.getPieces(type, Colour.WHITE)));
+    }
+
+    @Benchmark
+    public long calculateMoveableAndThreatenedSquares() {
+        movesCalculator.calculateMoveableAndThreatenedSquares(type, Colour.WHITE, square, bitboards);
+        return movesCalculator.getMoveableBitboard();
+    }
+}
@@ -0,0 +1,41 @@
+package model;
+
+import model.piece.PieceFactory;
+import model.piece.PieceState;
+import model.pieces.PiecesMover;
+import model.pieces.PiecesState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to make and undo a move from the starting position, both through move()/undoMove(), which also return the
+ * new state of the board, and through makeMove()/unmakeMove().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PiecesMoverBenchmark {
+
+    private PiecesMover piecesMover;
+    private Move move;
+
+    @Setup
+    public void setUp() {
+        piecesMover = new PiecesMover(new PieceFactory().createDefaultPiecesState());
+        move = Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E2), Square.E4);
+    }
+
+    @Benchmark
+    public PiecesState moveAndUndoMove() {
+        piecesMover.move(move);
+        return piecesMover.undoMove();
+    }
+
+    @Benchmark
+    public int makeMoveAndUnmakeMove() {
+        piecesMover.makeMove(move);
+        piecesMover.unmakeMove();
+        return piecesMover.getNumberOfListenersUpdated();
+    }
+}
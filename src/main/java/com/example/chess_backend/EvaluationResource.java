@@ -0,0 +1,38 @@
+package com.example.chess_backend;
+
+import model.exception.ChessException;
+import model.pieces.PiecesState;
+import model.search.Evaluation;
+import model.util.Fen;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+
+/**
+ * Scores positions by the value of each team's pieces and the squares they are on.
+ */
+@Path("/evaluation")
+public class EvaluationResource {
+
+    /**
+     * @param fen position to score, as FEN, with the colour to move in the second field
+     * @return score in centipawns from the point of view of the colour to move
+     * @throws BadRequestException if the FEN is missing or not valid
+     */
+    @GET
+    @Produces("text/plain")
+    public String evaluate(@QueryParam("fen") String fen) {
+        if (fen == null || fen.trim().isEmpty()) {
+            throw new BadRequestException("A position must be given in the fen query parameter."); // TODO log
+        }
+        try {
+            PiecesState piecesState = Fen.parsePieces(fen);
+            return Integer.toString(Evaluation.evaluate(piecesState.getBitboards(), Fen.parseColourToMove(fen)));
+        } catch (ChessException exception) {
+            throw new BadRequestException(exception.getMessage(), exception); // TODO log
+        }
+    }
+}
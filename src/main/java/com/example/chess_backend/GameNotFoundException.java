@@ -0,0 +1,13 @@
+package com.example.chess_backend;
+
+/**
+ * Exception class for when a game id does not belong to a game being played
+ */
+public class GameNotFoundException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public GameNotFoundException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.chess_backend;
+
+import model.game.Game;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Games being played, keyed by game id. Games are not thread safe, so every use of a game is made while holding the
+ * lock of that game and no other. Moves in different games therefore never wait for each other, and looking a game
+ * up does not lock the registry.
+ *
+ * Clients may abandon games without ending them, so the registry is bounded. Games not used for the idle timeout are
+ * removed, at most once per sweep interval, when a game is created. If the registry is still full, finished games
+ * are removed, and then the game used least recently.
+ */
+public class GameRegistry {
+
+    /**
+     * Number of games kept unless the "chess.maxGames" system property is set
+     */
+    public static final int DEFAULT_MAX_GAMES = 10_000;
+
+    /**
+     * Time after its last use that a game is removed, unless the "chess.gameIdleTimeoutMillis" system property is set
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60 * 60 * 1000L;
+
+    private static final GameRegistry SHARED = new GameRegistry(
+            Integer.getInteger("chess.maxGames", DEFAULT_MAX_GAMES),
+            Long.getLong("chess.gameIdleTimeoutMillis", DEFAULT_IDLE_TIMEOUT_MILLIS),
+            System::currentTimeMillis);
+
+    /**
+     * Games mapped by their id
+     */
+    private final ConcurrentHashMap<String, Entry> games;
+
+    /**
+     * Limits on the games kept
+     */
+    private final int maxGames;
+    private final long idleTimeoutMillis;
+
+    /**
+     * Current time in milliseconds
+     */
+    private final LongSupplier clock;
+
+    /**
+     * Time of the last sweep for idle games
+     */
+    private final AtomicLong lastSweep;
+
+    public GameRegistry() {
+        this(DEFAULT_MAX_GAMES, DEFAULT_IDLE_TIMEOUT_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     * @param maxGames maximum number of games to keep
+     * @param idleTimeoutMillis time after its last use that a game is removed
+     * @param clock current time in milliseconds
+     */
+    GameRegistry(int maxGames, long idleTimeoutMillis, LongSupplier clock) {
+        games = new ConcurrentHashMap<>();
+        this.maxGames = maxGames;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.clock = clock;
+        lastSweep = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * @return registry shared by every request
+     */
+    public static GameRegistry getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Starts a new game, first removing games that are idle, or finished or least recently used if the registry is
+     * full
+     * @return id of the new game
+     */
+    public String create() {
+        long now = clock.getAsLong();
+        long last = lastSweep.get();
+        if (now - last >= getSweepIntervalMillis() && lastSweep.compareAndSet(last, now)) {
+            removeIdleGames(now);
+        }
+        if (games.size() >= maxGames) {
+            removeIdleGames(now);
+            removeFinishedGames();
+            while (games.size() >= maxGames) {
+                removeLeastRecentlyUsedGame();
+            }
+        }
+        String id = UUID.randomUUID().toString();
+        games.put(id, new Entry(new Game(), now));
+        return id;
+    }
+
+    /**
+     * Uses a game while holding its lock, so that no other thread uses the game at the same time
+     * @param id of the game
+     * @param action to apply to the game, which must not keep the game to use after it returns
+     * @param <T> type of the result
+     * @return result of the action
+     * @throws GameNotFoundException if there is no game with the id
+     */
+    public <T> T withGame(String id, Function<Game, T> action) {
+        Entry entry = games.get(id);
+        if (entry == null) {
+            throw new GameNotFoundException(String.format("There is no game %s.", id)); // TODO log
+        }
+        entry.lastUsed = clock.getAsLong();
+        synchronized (entry.game) {
+            return action.apply(entry.game);
+        }
+    }
+
+    /**
+     * Ends a game, so that it can no longer be used
+     * @param id of the game
+     * @return true if the game was removed, false if there was no game with the id
+     */
+    public boolean remove(String id) {
+        return games.remove(id) != null;
+    }
+
+    /**
+     * @return number of games being played
+     */
+    public int size() {
+        return games.size();
+    }
+
+    /**
+     * @return time between sweeps for idle games, so that creating games does not scan every game each time
+     */
+    private long getSweepIntervalMillis() {
+        return idleTimeoutMillis / 2;
+    }
+
+    /**
+     * @param now current time in milliseconds
+     */
+    private void removeIdleGames(long now) {
+        for (Map.Entry<String, Entry> game : games.entrySet()) {
+            if (now - game.getValue().lastUsed >= idleTimeoutMillis) {
+                games.remove(game.getKey(), game.getValue());
+            }
+        }
+    }
+
+    private void removeFinishedGames() {
+        for (Map.Entry<String, Entry> game : games.entrySet()) {
+            boolean over;
+            synchronized (game.getValue().game) {
+                over = game.getValue().game.getStatus().isOver();
+            }
+            if (over) {
+                games.remove(game.getKey(), game.getValue());
+            }
+        }
+    }
+
+    private void removeLeastRecentlyUsedGame() {
+        Map.Entry<String, Entry> leastRecentlyUsed = null;
+        for (Map.Entry<String, Entry> game : games.entrySet()) {
+            if (leastRecentlyUsed == null || game.getValue().lastUsed < leastRecentlyUsed.getValue().lastUsed) {
+                leastRecentlyUsed = game;
+            }
+        }
+        if (leastRecentlyUsed != null) {
+            games.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue());
+        }
+    }
+
+    /**
+     * Game with the time it was last used.
+     */
+    private static final class Entry {
+
+        private final Game game;
+        private volatile long lastUsed;
+
+        Entry(Game game, long lastUsed) {
+            this.game = game;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.chess_backend;
+
+import model.Move;
+import model.Square;
+import model.exception.ChessException;
+import model.game.Game;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.FormParam;
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.net.URI;
+
+/**
+ * Creates games, makes moves in them and reads their state. Moves are given by the squares they are from and to,
+ * eg. from E2 to E4, and the state of a game is its status and the colour whose turn it is, one per line.
+ */
+@Path("/games")
+public class GameResource {
+
+    private final GameRegistry registry = GameRegistry.getShared();
+
+    /**
+     * @return id of the new game, with its location
+     */
+    @POST
+    @Produces("text/plain")
+    public Response create() {
+        String id = registry.create();
+        return Response.created(URI.create("games/" + id)).entity(id).build();
+    }
+
+    /**
+     * @param id of the game
+     * @return status of the game and the colour whose turn it is
+     * @throws NotFoundException if there is no game with the id
+     */
+    @GET
+    @Path("/{id}")
+    @Produces("text/plain")
+    public String getState(@PathParam("id") String id) {
+        try {
+            return registry.withGame(id, GameResource::describe);
+        } catch (GameNotFoundException exception) {
+            throw new NotFoundException(exception.getMessage(), exception); // TODO log
+        }
+    }
+
+    /**
+     * @param id of the game
+     * @return moves the colour whose turn it is can make, one per line as the squares they are from and to
+     * @throws NotFoundException if there is no game with the id
+     */
+    @GET
+    @Path("/{id}/moves")
+    @Produces("text/plain")
+    public String getLegalMoves(@PathParam("id") String id) {
+        try {
+            return registry.withGame(id, game -> {
+                StringBuilder moves = new StringBuilder();
+                for (Move move : game.legalMoves()) {
+                    moves.append(move.getPieceState().getSquare()).append(' ').append(move.getTo()).append('\n');
+                }
+                return moves.toString();
+            });
+        } catch (GameNotFoundException exception) {
+            throw new NotFoundException(exception.getMessage(), exception); // TODO log
+        }
+    }
+
+    /**
+     * Moves the piece of the colour whose turn it is from one square to another
+     * @param id of the game
+     * @param from square of the piece to move, eg. E2
+     * @param to square to move the piece to, eg. E4
+     * @return state of the game after the move
+     * @throws NotFoundException if there is no game with the id
+     * @throws BadRequestException if the squares are missing or the move is not allowed
+     */
+    @POST
+    @Path("/{id}/moves")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    @Produces("text/plain")
+    public String move(@PathParam("id") String id, @FormParam("from") String from, @FormParam("to") String to) {
+        Square fromSquare = parseSquare(from);
+        Square toSquare = parseSquare(to);
+        try {
+            return registry.withGame(id, game -> {
+                for (Move move : game.legalMoves()) {
+                    if (move.getPieceState().getSquare() == fromSquare && move.getTo() == toSquare) {
+                        game.move(move);
+                        return describe(game);
+                    }
+                }
+                throw new ChessException(String.format("Moving from %s to %s is not allowed.", fromSquare, toSquare)); // TODO log
+            });
+        } catch (GameNotFoundException exception) {
+            throw new NotFoundException(exception.getMessage(), exception); // TODO log
+        } catch (ChessException exception) {
+            throw new BadRequestException(exception.getMessage(), exception); // TODO log
+        }
+    }
+
+    /**
+     * Ends a game
+     * @param id of the game
+     * @throws NotFoundException if there is no game with the id
+     */
+    @DELETE
+    @Path("/{id}")
+    public void delete(@PathParam("id") String id) {
+        if (!registry.remove(id)) {
+            throw new NotFoundException(String.format("There is no game %s.", id)); // TODO log
+        }
+    }
+
+    /**
+     * @param square name of a square, eg. E2
+     * @return the square
+     * @throws BadRequestException if the name is missing or not a square on the board
+     */
+    private static Square parseSquare(String square) {
+        if (square != null) {
+            try {
+                Square parsed = Square.valueOf(square.trim().toUpperCase());
+                if (parsed != Square.NONE) {
+                    return parsed;
+                }
+            } catch (IllegalArgumentException exception) {
+                // Not the name of a square, reported below
+            }
+        }
+        throw new BadRequestException(String.format("%s is not a square on the board.", square)); // TODO log
+    }
+
+    /**
+     * @param game
+     * @return status of the game and the colour whose turn it is, one per line
+     */
+    private static String describe(Game game) {
+        return game.getStatus() + "\n" + game.getTurn() + "\n";
+    }
+}
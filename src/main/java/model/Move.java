@@ -2,24 +2,54 @@ package model;
 
 import model.piece.PieceState;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
- * Represents a chess move, where a piece moves from one square to another square.
+ * Represents a chess move, where a piece moves from one square to another square. Each move is created the first time
+ * it is asked for and then shared (see of), so equal moves obtained from of are the same instance.
  */
 public class Move {
 
+    private static final int NUM_SQUARES = Square.values().length;
+
+    /**
+     * The shared instance of each move that has been asked for, indexed by the index of the piece state then the
+     * square moved to
+     */
+    private static final AtomicReferenceArray<Move> MOVES =
+            new AtomicReferenceArray<>(PieceState.NUM_STATES * NUM_SQUARES);
+
     private final PieceState pieceState;
     private final Square to;
 
     /**
-     * Constructs a representation of a chess move
+     * Constructs a representation of a chess move, which is equal to the shared instance returned by of
      * @param pieceState
      * @param to square the piece is moving to
+     * @deprecated use Move.of, which returns the shared instance instead of creating another
      */
+    @Deprecated
     public Move(PieceState pieceState, Square to) {
         this.pieceState = pieceState;
         this.to = to;
     }
 
+    /**
+     * @param pieceState state of the piece making the move
+     * @param to square the piece is moving to
+     * @return the shared instance of the given move
+     */
+    public static Move of(PieceState pieceState, Square to) {
+        int index = pieceState.getIndex() * NUM_SQUARES + to.ordinal();
+        Move move = MOVES.get(index);
+        if (move == null) {
+            // Another thread may create the same move at the same time, so only the first one stored is shared
+            MOVES.compareAndSet(index, null, new Move(pieceState, to));
+            move = MOVES.get(index);
+        }
+        return move;
+    }
+
     /**
      * @return state of piece making the move
      */
@@ -33,4 +63,27 @@ public class Move {
     public Square getTo() {
         return to;
     }
-}
\ No newline at end of file
+
+    /**
+     * Moves from of are shared, so are only equal to themselves, but moves created by the deprecated constructor are
+     * equal to the shared instance of the same move.
+     * @param other
+     * @return true if the other object is a move of the same piece state to the same square
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof Move) {
+            Move otherMove = (Move) other;
+            return otherMove.pieceState == pieceState && otherMove.to == to;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return pieceState.getIndex() * NUM_SQUARES + to.ordinal();
+    }
+}
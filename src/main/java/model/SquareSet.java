@@ -0,0 +1,168 @@
+package model;
+
+import model.util.Bitboards;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable set of squares stored as a single 64-bit bitboard (see Bitboards), so checking whether a square is in
+ * the set is a single bit test. Square.NONE is never in a SquareSet.
+ */
+public final class SquareSet implements Iterable<Square> {
+
+    public static final SquareSet EMPTY = new SquareSet(Bitboards.EMPTY);
+
+    /**
+     * Bitboard with a bit set for every square in this set
+     */
+    private final long bitboard;
+
+    private SquareSet(long bitboard) {
+        this.bitboard = bitboard;
+    }
+
+    /**
+     * @param squares
+     * @return set containing the given squares
+     */
+    public static SquareSet of(Square... squares) {
+        long bitboard = Bitboards.EMPTY;
+        for (Square square : squares) {
+            bitboard |= Bitboards.bit(square);
+        }
+        return fromBitboard(bitboard);
+    }
+
+    /**
+     * @param bitboard
+     * @return set containing every square set in the bitboard
+     */
+    public static SquareSet fromBitboard(long bitboard) {
+        if (bitboard == Bitboards.EMPTY) {
+            return EMPTY;
+        }
+        return new SquareSet(bitboard);
+    }
+
+    /**
+     * @return bitboard with a bit set for every square in this set
+     */
+    public long toBitboard() {
+        return bitboard;
+    }
+
+    /**
+     * @param square
+     * @return true if the square is in this set
+     */
+    public boolean contains(Square square) {
+        return Bitboards.contains(bitboard, square);
+    }
+
+    /**
+     * @return number of squares in this set
+     */
+    public int size() {
+        return Long.bitCount(bitboard);
+    }
+
+    /**
+     * @return true if there are no squares in this set
+     */
+    public boolean isEmpty() {
+        return bitboard == Bitboards.EMPTY;
+    }
+
+    /**
+     * @param other
+     * @return set containing the squares in either this set or the other set
+     */
+    public SquareSet union(SquareSet other) {
+        return fromBitboard(bitboard | other.bitboard);
+    }
+
+    /**
+     * @param other
+     * @return set containing the squares in both this set and the other set
+     */
+    public SquareSet intersection(SquareSet other) {
+        return fromBitboard(bitboard & other.bitboard);
+    }
+
+    /**
+     * @param other
+     * @return true if any square is in both this set and the other set
+     */
+    public boolean intersects(SquareSet other) {
+        return (bitboard & other.bitboard) != 0;
+    }
+
+    /**
+     * Iterates over the squares in this set in order of their bit index, ie. A1, A2, ..., H8.
+     * @return iterator over the squares in this set
+     */
+    @Override
+    public Iterator<Square> iterator() {
+        return new Iterator<Square>() {
+            private long remaining = bitboard;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public Square next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                Square square = Bitboards.square(Long.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+                return square;
+            }
+        };
+    }
+
+    /**
+     * @return an unmodifiable Set view of this set, for callers that need a java.util.Set
+     */
+    public Set<Square> asSet() {
+        return new AbstractSet<Square>() {
+            @Override
+            public boolean contains(Object other) {
+                return other instanceof Square && SquareSet.this.contains((Square) other);
+            }
+
+            @Override
+            public Iterator<Square> iterator() {
+                return SquareSet.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return SquareSet.this.size();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof SquareSet) {
+            return ((SquareSet) other).bitboard == bitboard;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(bitboard);
+    }
+
+    @Override
+    public String toString() {
+        return asSet().toString();
+    }
+}
@@ -2,9 +2,17 @@ package model.game;
 
 import model.Colour;
 import model.Move;
+import model.PieceType;
 import model.exception.ChessException;
 import model.pieces.Board;
 import model.pieces.PiecesState;
+import model.search.ParallelSearch;
+import model.search.SearchLimits;
+import model.search.SearchResult;
+import model.search.TranspositionTable;
+
+import java.util.Collections;
+import java.util.List;
 
 public class Game {
 
@@ -12,26 +20,52 @@ public class Game {
     private Board board;
     private Colour turn;
 
+    /**
+     * Statuses of positions already evaluated, by this game or others sharing the cache
+     */
+    private final PositionStatusCache statusCache;
+
+    /**
+     * Positions reached in this game, for detecting draws
+     */
+    private final PositionHistory positionHistory;
+
+    /**
+     * Positions searched when finding moves, kept so that later searches can reuse them. The table is shared with
+     * other games, so memory does not grow with the number of games. Looked up on the first search.
+     */
+    private TranspositionTable transpositionTable;
+
     /**
      * Creates a new game
      */
     public Game() {
-        status = GameStatus.IN_PROGRESS;
-        board = new Board();
-        turn = Colour.WHITE;
+        this(GameStatus.IN_PROGRESS, new Board(), Colour.WHITE);
     }
 
     /**
-     * Creates a game already in progress
+     * Creates a game already in progress, using the shared cache of position statuses
      */
     public Game(GameStatus status, Board board, Colour turn) {
+        this(status, board, turn, PositionStatusCache.getShared());
+    }
+
+    /**
+     * Creates a game already in progress
+     */
+    public Game(GameStatus status, Board board, Colour turn, PositionStatusCache statusCache) {
         this.status = status;
         this.board = board;
         this.turn = turn;
+        this.statusCache = statusCache;
+        // Positions are shared with other games by their key, which must include the right colour to move
+        board.setColourToMove(turn);
+        this.positionHistory = new PositionHistory(board.getZobristKey());
     }
 
     /**
-     * Makes a move if allowed
+     * Makes a move if allowed. The move is validated before the board is changed, so a move that is not allowed
+     * leaves the game as it was.
      * @param move
      * @return new state of the game
      * @throws ChessException if move is not allowed
@@ -40,25 +74,80 @@ public class Game {
         // Pre-move validation
         validateGameInProgress();
         validateIsColoursTurn(move.getPieceState().getColour());
+        validateMoveDoesNotLeaveKingInCheck(move);
 
-        // Make the move
+        // Make the move, which the board rejects without changing if the piece cannot move to the square
+        boolean irreversible = move.getPieceState().getType() == PieceType.PAWN || board.isOccupied(move.getTo());
         PiecesState boardState = board.move(move);
 
-        // Post-move validation
-        validateCurrentColourNotInCheck();
-
         // Update game
-        updateGameStatus();
+        positionHistory.record(boardState.getZobristKey(), irreversible);
+        updateGameStatus(boardState.getZobristKey());
+        updateDrawStatus(boardState.getZobristKey());
         turn = getOpponent(move.getPieceState().getColour());
 
         return new GameState(status, boardState);
     }
 
+    /**
+     * @return status of the game after the last move
+     */
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return colour whose turn it is
+     */
+    public Colour getTurn() {
+        return turn;
+    }
+
+    /**
+     * Lists every move the colour whose turn it is can make without leaving its king in check, so that a client can
+     * show them without trying each move.
+     * @return unmodifiable list of legal moves, which is empty if the game is over
+     */
+    public List<Move> legalMoves() {
+        if (status.isOver()) {
+            return Collections.emptyList();
+        }
+        return board.legalMoves(turn);
+    }
+
+    /**
+     * Searches for the best move for the colour whose turn it is. Positions searched are kept in a table shared by
+     * every game for later searches, as the positions after the next move will mostly have been searched already.
+     * @param limits on the search
+     * @return best move found, with its score and statistics about the search
+     * @throws ChessException if a game is not in progress
+     */
+    public SearchResult findBestMove(SearchLimits limits) {
+        return findBestMove(limits, 1);
+    }
+
+    /**
+     * Searches for the best move for the colour whose turn it is using several threads, which share the positions
+     * searched (see ParallelSearch).
+     * @param limits on the search
+     * @param threads number of searches to run at once, which is limited by the size of the shared pool of helper
+     * searches (see ParallelSearch.getSharedPool())
+     * @return best move found, with its score and statistics about the search
+     * @throws ChessException if a game is not in progress or the number of threads is not positive
+     */
+    public SearchResult findBestMove(SearchLimits limits, int threads) {
+        validateGameInProgress();
+        if (transpositionTable == null) {
+            transpositionTable = TranspositionTable.getShared();
+        }
+        return new ParallelSearch(board.copyPiecesMover(), transpositionTable).search(turn, limits, threads);
+    }
+
     /**
      * @throws ChessException if a game is not in progress
      */
     private void validateGameInProgress() {
-        if (status == GameStatus.OVER_STALEMATE || status == GameStatus.OVER_CHECKMATE) {
+        if (status.isOver()) {
             throw new ChessException("Cannot make a move as game is over."); // TODO log
         }
     }
@@ -74,33 +163,47 @@ public class Game {
     }
 
     /**
-     * @throws ChessException if the current colour is in check
+     * @param move
+     * @throws ChessException if the move would leave the current colour in check
      */
-    private void validateCurrentColourNotInCheck() {
-        if (board.isChecked(turn)) {
+    private void validateMoveDoesNotLeaveKingInCheck(Move move) {
+        if (board.leavesKingInCheck(move)) {
             throw new ChessException(String.format("Colour %s cannot be in check after their move.", turn)); // TODO log
         }
     }
 
     /**
      * Checks if the board is in a state of check, checkmate or stalemate and updates the game state
-     * accordingly
+     * accordingly. Positions that have been evaluated before are looked up in the status cache.
+     * @param zobristKey of the position on the board
      */
-    private void updateGameStatus() {
+    private void updateGameStatus(long zobristKey) {
         Colour opponent = getOpponent(turn);
-        if (board.isCheckmated(opponent)) {
-            status = GameStatus.OVER_CHECKMATE;
+        GameStatus cachedStatus = statusCache.get(zobristKey, opponent);
+        if (cachedStatus != null) {
+            status = cachedStatus;
             return;
         }
-        if (board.isStalemated(opponent)) {
-            status = GameStatus.OVER_STALEMATE;
+        status = board.evaluateStatus(opponent);
+        statusCache.put(zobristKey, opponent, status);
+    }
+
+    /**
+     * Checks if the game is drawn by repetition or the fifty-move rule and updates the game state accordingly.
+     * Checkmate and stalemate take precedence.
+     * @param zobristKey of the position on the board
+     */
+    private void updateDrawStatus(long zobristKey) {
+        if (status.isOver()) {
             return;
         }
-        if (board.isChecked(opponent)) {
-            status = GameStatus.IN_PROGRESS_CHECK;
+        if (positionHistory.isRepetition(zobristKey)) {
+            status = GameStatus.OVER_THREEFOLD_REPETITION;
             return;
         }
-        status = GameStatus.IN_PROGRESS;
+        if (positionHistory.isFiftyMoves()) {
+            status = GameStatus.OVER_FIFTY_MOVES;
+        }
     }
 
     /**
@@ -40,4 +40,11 @@ public class GameState {
     public PiecesState getState() {
         return state;
     }
+
+    /**
+     * @return Zobrist key of the position on the board, including which colour is to move
+     */
+    public long getZobristKey() {
+        return state.getZobristKey();
+    }
 }
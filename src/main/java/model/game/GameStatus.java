@@ -1,5 +1,24 @@
 package model.game;
 
 public enum GameStatus {
-    IN_PROGRESS, IN_PROGRESS_CHECK, OVER_CHECKMATE, OVER_STALEMATE
+    IN_PROGRESS(false),
+    IN_PROGRESS_CHECK(false),
+    OVER_CHECKMATE(true),
+    OVER_STALEMATE(true),
+    OVER_THREEFOLD_REPETITION(true),
+    OVER_FIFTY_MOVES(true),
+    OVER_INSUFFICIENT_MATERIAL(true);
+
+    private final boolean over;
+
+    GameStatus(boolean over) {
+        this.over = over;
+    }
+
+    /**
+     * @return true if no more moves can be made in a game with this status
+     */
+    public boolean isOver() {
+        return over;
+    }
 }
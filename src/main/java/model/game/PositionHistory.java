@@ -0,0 +1,121 @@
+package model.game;
+
+/**
+ * Positions reached in a game, stored as Zobrist keys, used to detect draws by threefold repetition and by the
+ * fifty-move rule. A position cannot occur again after a capture or a pawn move, so only positions since the last
+ * such move are kept. They are kept in a ring of at most FIFTY_MOVE_LIMIT + 1 keys, which is scanned to count
+ * repetitions, so recording a move and checking for repetition take bounded time and create no objects.
+ */
+public class PositionHistory {
+
+    /**
+     * Number of half-moves, ie. moves by either colour, without a capture or pawn move after which the game is drawn
+     */
+    public static final int FIFTY_MOVE_LIMIT = 100;
+
+    /**
+     * Number of times a position must occur for the game to be drawn by repetition
+     */
+    public static final int REPETITION_LIMIT = 3;
+
+    /**
+     * Keys of positions since the last capture or pawn move, oldest first starting at index start
+     */
+    private final long[] keys;
+    private int start;
+    private int size;
+
+    /**
+     * Number of half-moves since the last capture or pawn move
+     */
+    private int halfMoveClock;
+
+    /**
+     * @param initialKey Zobrist key of the position the game starts in
+     */
+    public PositionHistory(long initialKey) {
+        keys = new long[FIFTY_MOVE_LIMIT + 1];
+        add(initialKey);
+    }
+
+    /**
+     * Records the position reached by a move.
+     * @param zobristKey of the position after the move
+     * @param irreversible true if the move was a capture or pawn move, so no earlier position can occur again
+     */
+    public void record(long zobristKey, boolean irreversible) {
+        if (irreversible) {
+            start = 0;
+            size = 0;
+            halfMoveClock = 0;
+        } else {
+            halfMoveClock++;
+        }
+        add(zobristKey);
+    }
+
+    /**
+     * Adds a key to the ring, dropping the oldest key if the ring is full.
+     * @param zobristKey
+     */
+    private void add(long zobristKey) {
+        if (size == keys.length) {
+            start = (start + 1) % keys.length;
+            size--;
+        }
+        keys[(start + size) % keys.length] = zobristKey;
+        size++;
+    }
+
+    /**
+     * @param age number of half-moves before the latest position, less than size
+     * @return key of the position reached that many half-moves ago
+     */
+    private long getKey(int age) {
+        return keys[(start + size - 1 - age) % keys.length];
+    }
+
+    /**
+     * @param zobristKey
+     * @return number of times the position has occurred since the last capture or pawn move
+     */
+    public int getOccurrences(long zobristKey) {
+        int occurrences = 0;
+        for (int age = 0; age < size; age++) {
+            if (getKey(age) == zobristKey) {
+                occurrences++;
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * @return number of half-moves since the last capture or pawn move
+     */
+    public int getHalfMoveClock() {
+        return halfMoveClock;
+    }
+
+    /**
+     * Only positions with the same colour to move can repeat the current position, so only every other position is
+     * compared, going back from the latest position to the last capture or pawn move.
+     * @param zobristKey of the current position
+     * @return true if the current position has occurred often enough for the game to be drawn
+     */
+    public boolean isRepetition(long zobristKey) {
+        int occurrences = 0;
+        for (int age = 0; age < size; age += 2) {
+            if (getKey(age) == zobristKey && ++occurrences >= REPETITION_LIMIT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if there have been enough half-moves without a capture or pawn move for the game to be drawn
+     */
+    public boolean isFiftyMoves() {
+        return halfMoveClock >= FIFTY_MOVE_LIMIT;
+    }
+}
@@ -0,0 +1,186 @@
+package model.game;
+
+import model.Colour;
+import model.exception.ChessException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of the status of positions, keyed by the Zobrist key of the position and the colour whose status was
+ * evaluated. Many games pass through the same positions, eg. common openings, so one cache is shared between games
+ * by default. Neither lookups nor insertions lock. When the cache is full, an entry is evicted using the CLOCK
+ * algorithm: entries are visited in a circle and each entry looked up since it was last visited is given a second
+ * chance. Threads inserting at the same time advance the clock hand atomically and claim slots by compare-and-set, so
+ * they visit different slots rather than waiting for each other.
+ */
+public class PositionStatusCache {
+
+    /**
+     * Number of entries in the shared cache unless the "chess.statusCacheSize" system property is set
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final PositionStatusCache SHARED =
+            new PositionStatusCache(Integer.getInteger("chess.statusCacheSize", DEFAULT_CAPACITY));
+
+    /**
+     * Entries mapped by their key, for lookups
+     */
+    private final ConcurrentHashMap<Key, Entry> entries;
+
+    /**
+     * Entries in the order the clock hand visits them, with null for slots not yet filled
+     */
+    private final AtomicReferenceArray<Entry> clock;
+
+    /**
+     * Number of slots the clock hand has visited, so the next slot to visit is this modulo the capacity
+     */
+    private final AtomicLong hand;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    /**
+     * @param capacity maximum number of positions to cache
+     */
+    public PositionStatusCache(int capacity) {
+        if (capacity <= 0) {
+            throw new ChessException(String.format("Cache capacity must be positive, not %d.", capacity)); // TODO log
+        }
+        entries = new ConcurrentHashMap<>(capacity);
+        clock = new AtomicReferenceArray<>(capacity);
+        hand = new AtomicLong();
+        hits = new LongAdder();
+        misses = new LongAdder();
+        evictions = new LongAdder();
+    }
+
+    /**
+     * @return cache shared by games that are not given their own cache
+     */
+    public static PositionStatusCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * @param zobristKey of the position
+     * @param colour whose status was evaluated
+     * @return cached status, or null if the position has not been cached
+     */
+    public GameStatus get(long zobristKey, Colour colour) {
+        Entry entry = entries.get(new Key(zobristKey, colour));
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        entry.referenced = true;
+        hits.increment();
+        return entry.status;
+    }
+
+    /**
+     * Caches the status of a position, evicting another position if the cache is full.
+     * @param zobristKey of the position
+     * @param colour whose status was evaluated
+     * @param status of the position
+     */
+    public void put(long zobristKey, Colour colour, GameStatus status) {
+        Key key = new Key(zobristKey, colour);
+        Entry entry = new Entry(key, status);
+        if (entries.putIfAbsent(key, entry) != null) {
+            return;
+        }
+        while (true) {
+            int slot = (int) (hand.getAndIncrement() % clock.length());
+            Entry current = clock.get(slot);
+            if (current == null) {
+                if (clock.compareAndSet(slot, null, entry)) {
+                    return;
+                }
+            } else if (current.referenced) {
+                // Give entries looked up since the hand last passed a second chance
+                current.referenced = false;
+            } else if (clock.compareAndSet(slot, current, entry)) {
+                entries.remove(current.key, current);
+                evictions.increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return number of lookups that found a cached status
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups that did not find a cached status
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of positions removed to make room for others
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return number of positions currently cached
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Position and the colour whose status was evaluated in it.
+     */
+    private static final class Key {
+
+        private final long zobristKey;
+        private final Colour colour;
+
+        Key(long zobristKey, Colour colour) {
+            this.zobristKey = zobristKey;
+            this.colour = colour;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other instanceof Key) {
+                Key otherKey = (Key) other;
+                return otherKey.zobristKey == zobristKey && otherKey.colour == colour;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(zobristKey) * 31 + colour.ordinal();
+        }
+    }
+
+    /**
+     * Cached status, with a flag recording whether it has been looked up since the clock hand last passed it.
+     */
+    private static final class Entry {
+
+        private final Key key;
+        private final GameStatus status;
+        private volatile boolean referenced;
+
+        Entry(Key key, GameStatus status) {
+            this.key = key;
+            this.status = status;
+        }
+    }
+}
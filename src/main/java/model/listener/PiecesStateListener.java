@@ -1,12 +1,23 @@
 package model.listener;
 
-import model.pieces.PiecesState;
+import model.pieces.PieceBitboards;
 
 public interface PiecesStateListener {
 
     /**
-     * Called every time the state of a collection of pieces changes.
-     * @param event containing the new state of the collection of pieces
+     * Called when the state of a collection of pieces changes, unless isAffectedBy() shows the listener is not
+     * affected by the change.
+     * @param bitboards new locations of the pieces, which are live, so must not be modified or kept after the call
      */
-    void update(PiecesState event);
+    void update(PieceBitboards bitboards);
+
+    /**
+     * Checks whether the listener needs to be updated after pieces have moved onto or off the given squares.
+     * Listeners that are not affected can be skipped. By default every listener is affected.
+     * @param changedSquares bitboard of squares a piece has moved onto or off (see Bitboards)
+     * @return true if update() should be called
+     */
+    default boolean isAffectedBy(long changedSquares) {
+        return true;
+    }
 }
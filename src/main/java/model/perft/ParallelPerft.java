@@ -0,0 +1,100 @@
+package model.perft;
+
+import model.Colour;
+import model.Move;
+import model.pieces.LegalMoveGenerator;
+import model.pieces.PiecesMover;
+import model.pieces.PiecesState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Perft that counts the positions after each first move on a separate task of a ForkJoinPool. Pieces are not thread
+ * safe, so each task is given its own copy of the board to make moves on.
+ */
+public class ParallelPerft {
+
+    /**
+     * Board in the starting position, only read from when copying it for each task
+     */
+    private final PiecesMover piecesMover;
+
+    /**
+     * Pool to run the tasks on
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Sets up a parallel perft from the given position.
+     * @param piecesState starting position
+     * @param pool to run the tasks on
+     */
+    public ParallelPerft(PiecesState piecesState, ForkJoinPool pool) {
+        this.piecesMover = new PiecesMover(piecesState);
+        this.pool = pool;
+    }
+
+    /**
+     * Counts the positions reachable in exactly the given number of moves, with the two teams taking turns.
+     * @param colour of the team to move first
+     * @param depth number of moves
+     * @return number of positions, counting each distinct sequence of moves separately
+     */
+    public long countNodes(Colour colour, int depth) {
+        if (depth < 2) {
+            return new Perft(piecesMover.copy()).countNodes(colour, depth);
+        }
+
+        // Copy the board for every task before starting any of them, so the board is never read and moved at once
+        List<Move> moves = new LegalMoveGenerator().generateLegalMoves(colour, piecesMover.getBitboards());
+        Colour opponent = colour == Colour.WHITE ? Colour.BLACK : Colour.WHITE;
+        List<FirstMoveTask> tasks = new ArrayList<>();
+        for (Move move : moves) {
+            tasks.add(new FirstMoveTask(piecesMover.copy(), move, opponent, depth - 1));
+        }
+
+        for (FirstMoveTask task : tasks) {
+            pool.execute(task);
+        }
+        long nodes = 0;
+        for (FirstMoveTask task : tasks) {
+            nodes += task.join();
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the positions reachable after one first move, on a board owned by the task.
+     */
+    private static class FirstMoveTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PiecesMover piecesMover;
+        private final Move move;
+        private final Colour colour;
+        private final int depth;
+
+        /**
+         * @param piecesMover board in the starting position, used only by this task
+         * @param move first move
+         * @param colour of the team to move after the first move
+         * @param depth number of moves to count after the first move
+         */
+        FirstMoveTask(PiecesMover piecesMover, Move move, Colour colour, int depth) {
+            this.piecesMover = piecesMover;
+            this.move = move;
+            this.colour = colour;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            piecesMover.makeMove(move);
+            return new Perft(piecesMover).countNodes(colour, depth);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package model.perft;
+
+import model.Colour;
+import model.pieces.PiecesState;
+import model.util.Fen;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs parallel perft on a reference position with 1 up to the number of available processors threads, printing
+ * the time, nodes per second and speed-up over one thread for each.
+ *
+ * Usage: ParallelPerftRunner [depth] [reference position]
+ */
+public class ParallelPerftRunner {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        ReferencePosition position = args.length > 1 ? ReferencePosition.valueOf(args[1]) : ReferencePosition.START;
+        PiecesState piecesState = Fen.parsePieces(position.getFen());
+        Colour colour = Fen.parseColourToMove(position.getFen());
+        System.out.println(String.format("%s at depth %d: %s", position, depth, position.getFen()));
+
+        long singleThreadElapsed = 0;
+        for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads++) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                ParallelPerft perft = new ParallelPerft(piecesState, pool);
+                long start = System.nanoTime();
+                long nodes = perft.countNodes(colour, depth);
+                long elapsed = Math.max(System.nanoTime() - start, 1);
+                if (threads == 1) {
+                    singleThreadElapsed = elapsed;
+                }
+                System.out.println(String.format("  %d threads: %d nodes in %d ms, %d nodes/s, %.2fx speed-up",
+                        threads, nodes, elapsed / 1_000_000, nodes * NANOS_PER_SECOND / elapsed,
+                        (double) singleThreadElapsed / elapsed));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
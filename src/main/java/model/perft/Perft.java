@@ -0,0 +1,91 @@
+package model.perft;
+
+import model.Colour;
+import model.pieces.LegalMoveGenerator;
+import model.pieces.PiecesMover;
+import model.pieces.PiecesState;
+import model.util.MoveList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the positions reachable from a starting position in a given number of moves ("perft"). The counts can be
+ * compared against published values to check the move generator, and timed to measure its throughput. Moves are
+ * made and unmade through a PiecesMover, so every piece recalculates its moves as it would in a real game.
+ */
+public class Perft {
+
+    /**
+     * Makes and unmakes the moves being counted
+     */
+    private final PiecesMover piecesMover;
+
+    /**
+     * Finds the moves that can be made from each position
+     */
+    private final LegalMoveGenerator legalMoveGenerator;
+
+    /**
+     * Moves of the position at each depth, reused so that generating moves does not create objects
+     */
+    private final List<MoveList> moveLists;
+
+    /**
+     * Sets up a perft from the given position.
+     * @param piecesState starting position
+     */
+    public Perft(PiecesState piecesState) {
+        this(new PiecesMover(piecesState));
+    }
+
+    /**
+     * Sets up a perft from the current position of the given PiecesMover, which is used to make the moves.
+     * @param piecesMover
+     */
+    public Perft(PiecesMover piecesMover) {
+        this.piecesMover = piecesMover;
+        legalMoveGenerator = new LegalMoveGenerator();
+        moveLists = new ArrayList<>();
+    }
+
+    /**
+     * Counts the positions reachable in exactly the given number of moves, with the two teams taking turns.
+     * @param colour of the team to move first
+     * @param depth number of moves
+     * @return number of positions, counting each distinct sequence of moves separately
+     */
+    public long countNodes(Colour colour, int depth) {
+        while (moveLists.size() < depth) {
+            moveLists.add(new MoveList());
+        }
+        return countNodesRecursively(colour, depth);
+    }
+
+    /**
+     * @param colour of the team to move first
+     * @param depth number of moves, at most the number of move lists
+     * @return number of positions, counting each distinct sequence of moves separately
+     */
+    private long countNodesRecursively(Colour colour, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = moveLists.get(depth - 1);
+        legalMoveGenerator.generateLegalMoves(colour, piecesMover.getBitboards(), moves);
+
+        // Each move leads to exactly one position, so the moves do not need to be made at the last depth
+        if (depth == 1) {
+            return moves.size();
+        }
+
+        long nodes = 0;
+        Colour opponent = colour == Colour.WHITE ? Colour.BLACK : Colour.WHITE;
+        for (int i = 0; i < moves.size(); i++) {
+            piecesMover.makeMove(moves.get(i));
+            nodes += countNodesRecursively(opponent, depth - 1);
+            piecesMover.unmakeMove();
+        }
+        return nodes;
+    }
+}
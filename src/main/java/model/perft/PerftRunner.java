@@ -0,0 +1,45 @@
+package model.perft;
+
+import model.Colour;
+import model.pieces.PiecesState;
+import model.util.Fen;
+
+/**
+ * Runs perft on every reference position, printing the number of positions and nodes per second at each depth.
+ * Exits with a non-zero status if any count differs from the published count, so it can be used as a regression
+ * check for changes to the move generator.
+ *
+ * Usage: PerftRunner [maximum depth]
+ */
+public class PerftRunner {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    public static void main(String[] args) {
+        int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : Integer.MAX_VALUE;
+        boolean passed = true;
+
+        for (ReferencePosition position : ReferencePosition.values()) {
+            System.out.println(String.format("%s: %s", position, position.getFen()));
+            PiecesState piecesState = Fen.parsePieces(position.getFen());
+            Colour colour = Fen.parseColourToMove(position.getFen());
+
+            for (int depth = 1; depth <= Math.min(maxDepth, position.getMaxDepth()); depth++) {
+                Perft perft = new Perft(piecesState);
+                long start = System.nanoTime();
+                long nodes = perft.countNodes(colour, depth);
+                long elapsed = Math.max(System.nanoTime() - start, 1);
+
+                long expected = position.getExpectedNodes(depth);
+                passed &= nodes == expected;
+                System.out.println(String.format("  depth %d: %d nodes (expected %d) in %d ms, %d nodes/s%s",
+                        depth, nodes, expected, elapsed / 1_000_000, nodes * NANOS_PER_SECOND / elapsed,
+                        nodes == expected ? "" : " MISMATCH"));
+            }
+        }
+
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package model.perft;
+
+/**
+ * Positions with published perft counts. Castling, en passant and promotion are not supported, so only positions
+ * and depths where those moves cannot occur are included, so that the published counts still apply.
+ */
+public enum ReferencePosition {
+
+    /**
+     * Standard starting position
+     */
+    START("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w", 20, 400, 8902, 197281),
+
+    /**
+     * Endgame with no castling rights, "position 3" of the Chess Programming Wiki perft results. En passant first
+     * becomes possible at depth 3.
+     */
+    ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w", 14, 191),
+
+    /**
+     * Middlegame with no castling rights, "position 6" of the Chess Programming Wiki perft results
+     */
+    MIDDLEGAME("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w", 46, 2079, 89890, 3894594);
+
+    /**
+     * Position in Forsyth-Edwards Notation
+     */
+    private final String fen;
+
+    /**
+     * Published number of positions at each depth, starting at depth 1
+     */
+    private final long[] expectedNodes;
+
+    ReferencePosition(String fen, long... expectedNodes) {
+        this.fen = fen;
+        this.expectedNodes = expectedNodes;
+    }
+
+    public String getFen() {
+        return fen;
+    }
+
+    /**
+     * @return deepest depth with a published count
+     */
+    public int getMaxDepth() {
+        return expectedNodes.length;
+    }
+
+    /**
+     * @param depth between 1 and getMaxDepth() inclusive
+     * @return published number of positions at the depth
+     */
+    public long getExpectedNodes(int depth) {
+        return expectedNodes[depth - 1];
+    }
+}
@@ -3,19 +3,20 @@ package model.piece;
 import model.Colour;
 import model.Square;
 import model.PieceType;
-import model.pieces.PiecesState;
+import model.pieces.PieceBitboards;
 
 public class Bishop extends Piece {
 
     public Bishop(Colour colour, Square startingSquare) {
-        super(new PieceState(PieceType.BISHOP, colour, startingSquare));
+        super(PieceState.of(PieceType.BISHOP, colour, startingSquare));
     }
 
     @Override
-    protected void updateThreatenedAndMoveableSquares(PiecesState event) {
-        movesCalculator.calculateMoveableAndThreatenedSquaresForBishop(state, event);
-        threatenedSquares = movesCalculator.getThreatenedSquares();
-        moveableSquares = movesCalculator.getMoveableSquares();
+    protected void updateThreatenedAndMoveableSquares(PieceBitboards bitboards) {
+        movesCalculator.calculateMoveableAndThreatenedSquaresForBishop(state, bitboards);
+        threatenedSquares = movesCalculator.getThreatenedBitboard();
+        moveableSquares = movesCalculator.getMoveableBitboard();
+        watchedSquares = movesCalculator.getWatchedBitboard();
         movesCalculator.reset();
     }
 }
@@ -3,19 +3,20 @@ package model.piece;
 import model.Colour;
 import model.Square;
 import model.PieceType;
-import model.pieces.PiecesState;
+import model.pieces.PieceBitboards;
 
 public class Castle extends Piece {
 
     public Castle(Colour colour, Square startingSquare) {
-        super(new PieceState(PieceType.CASTLE, colour, startingSquare));
+        super(PieceState.of(PieceType.CASTLE, colour, startingSquare));
     }
 
     @Override
-    protected void updateThreatenedAndMoveableSquares(PiecesState event) {
-        movesCalculator.calculateMoveableAndThreatenedSquaresForCastle(state, event);
-        threatenedSquares = movesCalculator.getThreatenedSquares();
-        moveableSquares = movesCalculator.getMoveableSquares();
+    protected void updateThreatenedAndMoveableSquares(PieceBitboards bitboards) {
+        movesCalculator.calculateMoveableAndThreatenedSquaresForCastle(state, bitboards);
+        threatenedSquares = movesCalculator.getThreatenedBitboard();
+        moveableSquares = movesCalculator.getMoveableBitboard();
+        watchedSquares = movesCalculator.getWatchedBitboard();
         movesCalculator.reset();
     }
 }
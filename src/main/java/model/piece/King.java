@@ -3,19 +3,20 @@ package model.piece;
 import model.Colour;
 import model.Square;
 import model.PieceType;
-import model.pieces.PiecesState;
+import model.pieces.PieceBitboards;
 
 public class King extends Piece {
 
     public King(Colour colour, Square startingSquare) {
-        super(new PieceState(PieceType.KING, colour, startingSquare));
+        super(PieceState.of(PieceType.KING, colour, startingSquare));
     }
 
     @Override
-    protected void updateThreatenedAndMoveableSquares(PiecesState event) {
-        movesCalculator.calculateMoveableAndThreatenedSquaresForKing(state, event);
-        threatenedSquares = movesCalculator.getThreatenedSquares();
-        moveableSquares = movesCalculator.getMoveableSquares();
+    protected void updateThreatenedAndMoveableSquares(PieceBitboards bitboards) {
+        movesCalculator.calculateMoveableAndThreatenedSquaresForKing(state, bitboards);
+        threatenedSquares = movesCalculator.getThreatenedBitboard();
+        moveableSquares = movesCalculator.getMoveableBitboard();
+        watchedSquares = movesCalculator.getWatchedBitboard();
         movesCalculator.reset();
     }
 }
@@ -3,19 +3,20 @@ package model.piece;
 import model.Colour;
 import model.Square;
 import model.PieceType;
-import model.pieces.PiecesState;
+import model.pieces.PieceBitboards;
 
 public class Knight extends Piece {
 
     public Knight(Colour colour, Square startingSquare) {
-        super(new PieceState(PieceType.KNIGHT, colour, startingSquare));
+        super(PieceState.of(PieceType.KNIGHT, colour, startingSquare));
     }
 
     @Override
-    protected void updateThreatenedAndMoveableSquares(PiecesState event) {
-        movesCalculator.calculateMoveableAndThreatenedSquaresForKnight(state, event);
-        threatenedSquares = movesCalculator.getThreatenedSquares();
-        moveableSquares = movesCalculator.getMoveableSquares();
+    protected void updateThreatenedAndMoveableSquares(PieceBitboards bitboards) {
+        movesCalculator.calculateMoveableAndThreatenedSquaresForKnight(state, bitboards);
+        threatenedSquares = movesCalculator.getThreatenedBitboard();
+        moveableSquares = movesCalculator.getMoveableBitboard();
+        watchedSquares = movesCalculator.getWatchedBitboard();
         movesCalculator.reset();
     }
 }
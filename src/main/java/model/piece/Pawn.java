@@ -3,19 +3,20 @@ package model.piece;
 import model.Colour;
 import model.Square;
 import model.PieceType;
-import model.pieces.PiecesState;
+import model.pieces.PieceBitboards;
 
 public class Pawn extends Piece {
 
     public Pawn(Colour colour, Square startingSquare) {
-        super(new PieceState(PieceType.PAWN, colour, startingSquare));
+        super(PieceState.of(PieceType.PAWN, colour, startingSquare));
     }
 
     @Override
-    protected void updateThreatenedAndMoveableSquares(PiecesState event) {
-        movesCalculator.calculateMoveableAndThreatenedSquaresForPawn(state, event);
-        threatenedSquares = movesCalculator.getThreatenedSquares();
-        moveableSquares = movesCalculator.getMoveableSquares();
+    protected void updateThreatenedAndMoveableSquares(PieceBitboards bitboards) {
+        movesCalculator.calculateMoveableAndThreatenedSquaresForPawn(state, bitboards);
+        threatenedSquares = movesCalculator.getThreatenedBitboard();
+        moveableSquares = movesCalculator.getMoveableBitboard();
+        watchedSquares = movesCalculator.getWatchedBitboard();
         movesCalculator.reset();
     }
 }
@@ -1,12 +1,13 @@
 package model.piece;
 
 import model.Square;
+import model.SquareSet;
 import model.exception.ChessException;
 import model.listener.PiecesStateListener;
-import model.pieces.PiecesState;
+import model.pieces.PieceBitboards;
+import model.util.Bitboards;
 import model.util.MovesCalculator;
 
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -19,14 +20,20 @@ public abstract class Piece implements PiecesStateListener {
     protected MovesCalculator movesCalculator;
 
     /**
-     * All the squares the piece could move to.
+     * Bitboard of all the squares the piece could move to. The squares are kept as bitboards rather than SquareSets
+     * so that updating the piece after a move allocates nothing.
      */
-    protected Set<Square> moveableSquares;
+    protected long moveableSquares;
 
     /**
-     * All the squares the piece can threaten/protect.
+     * Bitboard of all the squares the piece can threaten/protect.
      */
-    protected Set<Square> threatenedSquares;
+    protected long threatenedSquares;
+
+    /**
+     * Bitboard of all the squares whose contents affect which squares the piece can move to and threaten/protect.
+     */
+    protected long watchedSquares;
 
     /**
      * Current state of the piece.
@@ -40,8 +47,9 @@ public abstract class Piece implements PiecesStateListener {
     protected Piece(PieceState pieceState) {
         this.state = pieceState;
         this.movesCalculator = new MovesCalculator();
-        this.threatenedSquares = new HashSet<>();
-        this.moveableSquares = new HashSet<>();
+        this.threatenedSquares = Bitboards.EMPTY;
+        this.moveableSquares = Bitboards.EMPTY;
+        this.watchedSquares = Bitboards.EMPTY;
     }
 
     /**
@@ -52,7 +60,7 @@ public abstract class Piece implements PiecesStateListener {
      */
     public void moveTo(Square square) {
         if (state.isAlive()) {
-            if (moveableSquares.contains(square)) {
+            if (Bitboards.contains(moveableSquares, square)) {
                 moveToUnchecked(square);
                 return;
             }
@@ -67,7 +75,7 @@ public abstract class Piece implements PiecesStateListener {
      * @param square
      */
     public void moveToUnchecked(Square square) {
-        state = new PieceState(state.getType(), state.getColour(), square);
+        state = PieceState.of(state.getType(), state.getColour(), square);
     }
 
     /**
@@ -75,7 +83,7 @@ public abstract class Piece implements PiecesStateListener {
      * @return true if the piece can move to the square, false otherwise.
      */
     public boolean canMoveTo(Square square) {
-        return moveableSquares.contains(square);
+        return Bitboards.contains(moveableSquares, square);
     }
 
     /**
@@ -83,21 +91,35 @@ public abstract class Piece implements PiecesStateListener {
      * @return true if the piece threatens/protects the square, false otherwise
      */
     public boolean doesThreaten(Square square) {
-        return threatenedSquares.contains(square);
+        return Bitboards.contains(threatenedSquares, square);
     }
 
     /**
-     * @return the set of squares the piece can move to
+     * @return the set of squares the piece can move to, as an unmodifiable view of getMoveableSquareSet()
      */
     public Set<Square> getMoveableSquares() {
-        return moveableSquares;
+        return getMoveableSquareSet().asSet();
     }
 
     /**
-     * @return the set of squares the piece threatens
+     * @return the set of squares the piece threatens, as an unmodifiable view of getThreatenedSquareSet()
      */
     public Set<Square> getThreatenedSquares() {
-        return threatenedSquares;
+        return getThreatenedSquareSet().asSet();
+    }
+
+    /**
+     * @return the squares the piece can move to
+     */
+    public SquareSet getMoveableSquareSet() {
+        return SquareSet.fromBitboard(moveableSquares);
+    }
+
+    /**
+     * @return the squares the piece threatens
+     */
+    public SquareSet getThreatenedSquareSet() {
+        return SquareSet.fromBitboard(threatenedSquares);
     }
 
     /**
@@ -109,23 +131,36 @@ public abstract class Piece implements PiecesStateListener {
 
     /**
      * Updates state of the piece based on new state of the board.
-     * @param state containing new state of the board
+     * @param bitboards new locations of the pieces on the board
      */
     @Override
-    public void update(PiecesState state) {
-        if (this.state.isAlive()) {
-            updateThreatenedAndMoveableSquares(state);
+    public void update(PieceBitboards bitboards) {
+        if (state.isAlive()) {
+            updateThreatenedAndMoveableSquares(bitboards);
             return;
         }
-        moveableSquares = new HashSet<>();
-        threatenedSquares = new HashSet<>();
+        moveableSquares = Bitboards.EMPTY;
+        threatenedSquares = Bitboards.EMPTY;
+        watchedSquares = Bitboards.EMPTY;
+    }
+
+    /**
+     * Checks whether the squares the piece can move to or threaten could have changed. They can only change if a
+     * piece has moved onto or off a square the piece watches, so other pieces do not need to be updated. Does not
+     * account for this piece itself moving.
+     * @param changedSquares bitboard of squares a piece has moved onto or off
+     * @return true if the piece needs to be updated
+     */
+    @Override
+    public boolean isAffectedBy(long changedSquares) {
+        return (watchedSquares & changedSquares) != 0;
     }
 
     /**
      * Updates set of squares piece can move to and threaten/protect based on the new state of the board.
-     * @param event containing new state of the board
+     * @param bitboards new locations of the pieces on the board
      */
-    protected abstract void updateThreatenedAndMoveableSquares(PiecesState event);
+    protected abstract void updateThreatenedAndMoveableSquares(PieceBitboards bitboards);
 
     @Override
     public boolean equals(Object other) {
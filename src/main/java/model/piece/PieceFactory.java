@@ -23,53 +23,53 @@ public class PieceFactory {
 
         // Set up kings
         pieceStates.addAll(Arrays.asList(
-                new PieceState(KING, Colour.BLACK, Square.E8),
-                new PieceState(PieceType.KING, Colour.WHITE, Square.E1)));
+                PieceState.of(KING, Colour.BLACK, Square.E8),
+                PieceState.of(PieceType.KING, Colour.WHITE, Square.E1)));
 
         // Set up queens
         pieceStates.addAll(Arrays.asList(
-                new PieceState(PieceType.QUEEN, Colour.BLACK, Square.D8),
-                new PieceState(PieceType.QUEEN, Colour.WHITE, Square.D1)));
+                PieceState.of(PieceType.QUEEN, Colour.BLACK, Square.D8),
+                PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.D1)));
 
         // Set up bishops
         pieceStates.addAll(Arrays.asList(
-                new PieceState(PieceType.BISHOP, Colour.BLACK, Square.C8),
-                new PieceState(PieceType.BISHOP, Colour.BLACK, Square.F8),
-                new PieceState(PieceType.BISHOP, Colour.WHITE, Square.C1),
-                new PieceState(PieceType.BISHOP, Colour.WHITE, Square.F1)));
+                PieceState.of(PieceType.BISHOP, Colour.BLACK, Square.C8),
+                PieceState.of(PieceType.BISHOP, Colour.BLACK, Square.F8),
+                PieceState.of(PieceType.BISHOP, Colour.WHITE, Square.C1),
+                PieceState.of(PieceType.BISHOP, Colour.WHITE, Square.F1)));
 
         // Set up knights
         pieceStates.addAll(Arrays.asList(
-                new PieceState(PieceType.KNIGHT, Colour.BLACK, Square.B8),
-                new PieceState(PieceType.KNIGHT, Colour.BLACK, Square.G8),
-                new PieceState(PieceType.KNIGHT, Colour.WHITE, Square.B1),
-                new PieceState(PieceType.KNIGHT, Colour.WHITE, Square.G1)));
+                PieceState.of(PieceType.KNIGHT, Colour.BLACK, Square.B8),
+                PieceState.of(PieceType.KNIGHT, Colour.BLACK, Square.G8),
+                PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.B1),
+                PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.G1)));
 
         // Set up castles
         pieceStates.addAll(Arrays.asList(
-                new PieceState(PieceType.CASTLE, Colour.BLACK, Square.A8),
-                new PieceState(PieceType.CASTLE, Colour.BLACK, Square.H8),
-                new PieceState(PieceType.CASTLE, Colour.WHITE, Square.A1),
-                new PieceState(PieceType.CASTLE, Colour.WHITE, Square.H1)));
+                PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.A8),
+                PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.H8),
+                PieceState.of(PieceType.CASTLE, Colour.WHITE, Square.A1),
+                PieceState.of(PieceType.CASTLE, Colour.WHITE, Square.H1)));
 
         // Set up pawns
         pieceStates.addAll(Arrays.asList(
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.A7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.B7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.C7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.D7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.E7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.F7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.G7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.H7),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.A2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.B2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.C2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.D2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.E2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.F2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.G2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.H2)));
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.A7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.B7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.C7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.D7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.E7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.F7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.G7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.H7),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.A2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.B2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.C2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.D2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.F2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.G2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.H2)));
 
         return new PiecesState(pieceStates);
     }
@@ -5,9 +5,38 @@ import model.PieceType;
 import model.Square;
 
 /**
- * Immutable class representing the state of a Piece at a moment in time.
+ * Immutable class representing the state of a Piece at a moment in time. There are only a few hundred possible
+ * states, so one instance of each is created up front and shared (see of), and equal states are the same instance.
  */
 public class PieceState {
+
+    /**
+     * Numbers of piece types and squares, kept so that looking a state up does not copy the arrays from values()
+     */
+    private static final int NUM_TYPES = PieceType.values().length;
+    private static final int NUM_SQUARES = Square.values().length;
+
+    /**
+     * Number of possible piece states, including dead pieces
+     */
+    public static final int NUM_STATES = Colour.values().length * NUM_TYPES * NUM_SQUARES;
+
+    /**
+     * The instance of each state, indexed by getIndex()
+     */
+    private static final PieceState[] STATES = new PieceState[NUM_STATES];
+
+    static {
+        for (Colour colour : Colour.values()) {
+            for (PieceType type : PieceType.values()) {
+                for (Square square : Square.values()) {
+                    PieceState state = new PieceState(type, colour, square);
+                    STATES[state.index] = state;
+                }
+            }
+        }
+    }
+
     /**
      * Current location of the piece. Location is SQUARE.None if piece is not on the board.
      */
@@ -23,10 +52,37 @@ public class PieceState {
      */
     private final PieceType type;
 
-    public PieceState(PieceType type, Colour colour, Square square) {
+    /**
+     * Position of this state in the table of all states
+     */
+    private final int index;
+
+    private PieceState(PieceType type, Colour colour, Square square) {
         this.type = type;
         this.colour = colour;
         this.square = square;
+        this.index = index(type, colour, square);
+    }
+
+    /**
+     * @param type
+     * @param colour
+     * @param square location of the piece, or Square.NONE if the piece is not on the board
+     * @return the shared instance of the given state
+     */
+    public static PieceState of(PieceType type, Colour colour, Square square) {
+        return STATES[index(type, colour, square)];
+    }
+
+    private static int index(PieceType type, Colour colour, Square square) {
+        return (colour.ordinal() * NUM_TYPES + type.ordinal()) * NUM_SQUARES + square.ordinal();
+    }
+
+    /**
+     * @return position of this state among all NUM_STATES states, for use as an array index
+     */
+    public int getIndex() {
+        return index;
     }
 
     /**
@@ -59,25 +115,19 @@ public class PieceState {
 
     /**
      * Checks if this PieceState is equal to another object. They are equal if the other object is a PieceState with
-     * the same colour, type and current square as this PieceState.
+     * the same colour, type and current square as this PieceState, which as states are shared means the same
+     * instance.
      * @param other to compare for equality against
      * @return true if the piece state is equal to other
      */
     @Override
     public boolean equals(Object other) {
-        if (other instanceof PieceState) {
-            PieceState otherState = (PieceState) other;
-            if (otherState.colour == colour && otherState.type == type &&
-                    otherState.square.equals(square)) {
-                return true;
-            }
-        }
-        return false;
+        return this == other;
     }
 
     @Override
     public int hashCode() {
-        return colour.hashCode() * 5 + type.hashCode() * 7 + 11 * square.hashCode();
+        return index;
     }
 
     @Override
@@ -3,11 +3,14 @@ package model.pieces;
 import model.Colour;
 import model.Move;
 import model.exception.ChessException;
+import model.game.GameStatus;
 import model.piece.Piece;
 import model.piece.PieceFactory;
 import model.PieceType;
+import model.Square;
 
-import java.util.Set;
+import java.util.Collections;
+import java.util.List;
 
 public class Board {
 
@@ -21,11 +24,23 @@ public class Board {
      */
     private EndgameHelper endgameHelper;
 
+    /**
+     * Finds the moves each team can make without leaving its king in check
+     */
+    private LegalMoveGenerator legalMoveGenerator;
+
+    /**
+     * Legal moves of a team in the current position, kept until the next move, and the team they are for
+     */
+    private List<Move> legalMoves;
+    private Colour legalMovesColour;
+
     /**
      * Sets up a new game of chess.
      */
     public Board() {
         endgameHelper = new EndgameHelper();
+        legalMoveGenerator = new LegalMoveGenerator();
         piecesMover = new PiecesMover(new PieceFactory().createDefaultPiecesState());
     }
 
@@ -35,22 +50,93 @@ public class Board {
      * @return new state of the board
      */
     public PiecesState move(Move move) {
+        legalMoves = null;
         return piecesMover.move(move);
     }
 
     /**
-     * Finds the living piece of the given colour and type.
-     * @param type
-     * @param colour
-     * @throws ChessException if there is not exactly one living piece of the given type and colour
-     * @return
+     * Checks, without making the move, whether a move that the piece could otherwise make would leave its own king
+     * in check.
+     * @param move
+     * @return true if the piece can move to the square but doing so leaves its king in check, false if the move is
+     * legal or the piece cannot move to the square at all
+     * @throws ChessException if there is no piece in the state being moved
+     */
+    public boolean leavesKingInCheck(Move move) {
+        Piece piece = piecesMover.findPiece(move.getPieceState());
+        if (!piece.canMoveTo(move.getTo())) {
+            return false;
+        }
+        return !legalMoves(move.getPieceState().getColour()).contains(move);
+    }
+
+    /**
+     * Finds every move a team can make that does not leave its king in check. The moves are worked out once per
+     * position and team, and kept until the next move.
+     * @param colour of the team
+     * @return unmodifiable list of the team's legal moves
      */
-    private Piece findPiece(PieceType type, Colour colour) {
-        Set<Piece> candidates = piecesMover.findPieces(type, colour);
-        if (candidates.size() == 1) {
-            return candidates.iterator().next();
+    public List<Move> legalMoves(Colour colour) {
+        if (legalMoves == null || legalMovesColour != colour) {
+            legalMoves = Collections.unmodifiableList(
+                    legalMoveGenerator.generateLegalMoves(colour, piecesMover.getBitboards()));
+            legalMovesColour = colour;
         }
-        throw new ChessException(String.format("There is not exactly one %s %s on the board.", colour, type)); // TODO log
+        return legalMoves;
+    }
+
+    /**
+     * @param square
+     * @return true if there is a piece on the square
+     */
+    public boolean isOccupied(Square square) {
+        return piecesMover.findPiece(square) != null;
+    }
+
+    /**
+     * Scores the position by the value of each team's pieces and the squares they are on. The score is kept up to
+     * date as pieces move, so this does not look at the pieces.
+     * @param colour to score the position for
+     * @return value of the given team's pieces minus value of its opponent's pieces, in centipawns
+     */
+    public int evaluate(Colour colour) {
+        return colour == Colour.WHITE ? piecesMover.getScore() : -piecesMover.getScore();
+    }
+
+    /**
+     * @return independent copy of the PiecesMover controlling this board, for trying moves without changing the board
+     */
+    public PiecesMover copyPiecesMover() {
+        return piecesMover.copy();
+    }
+
+    /**
+     * Sets whose turn it is, so that the Zobrist key of the position includes the right colour to move.
+     * @param colour to move
+     */
+    public void setColourToMove(Colour colour) {
+        piecesMover.setColourToMove(colour);
+    }
+
+    /**
+     * @return Zobrist key of the position on the board, including which colour is to move
+     */
+    public long getZobristKey() {
+        return piecesMover.getZobristKey();
+    }
+
+    /**
+     * Finds the locations of the pieces on the board, checking that the given team has exactly one king.
+     * @param colour of the team
+     * @throws ChessException if there is not exactly one living king of the given colour
+     * @return locations of the pieces on the board
+     */
+    private PieceBitboards getBitboardsWithKing(Colour colour) {
+        PieceBitboards bitboards = piecesMover.getBitboards();
+        if (Long.bitCount(bitboards.getPieces(PieceType.KING, colour)) == 1) {
+            return bitboards;
+        }
+        throw new ChessException(String.format("There is not exactly one %s %s on the board.", colour, PieceType.KING)); // TODO log
     }
 
     /**
@@ -59,8 +145,7 @@ public class Board {
      * @return true if the given team is under check
      */
     public boolean isChecked(Colour colour) {
-        Piece king = findPiece(PieceType.KING, colour);
-        return endgameHelper.isInCheck(king.getState(), piecesMover.generatePiecesState());
+        return endgameHelper.isInCheck(colour, getBitboardsWithKing(colour));
     }
 
     /**
@@ -69,8 +154,7 @@ public class Board {
      * @return true if the given team is checkmated
      */
     public boolean isCheckmated(Colour colour) {
-        Piece king = findPiece(PieceType.KING, colour);
-        return endgameHelper.isInCheckmate(king.getState(), piecesMover.generatePiecesState());
+        return endgameHelper.isInCheckmate(colour, getBitboardsWithKing(colour));
     }
 
     /**
@@ -79,7 +163,15 @@ public class Board {
      * @return true if the given team is stalemated
      */
     public boolean isStalemated(Colour colour) {
-        Piece king = findPiece(PieceType.KING, colour);
-        return endgameHelper.isInStalemate(king.getState(), piecesMover.generatePiecesState());
+        return endgameHelper.isInStalemate(colour, getBitboardsWithKing(colour));
+    }
+
+    /**
+     * Works out whether a given team is in check, checkmate or stalemate in a single pass over the board.
+     * @param colour of the team about to move
+     * @return status of the game from the point of view of the given team
+     */
+    public GameStatus evaluateStatus(Colour colour) {
+        return endgameHelper.evaluate(colour, getBitboardsWithKing(colour));
     }
 }
@@ -1,128 +1,117 @@
 package model.pieces;
 
-import model.Move;
-import model.Square;
-import model.piece.Piece;
-import model.piece.PieceState;
-
-import java.util.Set;
+import model.Colour;
+import model.PieceType;
+import model.game.GameStatus;
+import model.util.Bitboards;
 
 public class EndgameHelper {
     /**
-     * Makes test moves in a trial environment to check endgame conditions
+     * Finds the moves a team can make without leaving its king in check
      */
-    private PiecesMover piecesMover;
+    private final LegalMoveGenerator legalMoveGenerator;
 
     public EndgameHelper() {
-        piecesMover = new PiecesMover();
+        legalMoveGenerator = new LegalMoveGenerator();
     }
 
     /**
-     * Checks whether a king is under check in the current state of the board.
-     * @param kingState
-     * @param piecesState
-     * @return true if the given king is under check
+     * Checks whether a team is under check, ie. whether its king is threatened by a piece of the other team.
+     * @param colour of the team
+     * @param bitboards locations of the pieces on the board
+     * @return true if the given team is under check
      */
-    public boolean isInCheck(PieceState kingState, PiecesState piecesState) {
-        // Sets up PieceMover to control the provided pieces
-        piecesMover.clearPieces();
-        piecesMover.addPieces(piecesState);
-
-        Set<Piece> pieces = piecesMover.getPieces();
-        Piece king = piecesMover.findPiece(kingState);
-
-        return isInCheck(king, pieces);
+    public boolean isInCheck(Colour colour, PieceBitboards bitboards) {
+        long king = bitboards.getPieces(PieceType.KING, colour);
+        if (king == Bitboards.EMPTY) {
+            return false;
+        }
+        return bitboards.isAttacked(Bitboards.square(Long.numberOfTrailingZeros(king)), getOpponent(colour));
     }
 
     /**
-     * Checks whether a king is under check in the current state of the board.
-     * @param king
-     * @param pieces
-     * @return true if the given king is under check
+     * Checks if a team has any moves they can make, such that they will not be in check at the end of the move.
+     * @param colour of the team
+     * @param bitboards locations of the pieces on the board
+     * @return true if the team has at least one such move
      */
-    private boolean isInCheck(Piece king, Set<Piece> pieces) {
-        for (Piece piece : pieces) {
-            if (piece.getState().getColour() != king.getState().getColour() &&
-                    piece.doesThreaten(king.getState().getSquare())) {
-                return true;
-            }
-        }
-        return false;
+    public boolean canMove(Colour colour, PieceBitboards bitboards) {
+        return legalMoveGenerator.hasLegalMove(colour, bitboards);
     }
 
     /**
-     * Checks if a team has any moves they can make, such that they will not be in check at the end of the move
-     * @param kingState of team
+     * Checks whether a given team is checkmated in the current state of the board.
+     * @param colour of the team
+     * @param bitboards locations of the pieces on the board
+     * @return true if the given team is checkmated
      */
-    private boolean canMove(PieceState kingState, PiecesState piecesState) {
-        // Sets up PieceMover to control the provided pieces
-        piecesMover.clearPieces();
-        piecesMover.addPieces(piecesState);
-
-        Set<Piece> pieces = piecesMover.getPieces();
-        Piece king = piecesMover.findPiece(kingState);
-
-        for (Piece piece : pieces) {
-            if (piece.getState().getColour() == king.getState().getColour()) {
-                for (Square moveableSquare : piece.getMoveableSquares()) {
-
-                    // Perform move
-                    Move move = new Move(piece.getState(), moveableSquare);
-                    piecesMover.move(move);
-
-                    // Check if move resulted in check
-                    boolean isChecked = isInCheck(king, pieces);
-
-                    // Undo move
-                    piecesMover.undoMove();
+    public boolean isInCheckmate(Colour colour, PieceBitboards bitboards) {
+        return evaluate(colour, bitboards) == GameStatus.OVER_CHECKMATE;
+    }
 
-                    // If move did not result in check, the team has an available move
-                    if (!isChecked) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+    /**
+     * Checks whether a given team is stalemated in the current state of the board, ie. there is nowhere the given team
+     * can move and it is not in check. A position where neither team can win is not stalemate (see
+     * hasInsufficientMaterial()).
+     * @param colour of the team
+     * @param bitboards locations of the pieces on the board
+     * @return true if the given team is stalemated
+     */
+    public boolean isInStalemate(Colour colour, PieceBitboards bitboards) {
+        return evaluate(colour, bitboards) == GameStatus.OVER_STALEMATE;
     }
 
     /**
-     * Checks whether a given team is checkmated in the current state of the board.
-     * @param kingState
-     * @param piecesState
-     * @return true if the given team is checkmated
+     * Works out in a single pass whether a team is in check, checkmate or stalemate, or neither team can win, so that
+     * check and the available moves are each only calculated once.
+     * @param colour of the team about to move
+     * @param bitboards locations of the pieces on the board
+     * @return status of the game from the point of view of the given team
      */
-    public boolean isInCheckmate(PieceState kingState, PiecesState piecesState) {
-        // Check that the king is currently in check
-        if (!isInCheck(kingState, piecesState)) {
-            return false;
+    public GameStatus evaluate(Colour colour, PieceBitboards bitboards) {
+        // Check that there are enough pieces for one side to checkmate
+        if (hasInsufficientMaterial(bitboards)) {
+            return GameStatus.OVER_INSUFFICIENT_MATERIAL;
         }
-        // Check whether there is a move the team can make that will get them out of check
-        if (canMove(kingState, piecesState)) {
-            return false;
+        boolean isInCheck = isInCheck(colour, bitboards);
+        boolean canMove = canMove(colour, bitboards);
+        if (isInCheck) {
+            return canMove ? GameStatus.IN_PROGRESS_CHECK : GameStatus.OVER_CHECKMATE;
         }
-        return true;
+        return canMove ? GameStatus.IN_PROGRESS : GameStatus.OVER_STALEMATE;
     }
 
     /**
-     * Checks whether a given team is stalemated in the current state of the board. Checks if either:
-     * - there is nowhere the given team can move
-     * - there are not enough pieces on the board for either team to win
-     * @param kingState
-     * @param piecesState
-     * @return true if the given team is stalemated
+     * Checks whether there are too few pieces on the board for either team to checkmate the other, ie. there are only
+     * kings and either:
+     * - no other pieces
+     * - a single bishop or knight
+     * - any number of bishops, all on squares of the same colour
+     * The pieces are counted from the bitboards, so no pieces need to be visited.
+     * @param bitboards locations of the pieces on the board
+     * @return true if neither team can win
      */
-    public boolean isInStalemate(PieceState kingState, PiecesState piecesState) {
-        // Check that the king is not in check
-        if (isInCheck(kingState, piecesState)) {
+    public boolean hasInsufficientMaterial(PieceBitboards bitboards) {
+        long majorPiecesAndPawns = bitboards.getType(PieceType.PAWN) | bitboards.getType(PieceType.CASTLE)
+                | bitboards.getType(PieceType.QUEEN);
+        if (majorPiecesAndPawns != Bitboards.EMPTY) {
             return false;
         }
-        // For all possible moves the team can make, check all of them will put the team in check
-        if (canMove(kingState, piecesState)) {
-            return false;
+        long knights = bitboards.getType(PieceType.KNIGHT);
+        long bishops = bitboards.getType(PieceType.BISHOP);
+        if (Long.bitCount(knights | bishops) <= 1) {
+            return true;
         }
-        // Check that there are enough pieces for one side to checkmate
-        // TODO
-        return true;
+        return knights == Bitboards.EMPTY
+                && ((bishops & Bitboards.LIGHT_SQUARES) == Bitboards.EMPTY
+                || (bishops & ~Bitboards.LIGHT_SQUARES) == Bitboards.EMPTY);
+    }
+
+    /**
+     * @param colour
+     * @return opponent colour
+     */
+    private Colour getOpponent(Colour colour) {
+        return colour == Colour.WHITE ? Colour.BLACK : Colour.WHITE;
     }
 }
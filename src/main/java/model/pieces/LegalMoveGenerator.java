@@ -0,0 +1,232 @@
+package model.pieces;
+
+import model.Colour;
+import model.Move;
+import model.PieceType;
+import model.Square;
+import model.util.Bitboards;
+import model.util.MoveList;
+import model.util.MovesCalculator;
+import model.util.PackedMove;
+import model.util.SlidingAttacks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the moves a team can make without leaving its king in check. Rather than trying each move and looking
+ * for check afterwards, the pieces checking the king and the pieces pinned to the king are found once per position,
+ * and each piece's moveable squares are then restricted to those that deal with the check and keep any pin.
+ */
+public class LegalMoveGenerator {
+
+    /**
+     * Calculates the squares each piece could move to, ignoring whether the move leaves its king in check
+     */
+    private final MovesCalculator movesCalculator;
+
+    /**
+     * Squares a piece pinned to the king may move to, indexed by the bit index of the pinned piece's square. Only
+     * valid for squares in pinnedPieces.
+     */
+    private final long[] pinMasks;
+
+    /**
+     * Reused when generating moves as a list of Moves
+     */
+    private final MoveList moveList;
+
+    /**
+     * Locations of the pieces in the position being generated for
+     */
+    private PieceBitboards bitboards;
+
+    /**
+     * Team being generated for and its opponent
+     */
+    private Colour colour;
+    private Colour opponent;
+
+    /**
+     * Square of the team's king, or Square.NONE if the team has no king
+     */
+    private Square kingSquare;
+
+    /**
+     * Squares of the opponent's pieces checking the king
+     */
+    private long checkers;
+
+    /**
+     * Squares a piece other than the king must move to in order to deal with check, ie. taking the checking piece
+     * or blocking it. Every square if the king is not in check.
+     */
+    private long evasionSquares;
+
+    /**
+     * Squares of the team's pieces that are pinned to the king by an opponent's sliding piece
+     */
+    private long pinnedPieces;
+
+    public LegalMoveGenerator() {
+        movesCalculator = new MovesCalculator();
+        pinMasks = new long[Bitboards.NUM_SQUARES];
+        moveList = new MoveList();
+    }
+
+    /**
+     * Checks whether a team has any move that does not leave its king in check.
+     * @param colour of the team
+     * @param bitboards locations of the pieces on the board
+     * @return true if the team has at least one legal move
+     */
+    public boolean hasLegalMove(Colour colour, PieceBitboards bitboards) {
+        analysePosition(colour, bitboards);
+
+        long pieces = bitboards.getColour(colour);
+        while (pieces != Bitboards.EMPTY) {
+            Square from = Bitboards.square(Long.numberOfTrailingZeros(pieces));
+            pieces &= pieces - 1;
+            if (getLegalSquares(from) != Bitboards.EMPTY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Generates every move a team can make that does not leave its king in check.
+     * @param colour of the team
+     * @param bitboards locations of the pieces on the board
+     * @return legal moves of the team
+     */
+    public List<Move> generateLegalMoves(Colour colour, PieceBitboards bitboards) {
+        generateLegalMoves(colour, bitboards, moveList);
+        List<Move> moves = new ArrayList<>(moveList.size());
+        for (int i = 0; i < moveList.size(); i++) {
+            moves.add(PackedMove.unpack(moveList.get(i)));
+        }
+        return moves;
+    }
+
+    /**
+     * Generates every move a team can make that does not leave its king in check, as packed moves, without creating
+     * any objects.
+     * @param colour of the team
+     * @param bitboards locations of the pieces on the board
+     * @param moves list to replace the contents of with the legal moves of the team
+     */
+    public void generateLegalMoves(Colour colour, PieceBitboards bitboards, MoveList moves) {
+        analysePosition(colour, bitboards);
+        moves.clear();
+
+        long opponentPieces = bitboards.getColour(opponent);
+        long pieces = bitboards.getColour(colour);
+        while (pieces != Bitboards.EMPTY) {
+            int fromIndex = Long.numberOfTrailingZeros(pieces);
+            Square from = Bitboards.square(fromIndex);
+            pieces &= pieces - 1;
+            PieceType type = bitboards.getType(from);
+
+            long legalSquares = getLegalSquares(from);
+            while (legalSquares != Bitboards.EMPTY) {
+                int toIndex = Long.numberOfTrailingZeros(legalSquares);
+                legalSquares &= legalSquares - 1;
+                PieceType captured = (opponentPieces & (1L << toIndex)) != 0
+                        ? bitboards.getType(Bitboards.square(toIndex)) : null;
+                moves.add(PackedMove.pack(type, colour, fromIndex, toIndex, captured));
+            }
+        }
+    }
+
+    /**
+     * Finds the pieces checking the team's king and the pieces pinned to it.
+     * @param colour of the team
+     * @param bitboards locations of the pieces on the board
+     */
+    private void analysePosition(Colour colour, PieceBitboards bitboards) {
+        this.bitboards = bitboards;
+        this.colour = colour;
+        opponent = colour == Colour.WHITE ? Colour.BLACK : Colour.WHITE;
+        checkers = Bitboards.EMPTY;
+        evasionSquares = ~Bitboards.EMPTY;
+        pinnedPieces = Bitboards.EMPTY;
+
+        long king = bitboards.getPieces(PieceType.KING, colour);
+        if (king == Bitboards.EMPTY) {
+            kingSquare = Square.NONE;
+            return;
+        }
+        int kingIndex = Long.numberOfTrailingZeros(king);
+        kingSquare = Bitboards.square(kingIndex);
+
+        // A single checking piece can be taken, and a checking sliding piece can also be blocked
+        checkers = bitboards.getAttackers(kingSquare, opponent);
+        if (Long.bitCount(checkers) == 1) {
+            int checkerIndex = Long.numberOfTrailingZeros(checkers);
+            evasionSquares = checkers | SlidingAttacks.between(kingIndex, checkerIndex);
+        } else if (checkers != Bitboards.EMPTY) {
+            evasionSquares = Bitboards.EMPTY;
+        }
+
+        // A sliding piece pins a piece if it would attack the king were that piece not there. Only the opponent's
+        // pieces are treated as blockers so that the sliding pieces can be seen through the team's pieces.
+        long opponentPieces = bitboards.getColour(opponent);
+        long queens = bitboards.getType(PieceType.QUEEN);
+        long snipers = (SlidingAttacks.castleAttacks(kingIndex, opponentPieces)
+                & (bitboards.getType(PieceType.CASTLE) | queens))
+                | (SlidingAttacks.bishopAttacks(kingIndex, opponentPieces)
+                & (bitboards.getType(PieceType.BISHOP) | queens));
+        snipers &= opponentPieces;
+        while (snipers != Bitboards.EMPTY) {
+            int sniperIndex = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long line = SlidingAttacks.between(kingIndex, sniperIndex);
+            long blockers = line & bitboards.getOccupied();
+            if (Long.bitCount(blockers) == 1 && (blockers & bitboards.getColour(colour)) != 0) {
+                pinnedPieces |= blockers;
+                pinMasks[Long.numberOfTrailingZeros(blockers)] = line | (1L << sniperIndex);
+            }
+        }
+    }
+
+    /**
+     * Calculates the squares a piece of the team can legally move to in the position last analysed.
+     * @param from square of the piece
+     * @return legal squares to move to
+     */
+    private long getLegalSquares(Square from) {
+        PieceType type = bitboards.getType(from);
+        movesCalculator.calculateMoveableAndThreatenedSquares(type, colour, from, bitboards);
+        long moveableSquares = movesCalculator.getMoveableBitboard();
+
+        if (type == PieceType.KING) {
+            return getSafeKingSquares(from, moveableSquares);
+        }
+        moveableSquares &= evasionSquares;
+        if (Bitboards.contains(pinnedPieces, from)) {
+            moveableSquares &= pinMasks[Bitboards.index(from)];
+        }
+        return moveableSquares;
+    }
+
+    /**
+     * Filters the squares a king can move to down to those not attacked by the opponent. The king is removed from
+     * the board while checking, so that it cannot hide from a sliding piece behind itself.
+     * @param from square of the king
+     * @param moveableSquares squares the king can move to, ignoring check
+     * @return squares the king can safely move to
+     */
+    private long getSafeKingSquares(Square from, long moveableSquares) {
+        long occupied = bitboards.getOccupied() & ~Bitboards.bit(from);
+        long safeSquares = Bitboards.EMPTY;
+        while (moveableSquares != Bitboards.EMPTY) {
+            Square to = Bitboards.square(Long.numberOfTrailingZeros(moveableSquares));
+            moveableSquares &= moveableSquares - 1;
+            if (bitboards.getAttackers(to, opponent, occupied) == Bitboards.EMPTY) {
+                safeSquares |= Bitboards.bit(to);
+            }
+        }
+        return safeSquares;
+    }
+}
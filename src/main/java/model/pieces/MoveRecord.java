@@ -0,0 +1,61 @@
+package model.pieces;
+
+import model.Square;
+import model.piece.Piece;
+
+/**
+ * Record of a move made by a PiecesMover, holding everything needed to reverse the move. Records are reused for
+ * later moves once their move has been undone, so that making a move allocates nothing.
+ */
+class MoveRecord {
+
+    /**
+     * Piece that moved
+     */
+    private Piece piece;
+
+    /**
+     * Square the piece moved from
+     */
+    private Square from;
+
+    /**
+     * Square the piece moved to
+     */
+    private Square to;
+
+    /**
+     * Piece taken off the board by the move, or null if no piece was taken
+     */
+    private Piece capturedPiece;
+
+    /**
+     * Records a new move in place of any move recorded before
+     * @param piece that moved
+     * @param from square the piece moved from
+     * @param to square the piece moved to
+     * @param capturedPiece piece taken off the board by the move, or null
+     */
+    void set(Piece piece, Square from, Square to, Piece capturedPiece) {
+        this.piece = piece;
+        this.from = from;
+        this.to = to;
+        this.capturedPiece = capturedPiece;
+    }
+
+    Piece getPiece() {
+        return piece;
+    }
+
+    Square getFrom() {
+        return from;
+    }
+
+    Square getTo() {
+        return to;
+    }
+
+    Piece getCapturedPiece() {
+        return capturedPiece;
+    }
+}
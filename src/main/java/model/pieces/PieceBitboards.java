@@ -0,0 +1,181 @@
+package model.pieces;
+
+import model.Colour;
+import model.PieceType;
+import model.Square;
+import model.piece.PieceState;
+import model.util.Bitboards;
+import model.util.LeaperAttacks;
+import model.util.SlidingAttacks;
+
+import java.util.Arrays;
+
+/**
+ * Locations of a set of pieces stored as one bitboard per colour and one bitboard per piece type. Dead pieces are
+ * not stored.
+ */
+public class PieceBitboards {
+
+    /**
+     * Piece types in order, kept so that finding the type on a square does not copy the array from values()
+     */
+    private static final PieceType[] TYPES = PieceType.values();
+
+    /**
+     * Squares occupied by each colour, indexed by Colour.ordinal()
+     */
+    private final long[] colourBitboards;
+
+    /**
+     * Squares occupied by each piece type, indexed by PieceType.ordinal()
+     */
+    private final long[] typeBitboards;
+
+    /**
+     * Creates bitboards with no pieces on them.
+     */
+    PieceBitboards() {
+        colourBitboards = new long[Colour.values().length];
+        typeBitboards = new long[TYPES.length];
+    }
+
+    /**
+     * Creates a copy of the provided bitboards.
+     * @param other
+     */
+    PieceBitboards(PieceBitboards other) {
+        colourBitboards = other.colourBitboards.clone();
+        typeBitboards = other.typeBitboards.clone();
+    }
+
+    /**
+     * Marks the square of the given piece as occupied by the piece. Does nothing if the piece is dead.
+     * @param state
+     */
+    void add(PieceState state) {
+        add(state.getType(), state.getColour(), state.getSquare());
+    }
+
+    /**
+     * Marks a square as occupied by a piece of the given type and colour. Does nothing if the square is Square.NONE.
+     * @param type
+     * @param colour
+     * @param square
+     */
+    void add(PieceType type, Colour colour, Square square) {
+        long bit = Bitboards.bit(square);
+        colourBitboards[colour.ordinal()] |= bit;
+        typeBitboards[type.ordinal()] |= bit;
+    }
+
+    /**
+     * Marks a square as no longer occupied by a piece of the given type and colour. Does nothing if the square is
+     * Square.NONE.
+     * @param type
+     * @param colour
+     * @param square
+     */
+    void remove(PieceType type, Colour colour, Square square) {
+        long bit = Bitboards.bit(square);
+        colourBitboards[colour.ordinal()] &= ~bit;
+        typeBitboards[type.ordinal()] &= ~bit;
+    }
+
+    /**
+     * Removes every piece from the bitboards.
+     */
+    void clear() {
+        Arrays.fill(colourBitboards, Bitboards.EMPTY);
+        Arrays.fill(typeBitboards, Bitboards.EMPTY);
+    }
+
+    /**
+     * @return squares occupied by any piece
+     */
+    public long getOccupied() {
+        return colourBitboards[Colour.WHITE.ordinal()] | colourBitboards[Colour.BLACK.ordinal()];
+    }
+
+    /**
+     * @param colour
+     * @return squares occupied by pieces of the given colour
+     */
+    public long getColour(Colour colour) {
+        return colourBitboards[colour.ordinal()];
+    }
+
+    /**
+     * @param type
+     * @return squares occupied by pieces of the given type
+     */
+    public long getType(PieceType type) {
+        return typeBitboards[type.ordinal()];
+    }
+
+    /**
+     * @param type
+     * @param colour
+     * @return squares occupied by pieces of the given type and colour
+     */
+    public long getPieces(PieceType type, Colour colour) {
+        return typeBitboards[type.ordinal()] & colourBitboards[colour.ordinal()];
+    }
+
+    /**
+     * @param square
+     * @return type of the piece on the square, or null if the square is empty
+     */
+    public PieceType getType(Square square) {
+        long bit = Bitboards.bit(square);
+        for (PieceType type : TYPES) {
+            if ((typeBitboards[type.ordinal()] & bit) != 0) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the pieces of the given colour that attack a square, ie. could take a piece on the square. Uses the
+     * attack tables directly so no Pieces need to be created.
+     * @param square
+     * @param attacker colour of the attacking pieces
+     * @return squares of the attacking pieces
+     */
+    public long getAttackers(Square square, Colour attacker) {
+        return getAttackers(square, attacker, getOccupied());
+    }
+
+    /**
+     * Finds the pieces of the given colour that attack a square, treating only the given squares as able to block
+     * sliding pieces. Used to see through a piece that is about to move, eg. a king stepping away from a castle.
+     * @param square
+     * @param attacker colour of the attacking pieces
+     * @param occupied squares that block sliding pieces
+     * @return squares of the attacking pieces
+     */
+    public long getAttackers(Square square, Colour attacker, long occupied) {
+        int index = Bitboards.index(square);
+        long diagonalSliders = getType(PieceType.BISHOP) | getType(PieceType.QUEEN);
+        long straightSliders = getType(PieceType.CASTLE) | getType(PieceType.QUEEN);
+
+        // A pawn attacks the square if the square attacks the pawn from the perspective of an enemy pawn
+        Colour defender = attacker == Colour.WHITE ? Colour.BLACK : Colour.WHITE;
+        long attackers = LeaperAttacks.pawnAttacks(defender, index) & getType(PieceType.PAWN);
+
+        attackers |= LeaperAttacks.knightAttacks(index) & getType(PieceType.KNIGHT);
+        attackers |= LeaperAttacks.kingAttacks(index) & getType(PieceType.KING);
+        attackers |= SlidingAttacks.bishopAttacks(index, occupied) & diagonalSliders;
+        attackers |= SlidingAttacks.castleAttacks(index, occupied) & straightSliders;
+        return attackers & getColour(attacker);
+    }
+
+    /**
+     * @param square
+     * @param attacker colour of the attacking pieces
+     * @return true if any piece of the given colour attacks the square
+     */
+    public boolean isAttacked(Square square, Colour attacker) {
+        return getAttackers(square, attacker) != 0;
+    }
+}
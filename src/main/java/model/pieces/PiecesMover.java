@@ -9,6 +9,10 @@ import model.piece.Piece;
 import model.PieceType;
 import model.piece.PieceFactory;
 import model.piece.PieceState;
+import model.util.Bitboards;
+import model.util.PackedMove;
+import model.util.PieceSquareTables;
+import model.util.Zobrist;
 import util.CollectionUtil;
 
 import java.util.*;
@@ -16,9 +20,20 @@ import java.util.*;
 public class PiecesMover {
 
     /**
-     * Moves made on previous turn
+     * Number of records in moveHistory created before the first move, which is doubled whenever it runs out
      */
-    private Set<Move> previousMoves;
+    private static final int INITIAL_HISTORY_CAPACITY = 64;
+
+    /**
+     * Moves that have been made and not undone, oldest move first. Records past numberOfMoves belong to undone moves
+     * and are reused by later moves.
+     */
+    private MoveRecord[] moveHistory;
+
+    /**
+     * Number of moves that have been made and not undone
+     */
+    private int numberOfMoves;
 
     /**
      * Pieces this piece mover can move, mapped by their type
@@ -26,9 +41,46 @@ public class PiecesMover {
     private final Map<PieceType, Set<Piece>> piecesByType;
 
     /**
-     * Objects interested in PiecesStateEvents.
+     * Living pieces this piece mover can move, indexed by the bit index of the square they are on (see Bitboards).
+     * Empty squares are null.
+     */
+    private final Piece[] piecesBySquare;
+
+    /**
+     * Pieces this piece mover can move that have been taken off the board
+     */
+    private final List<Piece> capturedPieces;
+
+    /**
+     * Locations of the living pieces this piece mover can move, kept up to date as pieces move
      */
-    private final Set<PiecesStateListener> piecesStateListeners;
+    private final PieceBitboards bitboards;
+
+    /**
+     * Zobrist key of the position, kept up to date as pieces move. The key includes the colour to move, which is
+     * given when the pieces are set up and passes to the other colour on every move.
+     */
+    private long zobristKey;
+
+    /**
+     * Colour whose turn it is in the current position
+     */
+    private Colour colourToMove;
+
+    /**
+     * Value of white's pieces minus value of black's pieces (see PieceSquareTables), kept up to date as pieces move
+     */
+    private int score;
+
+    /**
+     * Number of listeners updated the last time the state of the pieces changed
+     */
+    private int numberOfListenersUpdated;
+
+    /**
+     * Objects interested in PiecesStateEvents. A list, so that it can be walked by index without an iterator.
+     */
+    private final List<PiecesStateListener> piecesStateListeners;
 
     /**
      * Factory to generate new Pieces.
@@ -36,21 +88,50 @@ public class PiecesMover {
     private PieceFactory pieceFactory;
 
     /**
-     * Sets up a PieceMover with control over new pieces that start in the provided states.
+     * Sets up a PieceMover with control over new pieces that start in the provided states, with white to move.
      */
     public PiecesMover(PiecesState piecesState) {
+        this(piecesState, Colour.WHITE);
+    }
+
+    /**
+     * Sets up a PieceMover with control over new pieces that start in the provided states.
+     * @param piecesState
+     * @param colourToMove colour whose turn it is, which is included in the Zobrist key
+     */
+    public PiecesMover(PiecesState piecesState, Colour colourToMove) {
         this();
         addPieces(piecesState);
+        setColourToMove(colourToMove);
     }
 
     /**
      * Sets up a PieceMover with no control over any pieces.
      */
     public PiecesMover() {
-        previousMoves = new HashSet<>();
+        moveHistory = new MoveRecord[INITIAL_HISTORY_CAPACITY];
         piecesByType = new HashMap<>();
-        piecesStateListeners = new HashSet<>();
+        piecesBySquare = new Piece[Bitboards.NUM_SQUARES];
+        capturedPieces = new ArrayList<>();
+        bitboards = new PieceBitboards();
+        piecesStateListeners = new ArrayList<>();
         pieceFactory = new PieceFactory();
+        colourToMove = Colour.WHITE;
+    }
+
+    /**
+     * Creates an independent PiecesMover with new pieces in the same states as the pieces of this PiecesMover. The
+     * copy shares no mutable state with this PiecesMover, so each can be used on its own thread. Moves made so far
+     * are not copied, so they cannot be undone on the copy.
+     * @return copy of this PiecesMover
+     */
+    public PiecesMover copy() {
+        PiecesMover copy = new PiecesMover();
+        copy.pieceFactory = pieceFactory;
+        copy.addPieces(generatePiecesState());
+        copy.zobristKey = zobristKey;
+        copy.colourToMove = colourToMove;
+        return copy;
     }
 
     /**
@@ -62,8 +143,9 @@ public class PiecesMover {
             // Create new Piece in the given state
             Piece piece = pieceFactory.createPiece(state);
 
-            // Map Piece by its type
+            // Map Piece by its type and square
             CollectionUtil.addToMap(piecesByType, state.getType(), piece);
+            putOnSquare(piece, state.getSquare());
 
             // Add Piece as a listener to this PiecesMover's state
             piecesStateListeners.add(piece);
@@ -76,7 +158,15 @@ public class PiecesMover {
      */
     public void clearPieces() {
         piecesByType.clear();
+        Arrays.fill(piecesBySquare, null);
+        capturedPieces.clear();
+        bitboards.clear();
+        zobristKey = 0;
+        colourToMove = Colour.WHITE;
+        score = 0;
         piecesStateListeners.clear();
+        Arrays.fill(moveHistory, null);
+        numberOfMoves = 0;
     }
 
     /**
@@ -85,83 +175,248 @@ public class PiecesMover {
      * @return new state of the board
      */
     public PiecesState move(Move move) {
+        makeMove(move);
+        return generatePiecesState();
+    }
+
+    /**
+     * Makes a packed move (see PackedMove). The move can be reversed with unmakeMove().
+     * @param move packed move
+     */
+    public void makeMove(int move) {
+        makeMove(PackedMove.unpack(move));
+    }
+
+    /**
+     * Moves a piece to a new square if allowed, taking any piece on the square off the board. The move can be
+     * reversed with unmakeMove(). Nothing is changed if the move is not allowed.
+     * @param move
+     * @throws ChessException if there is no such piece or it cannot move to the square
+     */
+    public void makeMove(Move move) {
         // Update square piece is on
+        Square from = move.getPieceState().getSquare();
         Piece piece = findPiece(move.getPieceState());
+        Piece capturedPiece = findPiece(move.getTo());
         piece.moveTo(move.getTo());
-        previousMoves.add(move);
+        removeFromSquare(piece, from);
 
-        // Take any pieces on this square off the board
-        ensureOnlyPieceIsOnSquare(piece, move.getTo());
-
-        // Update other listeners' view
-        firePiecesStateUpdate();
+        // Take any piece on this square off the board before the piece lands on it
+        if (capturedPiece != null) {
+            capturedPiece.moveToUnchecked(Square.NONE);
+            removeFromSquare(capturedPiece, move.getTo());
+            putOnSquare(capturedPiece, Square.NONE);
+        }
+        putOnSquare(piece, move.getTo());
+        recordMove(piece, from, move.getTo(), capturedPiece);
+        passTurn();
 
-        return generatePiecesState();
+        // Update the view of listeners affected by the move
+        firePiecesStateUpdate(Bitboards.bit(from) | Bitboards.bit(move.getTo()), piece, capturedPiece);
     }
 
     /**
-     * Reverses the moves made on the previous turn. Two or more moves cannot be undone in a row.
+     * Reverses the most recent move that has not already been undone.
      * @return new state of the board
+     * @throws ChessException if there are no moves to undo
      */
     public PiecesState undoMove() {
+        unmakeMove();
+        return generatePiecesState();
+    }
+
+    /**
+     * Reverses the most recent move that has not already been undone. Any number of moves can be undone, in the
+     * reverse order they were made.
+     * @throws ChessException if there are no moves to undo
+     */
+    public void unmakeMove() {
         // Check if there are moves to be reversed
-        if (previousMoves.isEmpty()) {
-            throw new RuntimeException(); // TODO log and msg - cannot undo move
+        if (numberOfMoves == 0) {
+            throw new ChessException("There are no moves to undo."); // TODO log
         }
-        // Reverse the moves that occured on the previous turn
-        for (Move move : previousMoves) {
-            // Retrieve square piece was on before moved
-            Square previousSquare = move.getPieceState().getSquare();
-            Piece piece = findPiece(move.getPieceState().getType(), move.getPieceState().getColour(), move.getTo());
-            piece.moveToUnchecked(previousSquare);
+        MoveRecord record = moveHistory[--numberOfMoves];
+
+        // Move the piece back to the square it came from
+        Piece piece = record.getPiece();
+        piece.moveToUnchecked(record.getFrom());
+        removeFromSquare(piece, record.getTo());
+        putOnSquare(piece, record.getFrom());
 
-            // Update other listeners' view
-            firePiecesStateUpdate();
+        // Put any piece that was taken back on the board
+        Piece capturedPiece = record.getCapturedPiece();
+        if (capturedPiece != null) {
+            capturedPiece.moveToUnchecked(record.getTo());
+            removeFromSquare(capturedPiece, Square.NONE);
+            putOnSquare(capturedPiece, record.getTo());
         }
-        previousMoves.clear();
+        passTurn();
 
-        return generatePiecesState();
+        // Update the view of listeners affected by the move
+        firePiecesStateUpdate(Bitboards.bit(record.getFrom()) | Bitboards.bit(record.getTo()), piece, capturedPiece);
+    }
+
+    /**
+     * @return number of moves that have been made and not undone
+     */
+    public int getNumberOfMoves() {
+        return numberOfMoves;
+    }
+
+    /**
+     * Adds a move to the history, reusing the record of an undone move if there is one
+     * @param piece that moved
+     * @param from square the piece moved from
+     * @param to square the piece moved to
+     * @param capturedPiece piece taken off the board by the move, or null
+     */
+    private void recordMove(Piece piece, Square from, Square to, Piece capturedPiece) {
+        if (numberOfMoves == moveHistory.length) {
+            moveHistory = Arrays.copyOf(moveHistory, moveHistory.length * 2);
+        }
+        MoveRecord record = moveHistory[numberOfMoves];
+        if (record == null) {
+            record = new MoveRecord();
+            moveHistory[numberOfMoves] = record;
+        }
+        record.set(piece, from, to, capturedPiece);
+        numberOfMoves++;
     }
 
     /**
-     * Ensures only the provided piece is on the given square. Takes any other pieces on this square
-     * off the board and adds these moves to previousMoves.
+     * @return locations of the living pieces, which must not be modified and change as pieces move
+     */
+    public PieceBitboards getBitboards() {
+        return bitboards;
+    }
+
+    /**
+     * Sets whose turn it is, updating the Zobrist key to match.
+     * @param colour to move
+     */
+    public void setColourToMove(Colour colour) {
+        if (colour != colourToMove) {
+            passTurn();
+        }
+    }
+
+    /**
+     * @return colour whose turn it is in the current position
+     */
+    public Colour getColourToMove() {
+        return colourToMove;
+    }
+
+    /**
+     * Gives the turn to the other colour.
+     */
+    private void passTurn() {
+        colourToMove = colourToMove == Colour.WHITE ? Colour.BLACK : Colour.WHITE;
+        zobristKey ^= Zobrist.blackToMoveKey();
+    }
+
+    /**
+     * @return Zobrist key of the current position, including which colour is to move
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * @return value of white's pieces minus value of black's pieces in the current position, in centipawns
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return number of listeners, ie. pieces, that were updated the last time pieces were added or moved
+     */
+    public int getNumberOfListenersUpdated() {
+        return numberOfListenersUpdated;
+    }
+
+    /**
+     * Records that a piece is on the given square, or has been taken off the board if the square is Square.NONE.
      * @param piece
      * @param square
      */
-    private void ensureOnlyPieceIsOnSquare(Piece piece, Square square) {
-        Set<Piece> piecesOnSquare = findPieces(square);
-        piecesOnSquare.remove(piece);
-        for (Piece otherPiece : piecesOnSquare) {
-            Move move = new Move(otherPiece.getState(), Square.NONE);
-            otherPiece.moveToUnchecked(move.getTo());
-            previousMoves.add(move);
+    private void putOnSquare(Piece piece, Square square) {
+        if (square == Square.NONE) {
+            capturedPieces.add(piece);
+            return;
         }
+        piecesBySquare[Bitboards.index(square)] = piece;
+        bitboards.add(piece.getState().getType(), piece.getState().getColour(), square);
+        zobristKey ^= Zobrist.pieceKey(piece.getState().getType(), piece.getState().getColour(), square);
+        score += PieceSquareTables.score(piece.getState().getType(), piece.getState().getColour(), square);
     }
 
     /**
-     * Finds all the pieces on a given square.
+     * Records that a piece is no longer on the given square, or is no longer off the board if the square is
+     * Square.NONE. Does nothing if another piece has since been put on the square.
+     * @param piece
      * @param square
-     * @return pieces on the square
-     */
-    private Set<Piece> findPieces(Square square) {
-        Set<Piece> piecesOnSquare = new HashSet<>();
-        Set<Piece> allPieces = CollectionUtil.combine(piecesByType.values());
-        for (Piece piece : allPieces) {
-            if (piece.getState().getSquare() == square) {
-                piecesOnSquare.add(piece);
+     */
+    private void removeFromSquare(Piece piece, Square square) {
+        if (square == Square.NONE) {
+            // Pieces are usually put back on the board in the reverse order they were taken, so search from the end.
+            // Captured pieces of the same type and colour are equal, so the piece is found by identity.
+            for (int i = capturedPieces.size() - 1; i >= 0; i--) {
+                if (capturedPieces.get(i) == piece) {
+                    capturedPieces.remove(i);
+                    return;
+                }
             }
+            return;
+        }
+        int index = Bitboards.index(square);
+        if (piecesBySquare[index] == piece) {
+            piecesBySquare[index] = null;
+            bitboards.remove(piece.getState().getType(), piece.getState().getColour(), square);
+            zobristKey ^= Zobrist.pieceKey(piece.getState().getType(), piece.getState().getColour(), square);
+            score -= PieceSquareTables.score(piece.getState().getType(), piece.getState().getColour(), square);
+        }
+    }
+
+    /**
+     * Finds the living piece on a given square.
+     * @param square
+     * @return piece on the square, or null if the square is empty or is Square.NONE
+     */
+    public Piece findPiece(Square square) {
+        if (square == Square.NONE) {
+            return null;
         }
-        return piecesOnSquare;
+        return piecesBySquare[Bitboards.index(square)];
     }
 
     /**
      * Lets listeners know that the state of the pieces has changed.
      */
     private void firePiecesStateUpdate() {
-        PiecesState state = generatePiecesState();
         for (PiecesStateListener listener : piecesStateListeners) {
-            listener.update(state);
+            listener.update(bitboards);
+        }
+        numberOfListenersUpdated = piecesStateListeners.size();
+    }
+
+    /**
+     * Lets listeners affected by a move know that the state of the pieces has changed. The pieces that moved are
+     * always updated, while other listeners are only updated if they are affected by the changed squares. Listeners
+     * are given the live bitboards rather than a new PiecesState, so that moves do not copy the board.
+     * @param changedSquares bitboard of squares pieces moved onto or off
+     * @param movedPiece
+     * @param capturedPiece piece taken off or put back on the board by the move, or null
+     */
+    private void firePiecesStateUpdate(long changedSquares, Piece movedPiece, Piece capturedPiece) {
+        numberOfListenersUpdated = 0;
+        for (int i = 0; i < piecesStateListeners.size(); i++) {
+            PiecesStateListener listener = piecesStateListeners.get(i);
+            if (listener == movedPiece || listener == capturedPiece || listener.isAffectedBy(changedSquares)) {
+                listener.update(bitboards);
+                numberOfListenersUpdated++;
+            }
         }
     }
 
@@ -170,11 +425,15 @@ public class PiecesMover {
      */
     public PiecesState generatePiecesState() {
         Set<PieceState> pieceStates = new HashSet<>();
-        Set<Piece> pieces = CollectionUtil.combine(piecesByType.values());
-        for (Piece piece : pieces) {
+        for (Piece piece : piecesBySquare) {
+            if (piece != null) {
+                pieceStates.add(piece.getState());
+            }
+        }
+        for (Piece piece : capturedPieces) {
             pieceStates.add(piece.getState());
         }
-        return new PiecesState(pieceStates);
+        return new PiecesState(pieceStates, bitboards, zobristKey);
     }
 
     /**
@@ -186,7 +445,7 @@ public class PiecesMover {
      * @return
      */
     public Piece findPiece(PieceType type, Colour colour, Square location) {
-        return findPiece(new PieceState(type, colour, location));
+        return findPiece(PieceState.of(type, colour, location));
     }
 
     /**
@@ -196,15 +455,31 @@ public class PiecesMover {
      * @return
      */
     public Piece findPiece(PieceState state) {
-        Set<Piece> candidates = findPieces(state.getType(), state.getColour());
-        for (Piece candidate : candidates) {
-            if (candidate.getState().getSquare() == state.getSquare()) {
+        if (state.isAlive()) {
+            Piece candidate = findPiece(state.getSquare());
+            if (candidate != null && isOfTypeAndColour(candidate, state)) {
                 return candidate;
             }
+        } else {
+            for (Piece candidate : capturedPieces) {
+                if (isOfTypeAndColour(candidate, state)) {
+                    return candidate;
+                }
+            }
         }
         throw new ChessException(String.format("There is no %s", state)); // TODO log
     }
 
+    /**
+     * @param piece
+     * @param state
+     * @return true if the piece has the same type and colour as the state
+     */
+    private boolean isOfTypeAndColour(Piece piece, PieceState state) {
+        PieceState pieceState = piece.getState();
+        return pieceState.getType() == state.getType() && pieceState.getColour() == state.getColour();
+    }
+
     /**
      * Finds all pieces under this mover's control (including dead pieces) of the specified type and colour.
      * @param type
@@ -1,6 +1,7 @@
 package model.pieces;
 
 import model.piece.PieceState;
+import model.util.Zobrist;
 
 import java.util.Collections;
 import java.util.Set;
@@ -15,8 +16,41 @@ public class PiecesState {
      */
     private final Set<PieceState> pieceStates;
 
+    /**
+     * Locations of the living pieces in this PiecesState
+     */
+    private final PieceBitboards bitboards;
+
+    /**
+     * Zobrist key of the position, including which colour is to move (see Zobrist)
+     */
+    private final long zobristKey;
+
+    /**
+     * Creates a PiecesState with white to move.
+     * @param pieceStates
+     */
     public PiecesState(Set<PieceState> pieceStates) {
         this.pieceStates = Collections.unmodifiableSet(pieceStates);
+        this.bitboards = new PieceBitboards();
+        long key = 0;
+        for (PieceState pieceState : pieceStates) {
+            bitboards.add(pieceState);
+            key ^= Zobrist.pieceKey(pieceState);
+        }
+        this.zobristKey = key;
+    }
+
+    /**
+     * Creates a PiecesState whose piece locations and key are already known, to avoid recalculating them.
+     * @param pieceStates
+     * @param bitboards locations of the living pieces in pieceStates, which are copied
+     * @param zobristKey of the position
+     */
+    PiecesState(Set<PieceState> pieceStates, PieceBitboards bitboards, long zobristKey) {
+        this.pieceStates = Collections.unmodifiableSet(pieceStates);
+        this.bitboards = new PieceBitboards(bitboards);
+        this.zobristKey = zobristKey;
     }
 
     /**
@@ -25,4 +59,18 @@ public class PiecesState {
     public Set<PieceState> getPieceStates() {
         return pieceStates;
     }
+
+    /**
+     * @return locations of the living pieces in this PiecesState
+     */
+    public PieceBitboards getBitboards() {
+        return bitboards;
+    }
+
+    /**
+     * @return Zobrist key of the position, which is equal for equal positions with the same colour to move
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
 }
@@ -0,0 +1,54 @@
+package model.search;
+
+import model.Colour;
+import model.PieceType;
+import model.pieces.PieceBitboards;
+import model.pieces.PiecesMover;
+import model.util.PieceSquareTables;
+
+/**
+ * Static evaluation of a position by the value of each team's pieces and the squares they are on (see
+ * PieceSquareTables). Scores are in centipawns, ie. hundredths of a pawn, from the point of view of the given colour,
+ * so a positive score is good for that colour.
+ */
+public class Evaluation {
+
+    /**
+     * Score of checkmating the opponent immediately. Mates further away score slightly less, so the quickest mate is
+     * preferred.
+     */
+    public static final int MATE_SCORE = 1_000_000;
+
+    private Evaluation() {
+    }
+
+    /**
+     * @param type
+     * @return value of a piece of the given type in centipawns, regardless of its square
+     */
+    public static int getPieceValue(PieceType type) {
+        return PieceSquareTables.materialValue(type);
+    }
+
+    /**
+     * Scores the current position of a PiecesMover using the score it keeps up to date as pieces move, so the cost
+     * does not depend on the number of pieces or how deep the search is.
+     * @param piecesMover
+     * @param colour to score the position for
+     * @return value of the given colour's pieces minus value of its opponent's pieces, in centipawns
+     */
+    public static int evaluate(PiecesMover piecesMover, Colour colour) {
+        return colour == Colour.WHITE ? piecesMover.getScore() : -piecesMover.getScore();
+    }
+
+    /**
+     * Scores a position from scratch.
+     * @param bitboards locations of the pieces on the board
+     * @param colour to score the position for
+     * @return value of the given colour's pieces minus value of its opponent's pieces, in centipawns
+     */
+    public static int evaluate(PieceBitboards bitboards, Colour colour) {
+        int score = PieceSquareTables.score(bitboards);
+        return colour == Colour.WHITE ? score : -score;
+    }
+}
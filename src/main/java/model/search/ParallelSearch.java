@@ -0,0 +1,160 @@
+package model.search;
+
+import model.Colour;
+import model.exception.ChessException;
+import model.pieces.PiecesMover;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Search that uses several threads by running helper searches on the same position alongside the main search, all
+ * sharing one transposition table (Lazy SMP). The helpers fill the table with positions the main search then finds
+ * already searched, and start at alternating depths so that they do not all search the same positions at once. The
+ * main search's result is returned, and the helpers are stopped as soon as it finishes.
+ *
+ * Pieces are not thread safe, so each search is given its own copy of the board to make moves on. Helper searches
+ * run on a pool of their own rather than the common pool, as long searches would otherwise hold up every other user
+ * of the common pool, eg. the web server.
+ */
+public class ParallelSearch {
+
+    /**
+     * Number of threads in the shared pool of helper searches unless the "chess.searchHelperThreads" system property is
+     * set, leaving one processor for the main search
+     */
+    public static final int DEFAULT_HELPER_THREADS = Math.max(Runtime.getRuntime().availableProcessors() - 1, 1);
+
+    /**
+     * Board in the position to search, only read from when copying it for each search
+     */
+    private final PiecesMover piecesMover;
+
+    /**
+     * Results of positions already searched, shared by every search
+     */
+    private final TranspositionTable transpositionTable;
+
+    /**
+     * Pool to run the helper searches on
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Sets up a parallel search from the current position of the given PiecesMover, which is not changed.
+     * @param piecesMover
+     * @param transpositionTable to share between the searches
+     * @param pool to run the helper searches on
+     */
+    public ParallelSearch(PiecesMover piecesMover, TranspositionTable transpositionTable, ForkJoinPool pool) {
+        this.piecesMover = piecesMover;
+        this.transpositionTable = transpositionTable;
+        this.pool = pool;
+    }
+
+    /**
+     * Sets up a parallel search from the current position of the given PiecesMover, running the helper searches on
+     * the shared pool of helper searches.
+     * @param piecesMover
+     * @param transpositionTable to share between the searches
+     */
+    public ParallelSearch(PiecesMover piecesMover, TranspositionTable transpositionTable) {
+        this(piecesMover, transpositionTable, getSharedPool());
+    }
+
+    /**
+     * @return pool shared by parallel searches that are not given their own pool, created when first used
+     */
+    public static ForkJoinPool getSharedPool() {
+        return SharedPoolHolder.POOL;
+    }
+
+    /**
+     * @return most searches that can run at once: the main search and one helper search per thread of the pool
+     */
+    public int getMaxThreads() {
+        return pool.getParallelism() + 1;
+    }
+
+    /**
+     * Searches for the best move for the given colour using the given number of threads. The main search runs on
+     * the calling thread and the limits apply to it. The number of threads is reduced to getMaxThreads(). Helper
+     * searches that the pool has no thread free for, eg. as other searches are using it, start late or not at all.
+     * @param colour to move
+     * @param limits on the main search
+     * @param threads number of searches to run at once, including the main search
+     * @return best move found by the main search, with the nodes visited by every search
+     * @throws ChessException if the number of threads is not positive
+     */
+    public SearchResult search(Colour colour, SearchLimits limits, int threads) {
+        if (threads <= 0) {
+            throw new ChessException(String.format("Number of search threads must be positive, not %d.", threads)); // TODO log
+        }
+        transpositionTable.newSearch();
+
+        // Copy the board for every search before starting any of them, so the board is never read and moved at once
+        Search main = new Search(piecesMover.copy(), transpositionTable);
+        List<HelperTask> helpers = new ArrayList<>();
+        for (int i = 1; i < Math.min(threads, getMaxThreads()); i++) {
+            helpers.add(new HelperTask(new Search(piecesMover.copy(), transpositionTable), colour, limits, 1 + i % 2));
+        }
+
+        for (HelperTask helper : helpers) {
+            pool.execute(helper);
+        }
+        SearchResult result = main.search(colour, limits, 1);
+        long nodes = result.getNodes();
+        for (HelperTask helper : helpers) {
+            helper.search.stop();
+        }
+        for (HelperTask helper : helpers) {
+            nodes += helper.join();
+        }
+        return new SearchResult(result.getBestMove(), result.getScore(), result.getDepth(), nodes,
+                result.getElapsedNanos());
+    }
+
+    /**
+     * Holds the shared pool, so that its threads are only started when first used
+     */
+    private static class SharedPoolHolder {
+        private static final ForkJoinPool POOL =
+                new ForkJoinPool(Integer.getInteger("chess.searchHelperThreads", DEFAULT_HELPER_THREADS));
+    }
+
+    /**
+     * Runs a helper search, whose result is only used to fill the transposition table.
+     */
+    private static class HelperTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final Colour colour;
+        private final SearchLimits limits;
+        private final int firstDepth;
+
+        /**
+         * @param search on a board owned by the task
+         * @param colour to move
+         * @param limits on the search
+         * @param firstDepth depth of the first iteration
+         */
+        private HelperTask(Search search, Colour colour, SearchLimits limits, int firstDepth) {
+            this.search = search;
+            this.colour = colour;
+            this.limits = limits;
+            this.firstDepth = firstDepth;
+        }
+
+        /**
+         * @return number of positions the helper visited
+         */
+        @Override
+        protected Long compute() {
+            return search.search(colour, limits, firstDepth).getNodes();
+        }
+    }
+}
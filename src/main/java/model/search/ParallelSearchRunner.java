@@ -0,0 +1,47 @@
+package model.search;
+
+import model.Colour;
+import model.perft.ReferencePosition;
+import model.pieces.PiecesMover;
+import model.util.Fen;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs parallel search to a fixed depth on a reference position with 1 up to the number of available processors
+ * threads, printing the time, nodes per second and speed-up over one thread for each. Each run starts with an empty
+ * transposition table, so the speed-up is the time taken to reach the depth from scratch.
+ *
+ * Usage: ParallelSearchRunner [depth] [reference position]
+ */
+public class ParallelSearchRunner {
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        ReferencePosition position = args.length > 1 ? ReferencePosition.valueOf(args[1]) : ReferencePosition.START;
+        PiecesMover piecesMover = new PiecesMover(Fen.parsePieces(position.getFen()));
+        Colour colour = Fen.parseColourToMove(position.getFen());
+        System.out.println(String.format("%s at depth %d: %s", position, depth, position.getFen()));
+
+        long singleThreadElapsed = 0;
+        for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads++) {
+            // The main search runs on this thread, so the pool only needs threads for the helpers
+            ForkJoinPool pool = new ForkJoinPool(Math.max(threads - 1, 1));
+            try {
+                ParallelSearch search = new ParallelSearch(piecesMover, new TranspositionTable(), pool);
+                SearchResult result = search.search(colour, SearchLimits.depth(depth), threads);
+                long elapsed = Math.max(result.getElapsedNanos(), 1);
+                if (threads == 1) {
+                    singleThreadElapsed = elapsed;
+                }
+                System.out.println(String.format("  %d threads: best move %s to %s, score %d, %d nodes in %d ms, "
+                                + "%d nodes/s, %.2fx speed-up",
+                        threads, result.getBestMove().getPieceState(), result.getBestMove().getTo(),
+                        result.getScore(), result.getNodes(), elapsed / 1_000_000, result.getNodesPerSecond(),
+                        (double) singleThreadElapsed / elapsed));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package model.search;
+
+import model.Colour;
+import model.PieceType;
+import model.Square;
+import model.pieces.EndgameHelper;
+import model.pieces.LegalMoveGenerator;
+import model.pieces.PieceBitboards;
+import model.pieces.PiecesMover;
+import model.pieces.PiecesState;
+import model.util.MoveList;
+import model.util.PackedMove;
+import model.util.Zobrist;
+
+/**
+ * Searches for the best move using alpha-beta negamax with iterative deepening: the position is searched to depth 1,
+ * then depth 2, and so on until a limit is reached, trying the best move of the previous depth first each time. Moves
+ * are made and unmade through a PiecesMover. At the end of the main search only captures are searched, so that the
+ * position is not scored in the middle of an exchange of pieces. Positions already searched are looked up in a
+ * TranspositionTable, which may be kept between searches and shared with searches on other threads.
+ */
+public class Search {
+
+    /**
+     * Deepest number of half-moves from the root a search can reach, including captures searched at the end
+     */
+    public static final int MAX_PLY = 128;
+
+    /**
+     * Score greater than any real score, used as the initial search window
+     */
+    private static final int INFINITY = Evaluation.MATE_SCORE + 1;
+
+    /**
+     * Number of positions visited between checks of the time limit
+     */
+    private static final int NODES_BETWEEN_TIME_CHECKS = 1024;
+
+    /**
+     * Stands for no move where a packed move is expected, as no real move is from and to the same square
+     */
+    private static final int NO_MOVE = 0;
+
+    /**
+     * Makes and unmakes the moves being searched
+     */
+    private final PiecesMover piecesMover;
+
+    /**
+     * Finds the moves that can be made from each position
+     */
+    private final LegalMoveGenerator legalMoveGenerator;
+
+    /**
+     * Detects positions where neither team can win
+     */
+    private final EndgameHelper endgameHelper;
+
+    /**
+     * Moves of the position at each ply, reused so that generating moves does not create objects
+     */
+    private final MoveList[] moveLists;
+
+    /**
+     * Results of positions already searched
+     */
+    private final TranspositionTable transpositionTable;
+
+    /**
+     * XOR-ed with the PiecesMover's key to give the key of the position with the correct colour to move, as the
+     * PiecesMover may have been set up with the other colour to move
+     */
+    private long keyCorrection;
+
+    /**
+     * State of the search in progress
+     */
+    private long nodes;
+    private long maxNodes;
+    private long startTime;
+    private long timeBudgetNanos;
+    private boolean aborted;
+
+    /**
+     * Set by another thread to stop the search early
+     */
+    private volatile boolean stopRequested;
+
+    /**
+     * Sets up a search from the given position.
+     * @param piecesState
+     */
+    public Search(PiecesState piecesState) {
+        this(new PiecesMover(piecesState));
+    }
+
+    /**
+     * Sets up a search from the current position of the given PiecesMover, with its own transposition table.
+     * @param piecesMover
+     */
+    public Search(PiecesMover piecesMover) {
+        this(piecesMover, new TranspositionTable());
+    }
+
+    /**
+     * Sets up a search from the current position of the given PiecesMover, which is used to make the moves. The
+     * PiecesMover is back in the same position once the search returns.
+     * @param piecesMover
+     * @param transpositionTable to look up and store searched positions in, which may be shared
+     */
+    public Search(PiecesMover piecesMover, TranspositionTable transpositionTable) {
+        this.piecesMover = piecesMover;
+        this.transpositionTable = transpositionTable;
+        legalMoveGenerator = new LegalMoveGenerator();
+        endgameHelper = new EndgameHelper();
+        moveLists = new MoveList[MAX_PLY + 1];
+        for (int ply = 0; ply <= MAX_PLY; ply++) {
+            moveLists[ply] = new MoveList();
+        }
+    }
+
+    /**
+     * Searches for the best move for the given colour, deepening the search until a limit is reached. The result of
+     * the deepest completed depth is returned. If a limit is reached before depth 1 is completed, the best move whose
+     * search was finished is returned, or the first move in search order if there is none, with depth 0.
+     * @param colour to move
+     * @param limits on the search
+     * @return best move found, with its score and statistics about the search
+     */
+    public SearchResult search(Colour colour, SearchLimits limits) {
+        transpositionTable.newSearch();
+        return search(colour, limits, 1);
+    }
+
+    /**
+     * Searches for the best move for the given colour, starting the iterative deepening at the given depth. Only
+     * when starting at depth 1 is a best move guaranteed. The transposition table is not told a new search has
+     * started, as other searches may be running on the same position.
+     * @param colour to move
+     * @param limits on the search
+     * @param firstDepth depth of the first iteration
+     * @return best move found, with its score and statistics about the search
+     */
+    SearchResult search(Colour colour, SearchLimits limits, int firstDepth) {
+        startTime = System.nanoTime();
+        nodes = 0;
+        maxNodes = limits.getMaxNodes();
+        timeBudgetNanos = limits.getTimeBudgetMillis() >= Long.MAX_VALUE / 1_000_000
+                ? Long.MAX_VALUE : limits.getTimeBudgetMillis() * 1_000_000;
+        aborted = stopRequested;
+        keyCorrection = Zobrist.key(piecesMover.getBitboards(), colour) ^ piecesMover.getZobristKey();
+
+        // A previous search may have left a best move for this position
+        long rootKey = getKey();
+        long rootEntry = transpositionTable.probe(rootKey);
+        MoveList rootMoves = moveLists[0];
+        legalMoveGenerator.generateLegalMoves(colour, piecesMover.getBitboards(), rootMoves);
+        orderMoves(rootMoves, rootEntry);
+        int bestMove = rootMoves.isEmpty() ? NO_MOVE : rootMoves.get(0);
+        int bestScore = rootMoves.isEmpty() ? scoreNoMoves(colour, 0) : 0;
+        int depthReached = 0;
+
+        int maxDepth = Math.min(limits.getMaxDepth(), MAX_PLY);
+        for (int depth = firstDepth; depth <= maxDepth && !rootMoves.isEmpty(); depth++) {
+            int iterationBestMove = NO_MOVE;
+            int alpha = -INFINITY;
+            for (int i = 0; i < rootMoves.size() && !aborted; i++) {
+                int move = rootMoves.get(i);
+                piecesMover.makeMove(move);
+                int score = -negamax(getOpponent(colour), depth - 1, 1, -INFINITY, -alpha);
+                piecesMover.unmakeMove();
+
+                // The score of a move whose search was cut short is meaningless
+                if (!aborted && score > alpha) {
+                    alpha = score;
+                    iterationBestMove = move;
+                }
+            }
+            if (aborted) {
+                // Without a finished depth, the best move whose search was finished is better than an arbitrary one
+                if (depthReached == 0 && iterationBestMove != NO_MOVE) {
+                    bestMove = iterationBestMove;
+                    bestScore = alpha;
+                }
+                break;
+            }
+            bestMove = iterationBestMove;
+            bestScore = alpha;
+            depthReached = depth;
+            transpositionTable.store(rootKey, depth, TranspositionTable.EXACT, bestScore,
+                    PackedMove.getFrom(bestMove), PackedMove.getTo(bestMove));
+
+            // Search the best move first at the next depth, and stop once a forced mate has been found
+            for (int i = 0; i < rootMoves.size(); i++) {
+                rootMoves.setScore(i, rootMoves.get(i) == bestMove ? 1 : 0);
+            }
+            rootMoves.sortByScore();
+            if (Math.abs(bestScore) >= Evaluation.MATE_SCORE - MAX_PLY) {
+                break;
+            }
+        }
+        return new SearchResult(bestMove == NO_MOVE ? null : PackedMove.unpack(bestMove), bestScore, depthReached,
+                nodes, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Stops the search as soon as possible, from any thread. The search returns the result of the deepest depth
+     * completed so far, or depth 0 if no depth was completed (see search()).
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Scores a position by searching the given number of half-moves ahead.
+     * @param colour to move
+     * @param depth half-moves left to search before only captures are searched
+     * @param ply half-moves from the root
+     * @param alpha score the colour to move is already guaranteed
+     * @param beta score the opponent is already guaranteed, negated
+     * @return score of the position for the colour to move, between alpha and beta
+     */
+    private int negamax(Colour colour, int depth, int ply, int alpha, int beta) {
+        if (depth <= 0 || ply >= MAX_PLY) {
+            return quiesce(colour, ply, alpha, beta);
+        }
+        if (countNode()) {
+            return 0;
+        }
+        PieceBitboards bitboards = piecesMover.getBitboards();
+        if (endgameHelper.hasInsufficientMaterial(bitboards)) {
+            return 0;
+        }
+
+        // A stored score can be used if it was searched at least as deep and is within the window
+        long key = getKey();
+        long entry = transpositionTable.probe(key);
+        if (entry != TranspositionTable.NO_ENTRY && TranspositionTable.getDepth(entry) >= depth) {
+            int score = fromStoredScore(TranspositionTable.getScore(entry), ply);
+            int bound = TranspositionTable.getBound(entry);
+            if (bound == TranspositionTable.EXACT) {
+                return Math.max(alpha, Math.min(score, beta));
+            }
+            if (bound == TranspositionTable.LOWER_BOUND && score >= beta) {
+                return beta;
+            }
+            if (bound == TranspositionTable.UPPER_BOUND && score <= alpha) {
+                return alpha;
+            }
+        }
+
+        MoveList moves = moveLists[ply];
+        legalMoveGenerator.generateLegalMoves(colour, bitboards, moves);
+        if (moves.isEmpty()) {
+            return scoreNoMoves(colour, ply);
+        }
+        orderMoves(moves, entry);
+        int bestMove = NO_MOVE;
+        int bound = TranspositionTable.UPPER_BOUND;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            piecesMover.makeMove(move);
+            int score = -negamax(getOpponent(colour), depth - 1, ply + 1, -beta, -alpha);
+            piecesMover.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+            if (score >= beta) {
+                store(key, depth, TranspositionTable.LOWER_BOUND, beta, ply, move);
+                return beta;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+                bound = TranspositionTable.EXACT;
+            }
+        }
+        store(key, depth, bound, alpha, ply, bestMove);
+        return alpha;
+    }
+
+    /**
+     * Scores a position by searching only captures, until there are no captures that improve the score.
+     * @param colour to move
+     * @param ply half-moves from the root
+     * @param alpha score the colour to move is already guaranteed
+     * @param beta score the opponent is already guaranteed, negated
+     * @return score of the position for the colour to move, between alpha and beta
+     */
+    private int quiesce(Colour colour, int ply, int alpha, int beta) {
+        if (countNode()) {
+            return 0;
+        }
+        PieceBitboards bitboards = piecesMover.getBitboards();
+
+        // The colour to move can usually do at least as well as the current score by not capturing
+        int standPat = Evaluation.evaluate(piecesMover, colour);
+        if (standPat >= beta || ply >= MAX_PLY) {
+            return standPat >= beta ? beta : standPat;
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+
+        MoveList moves = moveLists[ply];
+        legalMoveGenerator.generateLegalMoves(colour, bitboards, moves);
+        if (moves.isEmpty()) {
+            return scoreNoMoves(colour, ply);
+        }
+        orderMoves(moves, TranspositionTable.NO_ENTRY);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (!PackedMove.isCapture(move)) {
+                // Captures are ordered first, so there are no more captures
+                break;
+            }
+            piecesMover.makeMove(move);
+            int score = -quiesce(getOpponent(colour), ply + 1, -beta, -alpha);
+            piecesMover.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+            if (score >= beta) {
+                return beta;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+        }
+        return alpha;
+    }
+
+    /**
+     * @return key of the current position, including which colour is to move
+     */
+    private long getKey() {
+        return piecesMover.getZobristKey() ^ keyCorrection;
+    }
+
+    /**
+     * Stores the result of searching a position in the transposition table.
+     * @param key of the position
+     * @param depth searched
+     * @param bound kind of score
+     * @param score of the position
+     * @param ply half-moves from the root
+     * @param bestMove packed move found, or NO_MOVE if no move raised alpha
+     */
+    private void store(long key, int depth, int bound, int score, int ply, int bestMove) {
+        if (bestMove == NO_MOVE) {
+            transpositionTable.store(key, depth, bound, toStoredScore(score, ply), Square.NONE, Square.NONE);
+            return;
+        }
+        transpositionTable.store(key, depth, bound, toStoredScore(score, ply), PackedMove.getFrom(bestMove),
+                PackedMove.getTo(bestMove));
+    }
+
+    /**
+     * Mate scores count half-moves from the root, but a position may be reached at different distances from the
+     * root, so they are stored counting half-moves from the position instead.
+     * @param score counting from the root
+     * @param ply half-moves from the root
+     * @return score counting from the position
+     */
+    private int toStoredScore(int score, int ply) {
+        if (score >= Evaluation.MATE_SCORE - MAX_PLY) {
+            return score + ply;
+        }
+        if (score <= -Evaluation.MATE_SCORE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * @param score counting from the position
+     * @param ply half-moves from the root
+     * @return score counting from the root
+     */
+    private int fromStoredScore(int score, int ply) {
+        if (score >= Evaluation.MATE_SCORE - MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -Evaluation.MATE_SCORE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * @param colour to move
+     * @param ply half-moves from the root
+     * @return score for a position where the colour to move has no legal moves, ie. checkmate or stalemate
+     */
+    private int scoreNoMoves(Colour colour, int ply) {
+        if (endgameHelper.isInCheck(colour, piecesMover.getBitboards())) {
+            return -Evaluation.MATE_SCORE + ply;
+        }
+        return 0;
+    }
+
+    /**
+     * Orders moves so that the best move stored for the position comes first, followed by captures, taking the most
+     * valuable pieces with the least valuable pieces first, as these are most likely to be good moves and cut off the
+     * search early.
+     * @param moves to sort in place
+     * @param entry stored for the position, or TranspositionTable.NO_ENTRY
+     */
+    private void orderMoves(MoveList moves, long entry) {
+        Square hashFrom = TranspositionTable.getBestMoveFrom(entry);
+        Square hashTo = TranspositionTable.getBestMoveTo(entry);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (PackedMove.getFrom(move) == hashFrom && PackedMove.getTo(move) == hashTo) {
+                moves.setScore(i, Integer.MAX_VALUE);
+            } else {
+                moves.setScore(i, getCaptureOrder(move));
+            }
+        }
+        moves.sortByScore();
+    }
+
+    /**
+     * @param move packed move
+     * @return order of the move, higher for better captures and 0 if the move is not a capture
+     */
+    private int getCaptureOrder(int move) {
+        PieceType captured = PackedMove.getCaptured(move);
+        if (captured == null) {
+            return 0;
+        }
+        return Evaluation.getPieceValue(captured) * 10 - Evaluation.getPieceValue(PackedMove.getType(move))
+                + Evaluation.getPieceValue(PieceType.QUEEN);
+    }
+
+    /**
+     * Counts a visited position and checks whether the search has run out of nodes or time, or has been stopped.
+     * Positions are no longer counted once the search must stop, so the node limit is never exceeded. Time is checked
+     * by comparing the elapsed time with the budget, as System.nanoTime() may be close to overflowing.
+     * @return true if the search must stop
+     */
+    private boolean countNode() {
+        if (aborted) {
+            return true;
+        }
+        nodes++;
+        if (nodes >= maxNodes || (nodes % NODES_BETWEEN_TIME_CHECKS == 0
+                && (stopRequested || System.nanoTime() - startTime >= timeBudgetNanos))) {
+            aborted = true;
+        }
+        return aborted;
+    }
+
+    /**
+     * @param colour
+     * @return opponent colour
+     */
+    private Colour getOpponent(Colour colour) {
+        return colour == Colour.WHITE ? Colour.BLACK : Colour.WHITE;
+    }
+}
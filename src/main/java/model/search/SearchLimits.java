@@ -0,0 +1,53 @@
+package model.search;
+
+/**
+ * Immutable limits on how long a search may run. The search stops at whichever limit is reached first.
+ */
+public class SearchLimits {
+
+    /**
+     * Deepest depth, in half-moves, to search to
+     */
+    private final int maxDepth;
+
+    /**
+     * Time the search may take, in milliseconds
+     */
+    private final long timeBudgetMillis;
+
+    /**
+     * Number of positions the search may visit
+     */
+    private final long maxNodes;
+
+    /**
+     * @param maxDepth deepest depth, in half-moves, to search to
+     * @param timeBudgetMillis time the search may take, in milliseconds
+     * @param maxNodes number of positions the search may visit
+     */
+    public SearchLimits(int maxDepth, long timeBudgetMillis, long maxNodes) {
+        this.maxDepth = maxDepth;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * @param maxDepth deepest depth, in half-moves, to search to
+     * @return limits with only a depth limit
+     */
+    public static SearchLimits depth(int maxDepth) {
+        return new SearchLimits(maxDepth, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+}
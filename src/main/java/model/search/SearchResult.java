@@ -0,0 +1,78 @@
+package model.search;
+
+import model.Move;
+
+/**
+ * Immutable result of a search for the best move.
+ */
+public class SearchResult {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Best move found, or null if there are no legal moves
+     */
+    private final Move bestMove;
+
+    /**
+     * Score of the best move from the point of view of the colour to move, in centipawns (see Evaluation)
+     */
+    private final int score;
+
+    /**
+     * Deepest depth, in half-moves, that was searched completely
+     */
+    private final int depth;
+
+    /**
+     * Number of positions visited
+     */
+    private final long nodes;
+
+    /**
+     * Time the search took, in nanoseconds
+     */
+    private final long elapsedNanos;
+
+    public SearchResult(Move bestMove, int score, int depth, long nodes, long elapsedNanos) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Move getBestMove() {
+        return bestMove;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return number of positions visited per second
+     */
+    public long getNodesPerSecond() {
+        return nodes * NANOS_PER_SECOND / Math.max(elapsedNanos, 1);
+    }
+
+    /**
+     * @return true if the score means the colour to move can force checkmate
+     */
+    public boolean isMateFound() {
+        return score >= Evaluation.MATE_SCORE - Search.MAX_PLY;
+    }
+}
@@ -0,0 +1,33 @@
+package model.search;
+
+import model.Colour;
+import model.perft.ReferencePosition;
+import model.util.Fen;
+
+/**
+ * Searches every reference position for a fixed time, printing the best move, the depth reached and the number of
+ * nodes per second, so the hardware needed for a computer opponent can be sized.
+ *
+ * Usage: SearchRunner [time budget in milliseconds]
+ */
+public class SearchRunner {
+
+    private static final long DEFAULT_TIME_BUDGET_MILLIS = 5000;
+
+    public static void main(String[] args) {
+        long timeBudgetMillis = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_TIME_BUDGET_MILLIS;
+
+        for (ReferencePosition position : ReferencePosition.values()) {
+            System.out.println(String.format("%s: %s", position, position.getFen()));
+            Search search = new Search(Fen.parsePieces(position.getFen()));
+            Colour colour = Fen.parseColourToMove(position.getFen());
+
+            SearchResult result = search.search(colour,
+                    new SearchLimits(Search.MAX_PLY, timeBudgetMillis, Long.MAX_VALUE));
+            System.out.println(String.format("  best move %s to %s, score %d, depth %d: %d nodes in %d ms, %d nodes/s",
+                    result.getBestMove().getPieceState(), result.getBestMove().getTo(), result.getScore(),
+                    result.getDepth(), result.getNodes(), result.getElapsedNanos() / 1_000_000,
+                    result.getNodesPerSecond()));
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package model.search;
+
+import model.Square;
+import model.exception.ChessException;
+import model.util.Bitboards;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size table of positions already searched, keyed by Zobrist key, so that a position reached again by a
+ * different order of moves, or in a later search, need not be searched again. Entries are packed into a long[] to
+ * avoid allocating an object per position.
+ *
+ * The table may be shared by searches on several threads without locking. Each entry is stored as two longs: the
+ * packed data, and the key XOR-ed with the data. Another thread may write between the two longs being read, but a
+ * torn entry then fails the XOR check and is treated as missing, rather than returning data for the wrong position.
+ */
+public class TranspositionTable {
+
+    /**
+     * Size of the table in megabytes unless the "chess.transpositionTableSizeMb" system property is set
+     */
+    public static final int DEFAULT_SIZE_MB = 16;
+
+    /**
+     * Returned by probe when the position is not in the table
+     */
+    public static final long NO_ENTRY = 0;
+
+    /**
+     * Kinds of score stored: the exact score, or a bound on the score where the search was cut off
+     */
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int BYTES_PER_ENTRY = LONGS_PER_ENTRY * Long.BYTES;
+    private static final long BYTES_PER_MB = 1024 * 1024;
+
+    /**
+     * Largest number of entries, so that the array length stays within an int
+     */
+    private static final int MAX_ENTRIES = 1 << 29;
+
+    /**
+     * Layout of the packed data: score in the low 32 bits, then depth, bound, best move and generation
+     */
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int FROM_SHIFT = 42;
+    private static final int TO_SHIFT = 48;
+    private static final int HAS_MOVE_SHIFT = 54;
+    private static final int GENERATION_SHIFT = 55;
+    private static final long DEPTH_MASK = 0xFF;
+    private static final long BOUND_MASK = 0x3;
+    private static final long SQUARE_MASK = 0x3F;
+    private static final long GENERATION_MASK = 0xFF;
+
+    /**
+     * Entries, each as the key XOR-ed with the data followed by the data
+     */
+    private final long[] table;
+
+    /**
+     * Mask of the key bits used to choose an entry, as the number of entries is a power of two
+     */
+    private final int indexMask;
+
+    /**
+     * Number of the current search, so entries left over from earlier searches are replaced first
+     */
+    private volatile int generation;
+
+    /**
+     * @param sizeMb memory the table may use, in megabytes, rounded down to a power of two number of entries
+     */
+    public TranspositionTable(int sizeMb) {
+        if (sizeMb <= 0) {
+            throw new ChessException(String.format("Transposition table size must be positive, not %d MB.", sizeMb)); // TODO log
+        }
+        long entries = Math.min(Long.highestOneBit(sizeMb * BYTES_PER_MB / BYTES_PER_ENTRY), MAX_ENTRIES);
+        table = new long[(int) entries * LONGS_PER_ENTRY];
+        indexMask = (int) entries - 1;
+    }
+
+    /**
+     * Creates a table of the size given by the "chess.transpositionTableSizeMb" system property, or the default size.
+     */
+    public TranspositionTable() {
+        this(Integer.getInteger("chess.transpositionTableSizeMb", DEFAULT_SIZE_MB));
+    }
+
+    /**
+     * Entries are keyed by position, so searches in different games can share a table, and the memory used stays the
+     * same however many games are searched. The table is only created when first used.
+     * @return table shared by searches that are not given their own table, of the default size
+     */
+    public static TranspositionTable getShared() {
+        return SharedHolder.SHARED;
+    }
+
+    /**
+     * @param zobristKey of the position
+     * @return packed entry for the position, or NO_ENTRY if it is not in the table
+     */
+    public long probe(long zobristKey) {
+        int index = getIndex(zobristKey);
+        long check = table[index];
+        long data = table[index + 1];
+        if ((check ^ data) != zobristKey) {
+            return NO_ENTRY;
+        }
+        return data;
+    }
+
+    /**
+     * Stores the result of searching a position. An entry for another position is replaced unless it is from the
+     * current search and was searched deeper.
+     * @param zobristKey of the position
+     * @param depth searched, in half-moves
+     * @param bound whether the score is EXACT, a LOWER_BOUND or an UPPER_BOUND
+     * @param score of the position for the colour to move
+     * @param from square of the best move, or Square.NONE if there is no best move
+     * @param to square of the best move, or Square.NONE if there is no best move
+     */
+    public void store(long zobristKey, int depth, int bound, int score, Square from, Square to) {
+        int index = getIndex(zobristKey);
+        long existing = table[index + 1];
+        if ((table[index] ^ existing) != zobristKey && getGeneration(existing) == generation
+                && getDepth(existing) > depth) {
+            return;
+        }
+
+        long data = (score & 0xFFFFFFFFL)
+                | (Math.min(depth, DEPTH_MASK) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((generation & GENERATION_MASK) << GENERATION_SHIFT);
+        if (from != Square.NONE && to != Square.NONE) {
+            data |= ((long) Bitboards.index(from) << FROM_SHIFT)
+                    | ((long) Bitboards.index(to) << TO_SHIFT)
+                    | (1L << HAS_MOVE_SHIFT);
+        }
+        table[index] = zobristKey ^ data;
+        table[index + 1] = data;
+    }
+
+    /**
+     * Starts a new search, so that entries from earlier searches are kept for their best moves and scores but are
+     * replaced first.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & (int) GENERATION_MASK;
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+    }
+
+    /**
+     * @return number of positions the table can hold
+     */
+    public int getCapacity() {
+        return indexMask + 1;
+    }
+
+    /**
+     * @param entry returned by probe
+     * @return score stored in the entry
+     */
+    public static int getScore(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * @param entry returned by probe
+     * @return depth stored in the entry
+     */
+    public static int getDepth(long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & DEPTH_MASK);
+    }
+
+    /**
+     * @param entry returned by probe
+     * @return EXACT, LOWER_BOUND or UPPER_BOUND
+     */
+    public static int getBound(long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & BOUND_MASK);
+    }
+
+    /**
+     * @param entry returned by probe
+     * @return square the best move stored in the entry is from, or Square.NONE if there is no best move
+     */
+    public static Square getBestMoveFrom(long entry) {
+        return hasBestMove(entry) ? Bitboards.square((int) ((entry >>> FROM_SHIFT) & SQUARE_MASK)) : Square.NONE;
+    }
+
+    /**
+     * @param entry returned by probe
+     * @return square the best move stored in the entry is to, or Square.NONE if there is no best move
+     */
+    public static Square getBestMoveTo(long entry) {
+        return hasBestMove(entry) ? Bitboards.square((int) ((entry >>> TO_SHIFT) & SQUARE_MASK)) : Square.NONE;
+    }
+
+    private static boolean hasBestMove(long entry) {
+        return ((entry >>> HAS_MOVE_SHIFT) & 1) != 0;
+    }
+
+    private static int getGeneration(long entry) {
+        return (int) ((entry >>> GENERATION_SHIFT) & GENERATION_MASK);
+    }
+
+    /**
+     * @param zobristKey
+     * @return index in the table of the first long of the key's entry
+     */
+    private int getIndex(long zobristKey) {
+        return ((int) zobristKey & indexMask) * LONGS_PER_ENTRY;
+    }
+
+    /**
+     * Holds the shared table, so that it is only created when first used
+     */
+    private static class SharedHolder {
+        private static final TranspositionTable SHARED = new TranspositionTable();
+    }
+}
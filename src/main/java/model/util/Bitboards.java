@@ -0,0 +1,156 @@
+package model.util;
+
+import model.Square;
+
+/**
+ * Utility class for working with bitboards: 64-bit masks with one bit per square of the chess board. The bit for a
+ * square is given by its index, which is its ordinal minus one, so A1=0, A2=1, ..., A8=7, B1=8, ..., H8=63. Moving
+ * one row north therefore shifts a bitboard left by one and moving one column east shifts it left by eight.
+ */
+public class Bitboards {
+
+    public static final int NUM_SQUARES = Square.NUM_ROWS * Square.NUM_SQUARES_IN_ROW;
+
+    public static final long EMPTY = 0L;
+
+    /**
+     * Squares in row 1 and row 8
+     */
+    public static final long ROW_1 = 0x0101010101010101L;
+    public static final long ROW_8 = 0x8080808080808080L;
+
+    /**
+     * Squares in row 2 and row 7, ie. the starting rows of the white and black pawns
+     */
+    public static final long ROW_2 = ROW_1 << 1;
+    public static final long ROW_7 = ROW_8 >>> 1;
+
+    /**
+     * Light squares of the board, eg. A2 and B1. A1 is a dark square.
+     */
+    public static final long LIGHT_SQUARES = 0x55AA55AA55AA55AAL;
+
+    /**
+     * Squares on the board, indexed by their bit index
+     */
+    private static final Square[] SQUARES = new Square[NUM_SQUARES];
+
+    static {
+        for (Square square : Square.values()) {
+            if (square != Square.NONE) {
+                SQUARES[index(square)] = square;
+            }
+        }
+    }
+
+    private Bitboards() {
+    }
+
+    /**
+     * @param square
+     * @return bit index of the square between 0 and 63 inclusive, or -1 if the square is Square.NONE
+     */
+    public static int index(Square square) {
+        return square.ordinal() - 1;
+    }
+
+    /**
+     * @param index between 0 and 63 inclusive
+     * @return square with the given bit index
+     */
+    public static Square square(int index) {
+        return SQUARES[index];
+    }
+
+    /**
+     * @param square
+     * @return bitboard with only the given square set, or an empty bitboard if the square is Square.NONE
+     */
+    public static long bit(Square square) {
+        if (square == Square.NONE) {
+            return EMPTY;
+        }
+        return 1L << index(square);
+    }
+
+    /**
+     * @param bitboard
+     * @param square
+     * @return true if the square is set in the bitboard
+     */
+    public static boolean contains(long bitboard, Square square) {
+        return (bitboard & bit(square)) != 0;
+    }
+
+    /**
+     * Shifts every square in the bitboard one row north, where row 1 is south and row 8 is north.
+     * @param bitboard
+     * @return shifted bitboard
+     */
+    public static long north(long bitboard) {
+        return (bitboard << 1) & ~ROW_1;
+    }
+
+    /**
+     * Shifts every square in the bitboard one row south, where row 1 is south and row 8 is north.
+     * @param bitboard
+     * @return shifted bitboard
+     */
+    public static long south(long bitboard) {
+        return (bitboard >>> 1) & ~ROW_8;
+    }
+
+    /**
+     * Shifts every square in the bitboard one column east, where column A is west and column H is east.
+     * @param bitboard
+     * @return shifted bitboard
+     */
+    public static long east(long bitboard) {
+        return bitboard << Square.NUM_ROWS;
+    }
+
+    /**
+     * Shifts every square in the bitboard one column west, where column A is west and column H is east.
+     * @param bitboard
+     * @return shifted bitboard
+     */
+    public static long west(long bitboard) {
+        return bitboard >>> Square.NUM_ROWS;
+    }
+
+    /**
+     * Shifts every square in the bitboard one square northeast.
+     * @param bitboard
+     * @return shifted bitboard
+     */
+    public static long northEast(long bitboard) {
+        return east(north(bitboard));
+    }
+
+    /**
+     * Shifts every square in the bitboard one square northwest.
+     * @param bitboard
+     * @return shifted bitboard
+     */
+    public static long northWest(long bitboard) {
+        return west(north(bitboard));
+    }
+
+    /**
+     * Shifts every square in the bitboard one square southeast.
+     * @param bitboard
+     * @return shifted bitboard
+     */
+    public static long southEast(long bitboard) {
+        return east(south(bitboard));
+    }
+
+    /**
+     * Shifts every square in the bitboard one square southwest.
+     * @param bitboard
+     * @return shifted bitboard
+     */
+    public static long southWest(long bitboard) {
+        return west(south(bitboard));
+    }
+}
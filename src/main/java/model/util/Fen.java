@@ -0,0 +1,95 @@
+package model.util;
+
+import model.Colour;
+import model.PieceType;
+import model.Square;
+import model.exception.ChessException;
+import model.piece.PieceState;
+import model.pieces.PiecesState;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reads positions written in Forsyth-Edwards Notation, eg. "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w". Only
+ * the piece placement and the side to move are read, as castling, en passant and move counts are not tracked.
+ */
+public class Fen {
+
+    private Fen() {
+    }
+
+    /**
+     * @param fen
+     * @return states of the pieces placed by the first field of the FEN
+     * @throws ChessException if the piece placement is not valid
+     */
+    public static PiecesState parsePieces(String fen) {
+        String[] rows = fen.trim().split(" ")[0].split("/");
+        if (rows.length != Square.NUM_ROWS) {
+            throw new ChessException(String.format("FEN %s does not have %d rows.", fen, Square.NUM_ROWS)); // TODO log
+        }
+
+        Set<PieceState> pieceStates = new HashSet<>();
+        for (int i = 0; i < rows.length; i++) {
+            // Rows are listed from row 8 down to row 1
+            int rowNumber = Square.NUM_ROWS - i;
+            int letterNumber = 1;
+            for (char symbol : rows[i].toCharArray()) {
+                if (Character.isDigit(symbol)) {
+                    letterNumber += symbol - '0';
+                    continue;
+                }
+                if (letterNumber > Square.NUM_SQUARES_IN_ROW) {
+                    throw new ChessException(String.format("FEN %s has too many squares in row %d.", fen, rowNumber)); // TODO log
+                }
+                Colour colour = Character.isUpperCase(symbol) ? Colour.WHITE : Colour.BLACK;
+                pieceStates.add(PieceState.of(parseType(symbol, fen), colour, Square.byPosition(rowNumber, letterNumber)));
+                letterNumber++;
+            }
+            if (letterNumber > Square.NUM_SQUARES_IN_ROW + 1) {
+                throw new ChessException(String.format("FEN %s has too many squares in row %d.", fen, rowNumber)); // TODO log
+            }
+            if (letterNumber <= Square.NUM_SQUARES_IN_ROW) {
+                throw new ChessException(String.format("FEN %s has too few squares in row %d.", fen, rowNumber)); // TODO log
+            }
+        }
+        return new PiecesState(pieceStates);
+    }
+
+    /**
+     * @param fen
+     * @return colour to move given by the second field of the FEN, or white if there is no second field
+     */
+    public static Colour parseColourToMove(String fen) {
+        String[] fields = fen.trim().split(" ");
+        if (fields.length > 1 && fields[1].equals("b")) {
+            return Colour.BLACK;
+        }
+        return Colour.WHITE;
+    }
+
+    /**
+     * @param symbol letter of the piece, in either case
+     * @param fen being parsed
+     * @return type of piece the letter stands for
+     * @throws ChessException if the letter does not stand for a piece
+     */
+    private static PieceType parseType(char symbol, String fen) {
+        switch (Character.toLowerCase(symbol)) {
+            case 'p':
+                return PieceType.PAWN;
+            case 'r':
+                return PieceType.CASTLE;
+            case 'n':
+                return PieceType.KNIGHT;
+            case 'b':
+                return PieceType.BISHOP;
+            case 'q':
+                return PieceType.QUEEN;
+            case 'k':
+                return PieceType.KING;
+        }
+        throw new ChessException(String.format("FEN %s contains unknown piece %s.", fen, symbol)); // TODO log
+    }
+}
@@ -0,0 +1,69 @@
+package model.util;
+
+import model.Colour;
+
+/**
+ * Precomputed attack tables for knights, kings and pawns, indexed by square index (see Bitboards). The tables are
+ * filled once when the class is loaded, so calculating the squares one of these pieces attacks is a single array
+ * read.
+ */
+public class LeaperAttacks {
+
+    private static final long[] KNIGHT_ATTACKS = new long[Bitboards.NUM_SQUARES];
+    private static final long[] KING_ATTACKS = new long[Bitboards.NUM_SQUARES];
+
+    /**
+     * Squares attacked by a pawn, indexed by Colour.ordinal() then square index
+     */
+    private static final long[][] PAWN_ATTACKS = new long[Colour.values().length][Bitboards.NUM_SQUARES];
+
+    static {
+        for (int index = 0; index < Bitboards.NUM_SQUARES; index++) {
+            long piece = 1L << index;
+
+            // Squares one column east or west of the knight, then two rows north or south, and squares two columns
+            // east or west of the knight, then one row north or south
+            long oneColumn = Bitboards.east(piece) | Bitboards.west(piece);
+            long twoColumns = Bitboards.east(Bitboards.east(piece)) | Bitboards.west(Bitboards.west(piece));
+            KNIGHT_ATTACKS[index] = Bitboards.north(Bitboards.north(oneColumn))
+                    | Bitboards.south(Bitboards.south(oneColumn))
+                    | Bitboards.north(twoColumns) | Bitboards.south(twoColumns);
+
+            // Adjacent squares
+            long row = piece | Bitboards.east(piece) | Bitboards.west(piece);
+            KING_ATTACKS[index] = (row | Bitboards.north(row) | Bitboards.south(row)) & ~piece;
+
+            // Squares diagonally forwards, where white pawns move north and black pawns move south
+            PAWN_ATTACKS[Colour.WHITE.ordinal()][index] = Bitboards.northEast(piece) | Bitboards.northWest(piece);
+            PAWN_ATTACKS[Colour.BLACK.ordinal()][index] = Bitboards.southEast(piece) | Bitboards.southWest(piece);
+        }
+    }
+
+    private LeaperAttacks() {
+    }
+
+    /**
+     * @param index of the knight's square
+     * @return squares in an L shape from the knight
+     */
+    public static long knightAttacks(int index) {
+        return KNIGHT_ATTACKS[index];
+    }
+
+    /**
+     * @param index of the king's square
+     * @return squares adjacent to the king
+     */
+    public static long kingAttacks(int index) {
+        return KING_ATTACKS[index];
+    }
+
+    /**
+     * @param colour of the pawn
+     * @param index of the pawn's square
+     * @return squares diagonally forwards of the pawn
+     */
+    public static long pawnAttacks(Colour colour, int index) {
+        return PAWN_ATTACKS[colour.ordinal()][index];
+    }
+}
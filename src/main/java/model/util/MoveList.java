@@ -0,0 +1,95 @@
+package model.util;
+
+import model.exception.ChessException;
+
+/**
+ * Reusable list of packed moves (see PackedMove) backed by an int[], so that moves can be generated into it again
+ * and again without creating objects. Each move can be given a score so the list can be sorted, eg. to search the
+ * most promising moves first.
+ */
+public class MoveList {
+
+    /**
+     * More than the number of legal moves in any reachable position
+     */
+    public static final int CAPACITY = 256;
+
+    private final int[] moves;
+    private final int[] scores;
+    private int size;
+
+    public MoveList() {
+        moves = new int[CAPACITY];
+        scores = new int[CAPACITY];
+    }
+
+    /**
+     * Adds a move with a score of 0.
+     * @param move packed move
+     * @throws ChessException if the list already holds CAPACITY moves, which only happens in unreachable positions
+     */
+    public void add(int move) {
+        if (size == CAPACITY) {
+            throw new ChessException(String.format("Cannot hold more than %d moves.", CAPACITY)); // TODO log
+        }
+        moves[size] = move;
+        scores[size] = 0;
+        size++;
+    }
+
+    /**
+     * @param index
+     * @return packed move at the index
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * @param index of the move
+     * @param score used to sort the move
+     */
+    public void setScore(int index, int score) {
+        scores[index] = score;
+    }
+
+    /**
+     * Sorts the moves from the highest score to the lowest, keeping moves with equal scores in the order they were
+     * added. Lists of moves are short, so an insertion sort is used.
+     */
+    public void sortByScore() {
+        for (int i = 1; i < size; i++) {
+            int move = moves[i];
+            int score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                moves[j + 1] = moves[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            scores[j + 1] = score;
+        }
+    }
+
+    /**
+     * @return number of moves in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the list has no moves
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every move, keeping the array for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
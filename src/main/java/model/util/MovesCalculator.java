@@ -3,225 +3,91 @@ package model.util;
 import model.Colour;
 import model.PieceType;
 import model.Square;
+import model.SquareSet;
 import model.piece.PieceState;
+import model.pieces.PieceBitboards;
 import model.pieces.PiecesState;
-import util.CollectionUtil;
 
-import java.util.*;
-import java.util.function.Function;
+import java.util.Set;
 
 /**
- * Utility class for calculating which squares a piece can move to.
+ * Utility class for calculating which squares a piece can move to. Squares are calculated on bitboards (see
+ * Bitboards) so that no objects are created while calculating.
  */
 public class MovesCalculator {
 
-    private Set<Square> moveableSquares;
-    private Set<Square> threatenedSquares;
-    private HashMap<Square, Colour> colourLocations;
-    private Set<Square> kingLocations;
+    private long moveableSquares;
+    private long threatenedSquares;
 
     /**
-     * Whether a piece is available for a piece to move into.
+     * Squares whose contents were used to calculate the moveable and threatened squares. The result can only change
+     * if a piece moves onto or off one of these squares, or the piece being calculated for moves.
      */
-    private enum SquareAvailability {
-        EMPTY, // no piece in the square
-        AVAILABLE, // piece in the square that can be taken
-        BLOCKED // piece in the square that cannot be taken
-    }
-
-    public MovesCalculator() {
-        reset();
-    }
+    private long watchedSquares;
 
     /**
-     * Checks if a square with a given row and column number is inside the chess board.
-     * @param row
-     * @param column
-     * @return true if square is inside the board
+     * Squares that contain a piece
      */
-    private boolean isInsideGrid(int row, int column) {
-        return row > 0 && row <= Square.NUM_ROWS && column > 0 && column <= Square.NUM_SQUARES_IN_ROW;
-    }
+    private long occupiedSquares;
 
     /**
-     * Retrieves a square with the given row and column if it is inside the grid.
-     * @param row
-     * @param column
-     * @return an optional containing the square if it exists, an empty optional otherwise
+     * Squares that contain a piece that cannot be taken by the piece being calculated for, ie. kings and pieces of
+     * the same colour
      */
-    private Optional<Square> getSquare(int row, int column) {
-        if (isInsideGrid(row, column)) {
-            Square north = Square.byPosition(row, column);
-            return Optional.of(north);
-        }
-        return Optional.empty();
-    }
+    private long blockedSquares;
 
-    /**
-     * Retrieves the square directly north of the current square, where row 1 is south and row 8 is north.
-     * @param square
-     * @return an optional containing the northern square if it exists, otherwise an empty optional
-     */
-    private Optional<Square> getNorth(Square square) {
-        return getSquare(square.getRowNumber()+1, square.getLetterNumber());
-    }
-
-    /**
-     * Retrieves the square directly south of the current square, where row 1 is south and row 8 is noth.
-     * @param square
-     * @return an optional containing the southern square if it exists, otherwise an empty optional
-     */
-    private Optional<Square> getSouth(Square square) {
-        return getSquare(square.getRowNumber()-1, square.getLetterNumber());
-    }
-
-    /**
-     * Retrieves the square directly east of the current square, where column A is west and column H is east.
-     * @param square
-     * @return an optional containing the eastern square if it exists, otherwise an empty optional
-     */
-    private Optional<Square> getEast(Square square) {
-        return getSquare(square.getRowNumber(), square.getLetterNumber()+1);
-    }
-
-    /**
-     * Retrieves the square directly west of the current square, where column A is west and column H is east.
-     * @param square
-     * @return an optional containing the western square if it exists, otherwise an empty optional
-     */
-    private Optional<Square> getWest(Square square) {
-        return getSquare(square.getRowNumber(), square.getLetterNumber()-1);
-    }
-
-    /**
-     * Retrieves the square directly northeast of the current square, where H8 is the most
-     * northeastern square
-     * @param square
-     * @return an optional containing the northeastern square if it exists, otherwise an empty optional
-     */
-    private Optional<Square> getNorthEast(Square square) {
-        return getSquare(square.getRowNumber()+1, square.getLetterNumber()+1);
-    }
-
-    /**
-     * Retrieves the square directly northwest of the current square, where A8 is the most
-     * northwestern square
-     * @param square
-     * @return an optional containing the northwestern square if it exists, otherwise an empty optional
-     */
-    private Optional<Square> getNorthWest(Square square) {
-        return getSquare(square.getRowNumber()+1, square.getLetterNumber()-1);
-    }
-
-    /**
-     * Retrieves the square directly southeast of the current square, where H1 is the most
-     * southeastern square
-     * @param square
-     * @return an optional containing the southeastern square if it exists, otherwise an empty optional
-     */
-    private Optional<Square> getSouthEast(Square square) {
-        return getSquare(square.getRowNumber()-1, square.getLetterNumber()+1);
+    public MovesCalculator() {
+        reset();
     }
 
     /**
-     * Retrieves the square directly southwest of the current square, where A1 is the most
-     * southwestern square
-     * @param square
-     * @return an optional containing the southwestern square if it exists, otherwise an empty optional
+     * @return squares that do not contain a piece
      */
-    private Optional<Square> getSouthWest(Square square) {
-        return getSquare(square.getRowNumber()-1, square.getLetterNumber()-1);
+    private long getEmptySquares() {
+        return ~occupiedSquares;
     }
 
     /**
-     * Checks if a square is available for a piece of the given colour to move into
-     * @param square
-     * @param colour
-     * @return availability of the square
+     * @return squares that contain a piece that can be taken
      */
-    private SquareAvailability evaluateSquareAvailability(Square square, Colour colour) {
-        // If the square is not occupied, it is empty
-        if (!colourLocations.containsKey(square)) {
-            return SquareAvailability.EMPTY;
-        }
-        // If the square is occupied by a king, it is blocked
-        if (kingLocations.contains(square)) {
-            return SquareAvailability.BLOCKED;
-        }
-        // If the square is occupied by a piece (not a king) of the same colour, it is also blocked
-        if (colourLocations.get(square) == colour) {
-            return SquareAvailability.BLOCKED;
-        }
-        // Otherwise the square is occupied by a piece of a different colour and therefore available
-        return SquareAvailability.AVAILABLE;
+    private long getAvailableSquares() {
+        return occupiedSquares & ~blockedSquares;
     }
 
     /**
-     * Filters the candidate squares to those that have an allowed availability.
-     * @param candidates to filter
-     * @param colour of piece hoping to move to the square
-     * @param allowed allowed availabilities
-     * @return filtered set
+     * Shifts every square in the bitboard one square forwards from the perspective of a pawn of the given colour.
+     * @param bitboard
+     * @param colour of pawn
+     * @return shifted bitboard
      */
-    private Set<Square> filterByAvailability(
-            Set<Square> candidates, Colour colour, SquareAvailability... allowed) {
-        // Make allowed availabilities easy to search
-        Set<SquareAvailability> availabilities = new HashSet<>(Arrays.asList(allowed));
-
-        // Filter squares
-        Set<Square> filtered = new HashSet<>();
-        for (Square candidate : candidates) {
-            SquareAvailability availability = evaluateSquareAvailability(candidate, colour);
-            if (availabilities.contains(availability)) {
-                filtered.add(candidate);
-            }
+    private long getForwards(long bitboard, Colour colour) {
+        if (colour == Colour.WHITE) {
+            return Bitboards.north(bitboard);
         }
-        return filtered;
+        return Bitboards.south(bitboard);
     }
 
     /**
-     * Retrieves the squares diagonally forwards of the given square from the perspective of a pawn of
-     * the given colour.
-     * @param pawnState
-     * @return
-     */
-    private Set<Optional<Square>> getPawnDiagonals(PieceState pawnState) {
-        Set<Optional<Square>> diagonals = new HashSet<>();
-        if (pawnState.getColour() == Colour.WHITE) {
-            diagonals.add(getNorthEast(pawnState.getSquare()));
-            diagonals.add(getNorthWest(pawnState.getSquare()));
-        } else {
-            diagonals.add(getSouthEast(pawnState.getSquare()));
-            diagonals.add(getSouthWest(pawnState.getSquare()));
-        }
-        return diagonals;
-    }
-
-    /**
-     * Retrieves the square directly forwards of the given square from the perspective of a pawn of the given colour.
-     * @param pieceState
-     * @return
+     * @param colour
+     * @return row 2 for white pawns and row 7 for black pawns
      */
-    private Set<Square> getSquareDirectlyForwards(PieceState pieceState) {
-        Set<Optional<Square>> forwards = new HashSet<>();
-        if (pieceState.getColour() == Colour.WHITE) {
-            forwards.add(getNorth(pieceState.getSquare()));
-        } else {
-            forwards.add(getSouth(pieceState.getSquare()));
+    private long getPawnStartingRow(Colour colour) {
+        if (colour == Colour.WHITE) {
+            return Bitboards.ROW_2;
         }
-        return CollectionUtil.getPresent(forwards);
+        return Bitboards.ROW_7;
     }
 
     /**
+     * Calculates all squares threatened and moveable by a pawn. Threatened squares are squares on an adjacent
+     * diagonal in the direction the pawn is moving, while moveable squares are empty forward squares and unblocked
+     * forwards diagonal squares.
      * @param pawnState
-     * @return true if the pawn is in its starting row, ie. row 2 for white pieces and row 7 for black pieces
+     * @param bitboards locations of all the pieces
      */
-    private boolean isPawnInStartingRow(PieceState pawnState) {
-        if (pawnState.getColour() == Colour.WHITE) {
-            return pawnState.getSquare().getRowNumber() == Square.A2.getRowNumber();
-        } else {
-            return pawnState.getSquare().getRowNumber() == Square.A7.getRowNumber();
-        }
+    public void calculateMoveableAndThreatenedSquaresForPawn(PieceState pawnState, PieceBitboards bitboards) {
+        generateStructures(pawnState.getColour(), bitboards);
+        calculateSquaresForPawn(pawnState.getColour(), pawnState.getSquare());
     }
 
     /**
@@ -229,202 +95,296 @@ public class MovesCalculator {
      * diagonal in the direction the pawn is moving, while moveable squares are empty forward squares and unblocked
      * forwards diagonal squares.
      * @param pawnState
-     * @param piecesState
+     * @param piecesState states of all the pieces
      */
     public void calculateMoveableAndThreatenedSquaresForPawn(PieceState pawnState, PiecesState piecesState) {
-        generateStructures(piecesState);
+        calculateMoveableAndThreatenedSquaresForPawn(pawnState, piecesState.getBitboards());
+    }
+
+    private void calculateSquaresForPawn(Colour colour, Square square) {
+        long pawn = Bitboards.bit(square);
 
         // Pawn can always threaten on a diagonal
-        Set<Square> diagonals = CollectionUtil.getPresent(getPawnDiagonals(pawnState));
-        threatenedSquares.addAll(diagonals);
+        long diagonals = LeaperAttacks.pawnAttacks(colour, Bitboards.index(square));
+        threatenedSquares |= diagonals;
 
         // Pawn can move on a diagonal if there is an enemy (non-king) piece there
-        moveableSquares.addAll(filterByAvailability(diagonals, pawnState.getColour(), SquareAvailability.AVAILABLE));
+        moveableSquares |= diagonals & getAvailableSquares();
 
         // Pawn can move one step forwards if the square is empty
-        Set<Square> forward = getSquareDirectlyForwards(pawnState);
-        Set<Square> availableForward = filterByAvailability(forward, pawnState.getColour(), SquareAvailability.EMPTY);
-        moveableSquares.addAll(availableForward);
+        long forward = getForwards(pawn, colour);
+        long availableForward = forward & getEmptySquares();
+        moveableSquares |= availableForward;
+        watchedSquares |= diagonals | forward;
 
         // Pawn can move two steps forward if it is on the starting row and both the squares one and two steps forwards
         // are empty
-        if (isPawnInStartingRow(pawnState)) {
-            for (Square forwardsSquare : availableForward) {
-                PieceState forwardsState = new PieceState(pawnState.getType(), pawnState.getColour(), forwardsSquare);
-                Set<Square> twoForward = getSquareDirectlyForwards(forwardsState);
-                moveableSquares.addAll(filterByAvailability(twoForward, pawnState.getColour(), SquareAvailability.EMPTY));
-            }
+        if ((pawn & getPawnStartingRow(colour)) != 0) {
+            moveableSquares |= getForwards(availableForward, colour) & getEmptySquares();
+            watchedSquares |= getForwards(forward, colour);
         }
     }
 
     /**
      * Calculates all squares in an L shape from the given square.
      * @param knightState
-     * @param piecesState
+     * @param bitboards locations of all the pieces
+     */
+    public void calculateMoveableAndThreatenedSquaresForKnight(PieceState knightState, PieceBitboards bitboards) {
+        generateStructures(knightState.getColour(), bitboards);
+        calculateSquaresForKnight(knightState.getSquare());
+    }
+
+    /**
+     * Calculates all squares in an L shape from the given square.
+     * @param knightState
+     * @param piecesState states of all the pieces
      */
     public void calculateMoveableAndThreatenedSquaresForKnight(PieceState knightState, PiecesState piecesState) {
-        generateStructures(piecesState);
-
-        // Rows and columns of candidate moveable and threatened squares
-        Square square = knightState.getSquare();
-        int[] rows = {square.getRowNumber()+2, square.getRowNumber()+2, square.getRowNumber()-2, square.getRowNumber()-2,
-                square.getRowNumber()+1, square.getRowNumber()-1, square.getRowNumber()+1, square.getRowNumber()-1};
-        int[] columns = {square.getLetterNumber()+1, square.getLetterNumber()-1, square.getLetterNumber()+1, square.getLetterNumber()-1,
-                square.getLetterNumber()+2, square.getLetterNumber()+2, square.getLetterNumber()-2, square.getLetterNumber()-2};
-
-        // Build up a collection of candidate moveable and threatened squares
-        Set<Optional<Square>> candidates = new HashSet<>();
-        for (int num = 0; num < rows.length; num++) {
-            candidates.add(getSquare(rows[num], columns[num]));
-        }
+        calculateMoveableAndThreatenedSquaresForKnight(knightState, piecesState.getBitboards());
+    }
+
+    private void calculateSquaresForKnight(Square square) {
+        long candidates = LeaperAttacks.knightAttacks(Bitboards.index(square));
 
         // Knight can threaten all of these squares
-        Set<Square> presentCandidates = CollectionUtil.getPresent(candidates);
-        threatenedSquares.addAll(presentCandidates);
+        threatenedSquares |= candidates;
 
         // Knight can only move to those squares that are not blocked
-        moveableSquares.addAll(filterByAvailability(
-                presentCandidates, knightState.getColour(), SquareAvailability.AVAILABLE, SquareAvailability.EMPTY));
+        moveableSquares |= candidates & ~blockedSquares;
+        watchedSquares |= candidates;
+    }
+
+    /**
+     * Marks all adjacent squares as moveable and all adjacent squares that are not blocked by a piece of a different
+     * colour as threatened.
+     * @param kingState
+     * @param bitboards locations of all the pieces
+     */
+    public void calculateMoveableAndThreatenedSquaresForKing(PieceState kingState, PieceBitboards bitboards) {
+        generateStructures(kingState.getColour(), bitboards);
+        calculateSquaresForKing(kingState.getSquare());
     }
 
     /**
      * Marks all adjacent squares as moveable and all adjacent squares that are not blocked by a piece of a different
      * colour as threatened.
      * @param kingState
-     * @param piecesState
+     * @param piecesState states of all the pieces
      */
     public void calculateMoveableAndThreatenedSquaresForKing(PieceState kingState, PiecesState piecesState) {
-        generateStructures(piecesState);
-
-        // Build up a collection of candidate adjacent squares
-        Square square = kingState.getSquare();
-        Set<Optional<Square>> candidates = new HashSet<>();
-        for (int row = square.getRowNumber()-1; row <= square.getRowNumber()+1; row++) {
-            for (int column = square.getLetterNumber()-1; column <= square.getLetterNumber()+1; column++) {
-                candidates.add(getSquare(row, column));
-            }
-        }
-        candidates.remove(Optional.of(square));
+        calculateMoveableAndThreatenedSquaresForKing(kingState, piecesState.getBitboards());
+    }
+
+    private void calculateSquaresForKing(Square square) {
+        long candidates = LeaperAttacks.kingAttacks(Bitboards.index(square));
 
         // King can threaten all of those squares
-        Set<Square> presentCandidates = CollectionUtil.getPresent(candidates);
-        threatenedSquares.addAll(presentCandidates);
+        threatenedSquares |= candidates;
 
         // King can only move to those squares that are not blocked
-        moveableSquares.addAll(filterByAvailability(
-                presentCandidates, kingState.getColour(), SquareAvailability.AVAILABLE, SquareAvailability.EMPTY));
-    }
-
-    /**
-     * Traverses all the squares along a given direction from the current square until the direction
-     * is blocked. Empty and available squares are marked as moveable while empty, available and blocked
-     * squares are all marked as threatened.
-     * @param getInDirection retrieves the square in the direction of a supplied square
-     * @param pieceState
-     */
-    private void calculateSquaresAlongDirection(
-            Function<Square, Optional<Square>> getInDirection, PieceState pieceState) {
-
-        Optional<Square> candidate = getInDirection.apply(pieceState.getSquare());
-
-        while (candidate.isPresent()) {
-            // Piece can threaten empty, available and blocked squares
-            threatenedSquares.add(candidate.get());
-
-            SquareAvailability availability =
-                    evaluateSquareAvailability(candidate.get(), pieceState.getColour());
-            if (availability == SquareAvailability.BLOCKED) {
-                break;
-            }
-            // Piece can move to empty and available squares
-            moveableSquares.add(candidate.get());
-            if (availability == SquareAvailability.AVAILABLE) {
-                break;
-            }
-            // Can continue traversing if square is empty
-            candidate = getInDirection.apply(candidate.get());
-        }
+        moveableSquares |= candidates & ~blockedSquares;
+        watchedSquares |= candidates;
     }
 
     /**
-     * Calls calculateSquaresAlongDirection() for each of the supplied direction functions
-     * @param pieceState
-     * @param getInDirections
+     * Marks the squares a sliding piece attacks as threatened and those that are not blocked as moveable. Attacked
+     * squares run along each of the piece's directions up to and including the first square containing a piece.
+     * @param attacks squares attacked by the piece, from SlidingAttacks
      */
-    @SafeVarargs
-    private final void calculateSquaresAlongDirections(
-            PieceState pieceState, Function<Square, Optional<Square>>... getInDirections) {
-        for (Function<Square, Optional<Square>> getInDirection : getInDirections) {
-            calculateSquaresAlongDirection(getInDirection, pieceState);
-        }
+    private void calculateSquaresAlongDirections(long attacks) {
+        // Piece can threaten empty, available and blocked squares
+        threatenedSquares |= attacks;
+
+        // Piece can move to empty and available squares
+        moveableSquares |= attacks & ~blockedSquares;
+        watchedSquares |= attacks;
     }
 
     /**
      * Calculates all the squares reachable on a diagonal from the current square.
      * @param bishopState
-     * @param piecesState
+     * @param bitboards locations of all the pieces
+     */
+    public void calculateMoveableAndThreatenedSquaresForBishop(PieceState bishopState, PieceBitboards bitboards) {
+        generateStructures(bishopState.getColour(), bitboards);
+        calculateSquaresAlongDirections(
+                SlidingAttacks.bishopAttacks(Bitboards.index(bishopState.getSquare()), occupiedSquares));
+    }
+
+    /**
+     * Calculates all the squares reachable on a diagonal from the current square.
+     * @param bishopState
+     * @param piecesState states of all the pieces
      */
     public void calculateMoveableAndThreatenedSquaresForBishop(PieceState bishopState, PiecesState piecesState) {
-        generateStructures(piecesState);
-        calculateSquaresAlongDirections(bishopState, this::getNorthEast, this::getNorthWest, this::getSouthEast,
-                this::getSouthWest);
+        calculateMoveableAndThreatenedSquaresForBishop(bishopState, piecesState.getBitboards());
     }
 
     /**
      * Calculates all the squares reachable vertically and horizontally from the current square.
      * @param castleState
-     * @param piecesState
+     * @param bitboards locations of all the pieces
+     */
+    public void calculateMoveableAndThreatenedSquaresForCastle(PieceState castleState, PieceBitboards bitboards) {
+        generateStructures(castleState.getColour(), bitboards);
+        calculateSquaresAlongDirections(
+                SlidingAttacks.castleAttacks(Bitboards.index(castleState.getSquare()), occupiedSquares));
+    }
+
+    /**
+     * Calculates all the squares reachable vertically and horizontally from the current square.
+     * @param castleState
+     * @param piecesState states of all the pieces
      */
     public void calculateMoveableAndThreatenedSquaresForCastle(PieceState castleState, PiecesState piecesState) {
-        generateStructures(piecesState);
-        calculateSquaresAlongDirections(castleState, this::getNorth, this::getSouth, this::getEast, this::getWest);
+        calculateMoveableAndThreatenedSquaresForCastle(castleState, piecesState.getBitboards());
+    }
+
+    /**
+     * Calculates all the squares reachable vertically, horizontally and on a diagonal from the current square.
+     * @param queenState
+     * @param bitboards locations of all the pieces
+     */
+    public void calculateMoveableAndThreatenedSquaresForQueen(PieceState queenState, PieceBitboards bitboards) {
+        generateStructures(queenState.getColour(), bitboards);
+        calculateSquaresAlongDirections(
+                SlidingAttacks.queenAttacks(Bitboards.index(queenState.getSquare()), occupiedSquares));
     }
 
     /**
      * Calculates all the squares reachable vertically, horizontally and on a diagonal from the current square.
      * @param queenState
-     * @param piecesState
+     * @param piecesState states of all the pieces
      */
     public void calculateMoveableAndThreatenedSquaresForQueen(PieceState queenState, PiecesState piecesState) {
-        generateStructures(piecesState);
-        calculateSquaresAlongDirections(queenState, this::getNorth, this::getSouth, this::getEast, this::getWest,
-                this::getNorthEast, this::getNorthWest, this::getSouthEast, this::getSouthWest);
+        calculateMoveableAndThreatenedSquaresForQueen(queenState, piecesState.getBitboards());
     }
 
     /**
-     * Populates colour locations map and king locations set based on the provided state of the pieces.
-     * @param piecesState
+     * Clears any previous calculation and calculates the squares threatened and moveable by a piece directly from the
+     * locations of the pieces, without needing a PieceState for it.
+     * @param type of the piece being calculated for
+     * @param colour of the piece being calculated for
+     * @param square the piece is on
+     * @param bitboards locations of all the pieces
      */
-    private void generateStructures(PiecesState piecesState) {
-        for (PieceState pieceState : piecesState.getPieceStates()) {
-            colourLocations.put(pieceState.getSquare(), pieceState.getColour());
-            if (pieceState.getType() == PieceType.KING) {
-                kingLocations.add(pieceState.getSquare());
-            }
+    public void calculateMoveableAndThreatenedSquares(PieceType type, Colour colour, Square square,
+                                                      PieceBitboards bitboards) {
+        reset();
+        generateStructures(colour, bitboards);
+        int index = Bitboards.index(square);
+        switch (type) {
+            case PAWN:
+                calculateSquaresForPawn(colour, square);
+                return;
+            case KNIGHT:
+                calculateSquaresForKnight(square);
+                return;
+            case KING:
+                calculateSquaresForKing(square);
+                return;
+            case BISHOP:
+                calculateSquaresAlongDirections(SlidingAttacks.bishopAttacks(index, occupiedSquares));
+                return;
+            case CASTLE:
+                calculateSquaresAlongDirections(SlidingAttacks.castleAttacks(index, occupiedSquares));
+                return;
+            case QUEEN:
+                calculateSquaresAlongDirections(SlidingAttacks.queenAttacks(index, occupiedSquares));
+                return;
         }
+        throw new RuntimeException(); // TODO log and msg - should not be reachable
     }
 
     /**
-     * @return previously calculated moveable squares
+     * Clears any previous calculation and calculates the squares threatened and moveable by a piece from a
+     * PiecesState, for callers that do not hold the bitboards.
+     * @param type of the piece being calculated for
+     * @param colour of the piece being calculated for
+     * @param square the piece is on
+     * @param piecesState states of all the pieces
+     */
+    public void calculateMoveableAndThreatenedSquares(PieceType type, Colour colour, Square square,
+                                                      PiecesState piecesState) {
+        calculateMoveableAndThreatenedSquares(type, colour, square, piecesState.getBitboards());
+    }
+
+    /**
+     * Populates occupied and blocked squares based on the provided locations of the pieces, from the perspective of
+     * the piece being calculated for.
+     * @param colour of the piece being calculated for
+     * @param bitboards
+     */
+    private void generateStructures(Colour colour, PieceBitboards bitboards) {
+        occupiedSquares = bitboards.getOccupied();
+        blockedSquares = bitboards.getType(PieceType.KING) | bitboards.getColour(colour);
+    }
+
+    /**
+     * @return previously calculated moveable squares, as an unmodifiable view of getMoveableSquareSet()
      */
     public Set<Square> getMoveableSquares() {
-        return moveableSquares;
+        return getMoveableSquareSet().asSet();
     }
 
     /**
-     * @return previously calculated threatened squares
+     * @return previously calculated threatened squares, as an unmodifiable view of getThreatenedSquareSet()
      */
     public Set<Square> getThreatenedSquares() {
+        return getThreatenedSquareSet().asSet();
+    }
+
+    /**
+     * @return previously calculated moveable squares
+     */
+    public SquareSet getMoveableSquareSet() {
+        return SquareSet.fromBitboard(moveableSquares);
+    }
+
+    /**
+     * @return previously calculated threatened squares
+     */
+    public SquareSet getThreatenedSquareSet() {
+        return SquareSet.fromBitboard(threatenedSquares);
+    }
+
+    /**
+     * @return squares whose contents were used in the previous calculation
+     */
+    public SquareSet getWatchedSquares() {
+        return SquareSet.fromBitboard(watchedSquares);
+    }
+
+    /**
+     * @return bitboard of previously calculated moveable squares
+     */
+    public long getMoveableBitboard() {
+        return moveableSquares;
+    }
+
+    /**
+     * @return bitboard of previously calculated threatened squares
+     */
+    public long getThreatenedBitboard() {
         return threatenedSquares;
     }
 
+    /**
+     * @return bitboard of squares whose contents were used in the previous calculation
+     */
+    public long getWatchedBitboard() {
+        return watchedSquares;
+    }
+
     /**
      * Clears previous calculation of threatened and moveable squares
      */
     public void reset() {
-        moveableSquares = new HashSet<>();
-        threatenedSquares = new HashSet<>();
-        colourLocations = new HashMap<>();
-        kingLocations = new HashSet<>();
+        moveableSquares = Bitboards.EMPTY;
+        threatenedSquares = Bitboards.EMPTY;
+        watchedSquares = Bitboards.EMPTY;
+        occupiedSquares = Bitboards.EMPTY;
+        blockedSquares = Bitboards.EMPTY;
     }
 }
@@ -0,0 +1,133 @@
+package model.util;
+
+import model.Colour;
+import model.Move;
+import model.PieceType;
+import model.Square;
+import model.piece.PieceState;
+
+/**
+ * Utility methods for moves packed into an int, so that lists of moves can be held in an int[] and generated without
+ * creating objects. The bits of a packed move are, from the lowest:
+ *
+ * 0-5:   index of the square moved from (see Bitboards.index)
+ * 6-11:  index of the square moved to
+ * 12-14: ordinal of the type of the piece moving
+ * 15:    ordinal of the colour of the piece moving
+ * 16-18: ordinal plus one of the type of the piece taken, or 0 if the move does not take a piece
+ */
+public class PackedMove {
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int TYPE_MASK = 0x7;
+    private static final int TO_SHIFT = 6;
+    private static final int TYPE_SHIFT = 12;
+    private static final int COLOUR_SHIFT = 15;
+    private static final int CAPTURED_SHIFT = 16;
+
+    private static final PieceType[] TYPES = PieceType.values();
+    private static final Colour[] COLOURS = Colour.values();
+
+    private PackedMove() {
+    }
+
+    /**
+     * @param type of the piece moving
+     * @param colour of the piece moving
+     * @param fromIndex index of the square moved from
+     * @param toIndex index of the square moved to
+     * @param captured type of the piece taken, or null if the move does not take a piece
+     * @return packed move
+     */
+    public static int pack(PieceType type, Colour colour, int fromIndex, int toIndex, PieceType captured) {
+        return fromIndex
+                | (toIndex << TO_SHIFT)
+                | (type.ordinal() << TYPE_SHIFT)
+                | (colour.ordinal() << COLOUR_SHIFT)
+                | ((captured == null ? 0 : captured.ordinal() + 1) << CAPTURED_SHIFT);
+    }
+
+    /**
+     * @param move
+     * @param captured type of the piece on the square moved to, or null if the square is empty
+     * @return packed move
+     */
+    public static int pack(Move move, PieceType captured) {
+        PieceState pieceState = move.getPieceState();
+        return pack(pieceState.getType(), pieceState.getColour(), Bitboards.index(pieceState.getSquare()),
+                Bitboards.index(move.getTo()), captured);
+    }
+
+    /**
+     * @param move packed move
+     * @return the shared Move equal to the packed move
+     */
+    public static Move unpack(int move) {
+        return Move.of(PieceState.of(getType(move), getColour(move), getFrom(move)), getTo(move));
+    }
+
+    /**
+     * @param move packed move
+     * @return index of the square moved from, held in bits 0-5
+     */
+    public static int getFromIndex(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    /**
+     * @param move packed move
+     * @return index of the square moved to, held in bits 6-11
+     */
+    public static int getToIndex(int move) {
+        return (move >>> TO_SHIFT) & SQUARE_MASK;
+    }
+
+    /**
+     * @param move packed move
+     * @return square moved from, decoded from bits 0-5
+     */
+    public static Square getFrom(int move) {
+        return Bitboards.square(getFromIndex(move));
+    }
+
+    /**
+     * @param move packed move
+     * @return square moved to, decoded from bits 6-11
+     */
+    public static Square getTo(int move) {
+        return Bitboards.square(getToIndex(move));
+    }
+
+    /**
+     * @param move packed move
+     * @return type of the piece moving, decoded from bits 12-14
+     */
+    public static PieceType getType(int move) {
+        return TYPES[(move >>> TYPE_SHIFT) & TYPE_MASK];
+    }
+
+    /**
+     * @param move packed move
+     * @return colour of the piece moving, decoded from bit 15
+     */
+    public static Colour getColour(int move) {
+        return COLOURS[(move >>> COLOUR_SHIFT) & 1];
+    }
+
+    /**
+     * @param move packed move
+     * @return type of the piece taken, decoded from bits 16-18, or null if the move does not take a piece
+     */
+    public static PieceType getCaptured(int move) {
+        int captured = (move >>> CAPTURED_SHIFT) & TYPE_MASK;
+        return captured == 0 ? null : TYPES[captured - 1];
+    }
+
+    /**
+     * @param move packed move
+     * @return true if the move takes a piece, ie. bits 16-18 are not 0
+     */
+    public static boolean isCapture(int move) {
+        return ((move >>> CAPTURED_SHIFT) & TYPE_MASK) != 0;
+    }
+}
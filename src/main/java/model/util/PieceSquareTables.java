@@ -0,0 +1,163 @@
+package model.util;
+
+import model.Colour;
+import model.PieceType;
+import model.Square;
+import model.pieces.PieceBitboards;
+
+/**
+ * Values of pieces in centipawns, ie. hundredths of a pawn, including a bonus or penalty depending on the square the
+ * piece is on, eg. knights are worth more in the centre. As the value of a position is the sum of the values of its
+ * pieces, it can be kept up to date as pieces move rather than being recalculated for every position.
+ */
+public class PieceSquareTables {
+
+    /**
+     * Value of each piece type regardless of its square, indexed by PieceType.ordinal(). Kings are never taken, so
+     * have no value.
+     */
+    private static final int[] MATERIAL_VALUES = new int[PieceType.values().length];
+
+    /**
+     * Bonus for each piece type on each square from white's side of the board, indexed by PieceType.ordinal(). Each
+     * table is laid out as the board is seen by white, ie. the first row of the table is row 8 from A to H.
+     */
+    private static final int[][] POSITION_BONUSES = new int[PieceType.values().length][];
+
+    /**
+     * Material value plus position bonus of each piece on each square, indexed by Colour.ordinal(),
+     * PieceType.ordinal() then square index. Positive for white pieces and negative for black pieces.
+     */
+    private static final int[][][] SCORES =
+            new int[Colour.values().length][PieceType.values().length][Bitboards.NUM_SQUARES];
+
+    static {
+        MATERIAL_VALUES[PieceType.PAWN.ordinal()] = 100;
+        MATERIAL_VALUES[PieceType.KNIGHT.ordinal()] = 320;
+        MATERIAL_VALUES[PieceType.BISHOP.ordinal()] = 330;
+        MATERIAL_VALUES[PieceType.CASTLE.ordinal()] = 500;
+        MATERIAL_VALUES[PieceType.QUEEN.ordinal()] = 900;
+        MATERIAL_VALUES[PieceType.KING.ordinal()] = 0;
+
+        POSITION_BONUSES[PieceType.PAWN.ordinal()] = new int[] {
+                0, 0, 0, 0, 0, 0, 0, 0,
+                50, 50, 50, 50, 50, 50, 50, 50,
+                10, 10, 20, 30, 30, 20, 10, 10,
+                5, 5, 10, 25, 25, 10, 5, 5,
+                0, 0, 0, 20, 20, 0, 0, 0,
+                5, -5, -10, 0, 0, -10, -5, 5,
+                5, 10, 10, -20, -20, 10, 10, 5,
+                0, 0, 0, 0, 0, 0, 0, 0
+        };
+        POSITION_BONUSES[PieceType.KNIGHT.ordinal()] = new int[] {
+                -50, -40, -30, -30, -30, -30, -40, -50,
+                -40, -20, 0, 0, 0, 0, -20, -40,
+                -30, 0, 10, 15, 15, 10, 0, -30,
+                -30, 5, 15, 20, 20, 15, 5, -30,
+                -30, 0, 15, 20, 20, 15, 0, -30,
+                -30, 5, 10, 15, 15, 10, 5, -30,
+                -40, -20, 0, 5, 5, 0, -20, -40,
+                -50, -40, -30, -30, -30, -30, -40, -50
+        };
+        POSITION_BONUSES[PieceType.BISHOP.ordinal()] = new int[] {
+                -20, -10, -10, -10, -10, -10, -10, -20,
+                -10, 0, 0, 0, 0, 0, 0, -10,
+                -10, 0, 5, 10, 10, 5, 0, -10,
+                -10, 5, 5, 10, 10, 5, 5, -10,
+                -10, 0, 10, 10, 10, 10, 0, -10,
+                -10, 10, 10, 10, 10, 10, 10, -10,
+                -10, 5, 0, 0, 0, 0, 5, -10,
+                -20, -10, -10, -10, -10, -10, -10, -20
+        };
+        POSITION_BONUSES[PieceType.CASTLE.ordinal()] = new int[] {
+                0, 0, 0, 0, 0, 0, 0, 0,
+                5, 10, 10, 10, 10, 10, 10, 5,
+                -5, 0, 0, 0, 0, 0, 0, -5,
+                -5, 0, 0, 0, 0, 0, 0, -5,
+                -5, 0, 0, 0, 0, 0, 0, -5,
+                -5, 0, 0, 0, 0, 0, 0, -5,
+                -5, 0, 0, 0, 0, 0, 0, -5,
+                0, 0, 0, 5, 5, 0, 0, 0
+        };
+        POSITION_BONUSES[PieceType.QUEEN.ordinal()] = new int[] {
+                -20, -10, -10, -5, -5, -10, -10, -20,
+                -10, 0, 0, 0, 0, 0, 0, -10,
+                -10, 0, 5, 5, 5, 5, 0, -10,
+                -5, 0, 5, 5, 5, 5, 0, -5,
+                0, 0, 5, 5, 5, 5, 0, -5,
+                -10, 5, 5, 5, 5, 5, 0, -10,
+                -10, 0, 5, 0, 0, 0, 0, -10,
+                -20, -10, -10, -5, -5, -10, -10, -20
+        };
+        POSITION_BONUSES[PieceType.KING.ordinal()] = new int[] {
+                -30, -40, -40, -50, -50, -40, -40, -30,
+                -30, -40, -40, -50, -50, -40, -40, -30,
+                -30, -40, -40, -50, -50, -40, -40, -30,
+                -30, -40, -40, -50, -50, -40, -40, -30,
+                -20, -30, -30, -40, -40, -30, -30, -20,
+                -10, -20, -20, -20, -20, -20, -20, -10,
+                20, 20, 0, 0, 0, 0, 20, 20,
+                20, 30, 10, 0, 0, 10, 30, 20
+        };
+
+        for (PieceType type : PieceType.values()) {
+            for (int index = 0; index < Bitboards.NUM_SQUARES; index++) {
+                Square square = Bitboards.square(index);
+                int column = square.getLetterNumber() - 1;
+                int row = square.getRowNumber() - 1;
+
+                // Black's tables are white's tables flipped so that row 1 is black's back row
+                int whiteValue = MATERIAL_VALUES[type.ordinal()]
+                        + POSITION_BONUSES[type.ordinal()][(Square.NUM_ROWS - 1 - row) * Square.NUM_SQUARES_IN_ROW + column];
+                int blackValue = MATERIAL_VALUES[type.ordinal()]
+                        + POSITION_BONUSES[type.ordinal()][row * Square.NUM_SQUARES_IN_ROW + column];
+                SCORES[Colour.WHITE.ordinal()][type.ordinal()][index] = whiteValue;
+                SCORES[Colour.BLACK.ordinal()][type.ordinal()][index] = -blackValue;
+            }
+        }
+    }
+
+    private PieceSquareTables() {
+    }
+
+    /**
+     * @param type
+     * @return value of a piece of the given type regardless of its square
+     */
+    public static int materialValue(PieceType type) {
+        return MATERIAL_VALUES[type.ordinal()];
+    }
+
+    /**
+     * @param type
+     * @param colour
+     * @param square
+     * @return value of a piece of the given type and colour on the square, positive for white pieces and negative for
+     * black pieces, or 0 if the square is Square.NONE
+     */
+    public static int score(PieceType type, Colour colour, Square square) {
+        if (square == Square.NONE) {
+            return 0;
+        }
+        return SCORES[colour.ordinal()][type.ordinal()][Bitboards.index(square)];
+    }
+
+    /**
+     * Calculates the score of a position from scratch.
+     * @param bitboards locations of the pieces on the board
+     * @return total value of white's pieces minus total value of black's pieces
+     */
+    public static int score(PieceBitboards bitboards) {
+        int score = 0;
+        for (Colour colour : Colour.values()) {
+            for (PieceType type : PieceType.values()) {
+                long pieces = bitboards.getPieces(type, colour);
+                while (pieces != Bitboards.EMPTY) {
+                    score += SCORES[colour.ordinal()][type.ordinal()][Long.numberOfTrailingZeros(pieces)];
+                    pieces &= pieces - 1;
+                }
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,222 @@
+package model.util;
+
+/**
+ * Precomputed attack tables for castles, bishops and queens using magic bitboards. For each square, the pieces that
+ * can block the piece's rays are multiplied by a "magic" number that maps every possible arrangement of blockers to
+ * a unique index into a table of attacked squares, so calculating the squares a sliding piece attacks is a single
+ * table lookup.
+ *
+ * The magic numbers were found by trying sparse random numbers until one mapped every arrangement of blockers
+ * without two arrangements with different attacks sharing an index. The tables are filled once when the class is
+ * loaded.
+ */
+public class SlidingAttacks {
+
+    /**
+     * Magic numbers for castles, indexed by square index
+     */
+    private static final long[] CASTLE_MAGICS = {
+            0x0980008011400020L, 0x8340004410002000L, 0x0880200090008268L, 0x0080080080100004L,
+            0x8100110004020800L, 0x0300010004000822L, 0x08801A0029000080L, 0x8100050001204882L,
+            0x0844800081400320L, 0x0804402010004000L, 0x0108802003100480L, 0x0004808008001000L,
+            0x0003001801001014L, 0x0002000200041008L, 0x0004008108042210L, 0x0105000100009042L,
+            0x0400808000400021L, 0xC100404010002000L, 0x0060008010002088L, 0x0400808008001000L,
+            0x4440808008000400L, 0x1002008004000280L, 0x40024400300D1248L, 0x0010020000408104L,
+            0x0101008200204200L, 0x8020002040005000L, 0x4100100080802000L, 0x4008006A80100280L,
+            0x1020080080040080L, 0x0004010040020040L, 0x0018A12400080290L, 0x6140004200008104L,
+            0x4000400020800090L, 0x2020002080804000L, 0x0000408202002010L, 0x0080100501000820L,
+            0x0000800400800800L, 0x000A200408014010L, 0x0100800200800100L, 0xA00800570200008CL,
+            0x008000406000C010L, 0x1040100028002000L, 0x0048200100110040L, 0x0068490210030020L,
+            0x1009080005010010L, 0x2142000804010100L, 0x1001080110840002L, 0x1801004400820001L,
+            0x010440208D020200L, 0x0000400020008080L, 0x0200200080100280L, 0x0000100020090100L,
+            0x0204008008020480L, 0x8104010040020040L, 0x78000201B0080400L, 0x0040800051002880L,
+            0x0050108001002041L, 0x208A801100614003L, 0x0006002042089082L, 0x0011090004201001L,
+            0x1002001004200802L, 0x0005000208040001L, 0x0002002701AC0822L, 0x000010250184004AL};
+
+    /**
+     * Magic numbers for bishops, indexed by square index
+     */
+    private static final long[] BISHOP_MAGICS = {
+            0x1002200101020088L, 0x4004010404049080L, 0x200404008A020422L, 0x000806004C002202L,
+            0x8001104110000090L, 0x8002080248000202L, 0x0000440484408000L, 0x0002010082012020L,
+            0x0488406912288201L, 0x0101600202004110L, 0x0810100400842440L, 0x0800240410822002L,
+            0x0000020210010030L, 0x8100008260210008L, 0x4404004404044201L, 0x2440008084104200L,
+            0x88220A08207C0280L, 0x4104801001080120L, 0x4110020808304010L, 0x2518050402400980L,
+            0x0002000422010010L, 0x0403020080A00100L, 0x0244200200822880L, 0x0608200200820860L,
+            0x81202818C6100400L, 0x4081501088100100L, 0x2002491448020400L, 0x0070040000440008L,
+            0x0880820004010400L, 0x8490108202C80400L, 0x0004004204050C41L, 0x800102400C241402L,
+            0x1014200A00041013L, 0x0008110400300400L, 0x0042060900220800L, 0x00D2200800010105L,
+            0x0C0A0484008A0020L, 0x801001010802100CL, 0x0919920202440101L, 0x06020A0202604050L,
+            0x4202083240260821L, 0x0118520260221008L, 0x00000C4402021001L, 0x1010006018020100L,
+            0x9600204C10130500L, 0x00C0810403000020L, 0x0002640420801401L, 0x8001040400900840L,
+            0x1002221004048000L, 0x0020808808420401L, 0x0100010080908040L, 0x2000800884040820L,
+            0x1000002020444B28L, 0x01180890D0008888L, 0x4090448800940100L, 0x0160380A00404240L,
+            0x5002042109101080L, 0x800800220D300800L, 0x0808200840441004L, 0x8008022006150402L,
+            0x2000000070020213L, 0x0202414119211100L, 0x8820620204180484L, 0x8012100115010208L};
+
+    private static final Table CASTLE_TABLE = new Table(CASTLE_MAGICS, false);
+    private static final Table BISHOP_TABLE = new Table(BISHOP_MAGICS, true);
+
+    private SlidingAttacks() {
+    }
+
+    /**
+     * Calculates the squares a castle on the given square attacks. The attacked squares include the first occupied
+     * square in each direction.
+     * @param index of the castle's square
+     * @param occupied squares containing a piece
+     * @return attacked squares
+     */
+    public static long castleAttacks(int index, long occupied) {
+        return CASTLE_TABLE.attacks(index, occupied);
+    }
+
+    /**
+     * Calculates the squares a bishop on the given square attacks. The attacked squares include the first occupied
+     * square in each direction.
+     * @param index of the bishop's square
+     * @param occupied squares containing a piece
+     * @return attacked squares
+     */
+    public static long bishopAttacks(int index, long occupied) {
+        return BISHOP_TABLE.attacks(index, occupied);
+    }
+
+    /**
+     * Calculates the squares a queen on the given square attacks. The attacked squares include the first occupied
+     * square in each direction.
+     * @param index of the queen's square
+     * @param occupied squares containing a piece
+     * @return attacked squares
+     */
+    public static long queenAttacks(int index, long occupied) {
+        return CASTLE_TABLE.attacks(index, occupied) | BISHOP_TABLE.attacks(index, occupied);
+    }
+
+    /**
+     * Calculates the squares strictly between two squares on the same row, column or diagonal.
+     * @param from index of the first square
+     * @param to index of the second square
+     * @return squares between the two squares, or an empty bitboard if they do not share a line
+     */
+    public static long between(int from, int to) {
+        long fromBit = 1L << from;
+        long toBit = 1L << to;
+        if ((castleAttacks(from, Bitboards.EMPTY) & toBit) != 0) {
+            return castleAttacks(from, toBit) & castleAttacks(to, fromBit);
+        }
+        if ((bishopAttacks(from, Bitboards.EMPTY) & toBit) != 0) {
+            return bishopAttacks(from, toBit) & bishopAttacks(to, fromBit);
+        }
+        return Bitboards.EMPTY;
+    }
+
+    /**
+     * Calculates the squares a sliding piece attacks by walking each ray one square at a time. Used to build the
+     * tables and as a reference in tests.
+     * @param index of the piece's square
+     * @param occupied squares containing a piece
+     * @param diagonal true for a bishop, false for a castle
+     * @return attacked squares
+     */
+    static long slowAttacks(int index, long occupied, boolean diagonal) {
+        long attacks = 0;
+        for (int direction = 0; direction < 4; direction++) {
+            long candidate = step(1L << index, direction, diagonal);
+            while (candidate != 0) {
+                attacks |= candidate;
+                if ((candidate & occupied) != 0) {
+                    break;
+                }
+                candidate = step(candidate, direction, diagonal);
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Shifts a bitboard one square in one of the four directions a castle or bishop can move in.
+     * @param bitboard
+     * @param direction between 0 and 3 inclusive
+     * @param diagonal true for the directions of a bishop, false for the directions of a castle
+     * @return shifted bitboard
+     */
+    private static long step(long bitboard, int direction, boolean diagonal) {
+        switch (direction) {
+            case 0:
+                return diagonal ? Bitboards.northEast(bitboard) : Bitboards.north(bitboard);
+            case 1:
+                return diagonal ? Bitboards.northWest(bitboard) : Bitboards.south(bitboard);
+            case 2:
+                return diagonal ? Bitboards.southEast(bitboard) : Bitboards.east(bitboard);
+            default:
+                return diagonal ? Bitboards.southWest(bitboard) : Bitboards.west(bitboard);
+        }
+    }
+
+    /**
+     * Calculates the squares whose occupancy can change which squares a sliding piece attacks. These are the squares
+     * along its rays, excluding the last square on each ray as nothing lies beyond it.
+     * @param index of the piece's square
+     * @param diagonal true for a bishop, false for a castle
+     * @return relevant squares
+     */
+    private static long relevantSquares(int index, boolean diagonal) {
+        long relevant = 0;
+        for (int direction = 0; direction < 4; direction++) {
+            long candidate = step(1L << index, direction, diagonal);
+            while (candidate != 0) {
+                long next = step(candidate, direction, diagonal);
+                if (next != 0) {
+                    relevant |= candidate;
+                }
+                candidate = next;
+            }
+        }
+        return relevant;
+    }
+
+    /**
+     * Magic numbers and attack tables for one kind of sliding piece.
+     */
+    private static class Table {
+        private final long[] masks = new long[Bitboards.NUM_SQUARES];
+        private final long[] magics;
+        private final int[] shifts = new int[Bitboards.NUM_SQUARES];
+        private final long[][] attacks = new long[Bitboards.NUM_SQUARES][];
+
+        /**
+         * Fills the attack tables for every square.
+         * @param magics magic numbers indexed by square index
+         * @param diagonal true for a bishop, false for a castle
+         */
+        Table(long[] magics, boolean diagonal) {
+            this.magics = magics;
+            for (int index = 0; index < Bitboards.NUM_SQUARES; index++) {
+                masks[index] = relevantSquares(index, diagonal);
+                shifts[index] = Long.SIZE - Long.bitCount(masks[index]);
+                attacks[index] = new long[1 << Long.bitCount(masks[index])];
+
+                // Enumerate every arrangement of blockers on the relevant squares
+                long occupied = 0;
+                do {
+                    attacks[index][getKey(index, occupied)] = slowAttacks(index, occupied, diagonal);
+                    occupied = (occupied - masks[index]) & masks[index];
+                } while (occupied != 0);
+            }
+        }
+
+        /**
+         * @param index of the piece's square
+         * @param occupied squares containing a piece
+         * @return index into the attack table of the square
+         */
+        private int getKey(int index, long occupied) {
+            return (int) (((occupied & masks[index]) * magics[index]) >>> shifts[index]);
+        }
+
+        long attacks(int index, long occupied) {
+            return attacks[index][getKey(index, occupied)];
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package model.util;
+
+import model.Colour;
+import model.PieceType;
+import model.Square;
+import model.piece.PieceState;
+import model.pieces.PieceBitboards;
+
+import java.util.Random;
+
+/**
+ * Random keys for Zobrist hashing of positions. The key of a position is the XOR of the key of every living piece on
+ * its square, plus the key for black to move if it is black's turn. As XOR is its own inverse, the key can be kept
+ * up to date by XOR-ing in the keys of the pieces that move, rather than being recalculated for every position.
+ */
+public class Zobrist {
+
+    /**
+     * Seed for the random keys, fixed so that keys are the same every time the application runs
+     */
+    private static final long SEED = 0x2F6A3C1D5B4E7089L;
+
+    /**
+     * Key for each piece on each square, indexed by Colour.ordinal(), PieceType.ordinal() then square index
+     */
+    private static final long[][][] PIECE_KEYS =
+            new long[Colour.values().length][PieceType.values().length][Bitboards.NUM_SQUARES];
+
+    /**
+     * Key included when it is black's turn to move
+     */
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        Random random = new Random(SEED);
+        for (long[][] colourKeys : PIECE_KEYS) {
+            for (long[] typeKeys : colourKeys) {
+                for (int index = 0; index < Bitboards.NUM_SQUARES; index++) {
+                    typeKeys[index] = random.nextLong();
+                }
+            }
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * @param type
+     * @param colour
+     * @param square
+     * @return key for a piece of the given type and colour on the square, or 0 if the square is Square.NONE
+     */
+    public static long pieceKey(PieceType type, Colour colour, Square square) {
+        if (square == Square.NONE) {
+            return 0;
+        }
+        return PIECE_KEYS[colour.ordinal()][type.ordinal()][Bitboards.index(square)];
+    }
+
+    /**
+     * @param state
+     * @return key for the piece in the given state, or 0 if the piece is dead
+     */
+    public static long pieceKey(PieceState state) {
+        return pieceKey(state.getType(), state.getColour(), state.getSquare());
+    }
+
+    /**
+     * Calculates the key of a position from scratch.
+     * @param bitboards locations of the pieces on the board
+     * @param colourToMove
+     * @return key of the position with the given colour to move
+     */
+    public static long key(PieceBitboards bitboards, Colour colourToMove) {
+        long key = colourToMove == Colour.BLACK ? BLACK_TO_MOVE_KEY : 0;
+        for (Colour colour : Colour.values()) {
+            for (PieceType type : PieceType.values()) {
+                long pieces = bitboards.getPieces(type, colour);
+                while (pieces != Bitboards.EMPTY) {
+                    key ^= PIECE_KEYS[colour.ordinal()][type.ordinal()][Long.numberOfTrailingZeros(pieces)];
+                    pieces &= pieces - 1;
+                }
+            }
+        }
+        return key;
+    }
+
+    /**
+     * @return key included when it is black's turn to move, which is XOR-ed in or out every move
+     */
+    public static long blackToMoveKey() {
+        return BLACK_TO_MOVE_KEY;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.chess_backend;
+
+import model.Colour;
+import model.Move;
+import model.PieceType;
+import model.Square;
+import model.game.Game;
+import model.piece.PieceState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class GameRegistryTest {
+
+    @Test
+    public void testCreate() {
+        // Given
+        GameRegistry registry = new GameRegistry();
+
+        // When
+        String id1 = registry.create();
+        String id2 = registry.create();
+
+        // Then
+        assertNotEquals(id1, id2);
+        assertEquals(2, registry.size());
+        assertEquals(Colour.WHITE, registry.withGame(id1, Game::getTurn));
+    }
+
+    @Test
+    public void testWithGameWhenNoGame() {
+        // Given
+        GameRegistry registry = new GameRegistry();
+
+        // When
+        try {
+            registry.withGame("missing", Game::getTurn);
+            fail();
+        } catch (GameNotFoundException exception) {
+
+            // Then
+            assertEquals("There is no game missing.", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testRemove() {
+        // Given
+        GameRegistry registry = new GameRegistry();
+        String id = registry.create();
+
+        // When
+        boolean removed = registry.remove(id);
+
+        // Then
+        assertTrue(removed);
+        assertFalse(registry.remove(id));
+        assertEquals(0, registry.size());
+    }
+
+    /**
+     * Several threads race to make the first move in the same game, so exactly one of them must succeed
+     */
+    @Test
+    public void testWithGameMakesOneMoveAtATime() throws Exception {
+        // Given
+        GameRegistry registry = new GameRegistry();
+        String id = registry.create();
+        Move move = Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E2), Square.E4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> registry.withGame(id, game -> {
+                if (game.getTurn() != Colour.WHITE) {
+                    return false;
+                }
+                game.move(move);
+                return true;
+            })));
+        }
+        int moved = 0;
+        for (Future<Boolean> result : results) {
+            moved += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(1, moved);
+        assertEquals(Colour.BLACK, registry.withGame(id, Game::getTurn));
+    }
+
+    @Test
+    public void testCreateRemovesIdleGames() {
+        // Given
+        long[] now = {0};
+        GameRegistry registry = new GameRegistry(10, 1000, () -> now[0]);
+        String idle = registry.create();
+        now[0] = 600;
+        String used = registry.create();
+        now[0] = 900;
+        registry.withGame(used, Game::getTurn);
+
+        // When
+        now[0] = 1100;
+        String created = registry.create();
+
+        // Then
+        assertEquals(2, registry.size());
+        assertGameNotFound(registry, idle);
+        assertEquals(Colour.WHITE, registry.withGame(used, Game::getTurn));
+        assertEquals(Colour.WHITE, registry.withGame(created, Game::getTurn));
+    }
+
+    @Test
+    public void testCreateWhenFullRemovesFinishedGames() {
+        // Given
+        long[] now = {0};
+        GameRegistry registry = new GameRegistry(2, 1000, () -> now[0]);
+        String finished = registry.create();
+        String inProgress = registry.create();
+        registry.withGame(finished, game -> {
+            game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.F2), Square.F3));
+            game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.E7), Square.E5));
+            game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.G2), Square.G4));
+            return game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.BLACK, Square.D8), Square.H4));
+        });
+
+        // When
+        String created = registry.create();
+
+        // Then
+        assertEquals(2, registry.size());
+        assertGameNotFound(registry, finished);
+        assertNotNull(registry.withGame(inProgress, Game::getTurn));
+        assertNotNull(registry.withGame(created, Game::getTurn));
+    }
+
+    @Test
+    public void testCreateWhenFullRemovesLeastRecentlyUsedGame() {
+        // Given
+        long[] now = {0};
+        GameRegistry registry = new GameRegistry(2, 1000, () -> now[0]);
+        String first = registry.create();
+        now[0] = 10;
+        String second = registry.create();
+        now[0] = 20;
+        registry.withGame(first, Game::getTurn);
+
+        // When
+        String created = registry.create();
+
+        // Then
+        assertEquals(2, registry.size());
+        assertGameNotFound(registry, second);
+        assertNotNull(registry.withGame(first, Game::getTurn));
+        assertNotNull(registry.withGame(created, Game::getTurn));
+    }
+
+    private void assertGameNotFound(GameRegistry registry, String id) {
+        try {
+            registry.withGame(id, Game::getTurn);
+            fail();
+        } catch (GameNotFoundException exception) {
+            assertEquals(String.format("There is no game %s.", id), exception.getMessage());
+        }
+    }
+}
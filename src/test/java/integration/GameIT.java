@@ -4,13 +4,19 @@ import model.Colour;
 import model.Move;
 import model.PieceType;
 import model.Square;
+import model.exception.ChessException;
 import model.game.Game;
 import model.game.GameState;
 import model.game.GameStatus;
 import model.piece.PieceState;
+import model.search.SearchLimits;
+import model.search.SearchResult;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
 
 public class GameIT {
 
@@ -40,34 +46,75 @@ public class GameIT {
         Game game = new Game();
 
         // White pawn moves from E2 to E3
-        GameState state = game.move(new Move(new PieceState(PieceType.PAWN, Colour.WHITE, Square.E2), Square.E3));
+        GameState state = game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E2), Square.E3));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // Black pawn moves from A7 to A6
-        state = game.move(new Move(new PieceState(PieceType.PAWN, Colour.BLACK, Square.A7), Square.A6));
+        state = game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.A7), Square.A6));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // White bishop moves from F1 to C4
-        state = game.move(new Move(new PieceState(PieceType.BISHOP, Colour.WHITE, Square.F1), Square.C4));
+        state = game.move(Move.of(PieceState.of(PieceType.BISHOP, Colour.WHITE, Square.F1), Square.C4));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // Black pawn moves from H7 to H6
-        state = game.move(new Move(new PieceState(PieceType.PAWN, Colour.BLACK, Square.H7), Square.H6));
+        state = game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.H7), Square.H6));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // White queen moves from D1 to F3
-        state = game.move(new Move(new PieceState(PieceType.QUEEN, Colour.WHITE, Square.D1), Square.F3));
+        state = game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.D1), Square.F3));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // Black castle moves from H8 to H7
-        state = game.move(new Move(new PieceState(PieceType.CASTLE, Colour.BLACK, Square.H8), Square.H7));
+        state = game.move(Move.of(PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.H8), Square.H7));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // White queen moves from F3 to F7
-        state = game.move(new Move(new PieceState(PieceType.QUEEN, Colour.WHITE, Square.F3), Square.F7));
+        state = game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.F3), Square.F7));
         assertEquals(GameStatus.OVER_CHECKMATE, state.getStatus());
     }
 
+    /**
+     * Black tries to ignore check from the white queen, which is rejected without changing the game, then blocks it:
+     *
+     * WP: E2 to E3
+     * BP: F7 to F6
+     * WQ: D1 to H5
+     * BP: A7 to A6 (rejected)
+     * BP: G7 to G6
+     *
+     * 8: |BC|BH|BB|BQ|BK|BB|BH|BC|
+     * 7: |BP|BP|BP|BP|BP|BP|BP|BP|
+     * 6: |  |__|  |__|  |__|  |__|
+     * 5: |__|  |__|  |__|  |__|  |
+     * 4: |  |__|  |__|  |__|  |__|
+     * 3: |__|  |__|  |__|  |__|  |
+     * 2: |WP|WP|WP|WP|WP|WP|WP|WP|
+     * 1: |WC|WH|WB|WQ|WK|WB|WH|WC|
+     *     A  B  C  D  E  F  G  H
+     */
+    @Test
+    public void testMoveIntoCheckLeavesGameUnchanged() {
+        Game game = new Game();
+        game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E2), Square.E3));
+        game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.F7), Square.F6));
+        game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.D1), Square.H5));
+        List<Move> legalMoves = game.legalMoves();
+
+        // Black pawn moves from A7 to A6 leaving the king in check
+        try {
+            game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.A7), Square.A6));
+            fail();
+        } catch (ChessException exception) {
+            assertEquals("Colour BLACK cannot be in check after their move.", exception.getMessage());
+        }
+        assertEquals(legalMoves, game.legalMoves());
+
+        // Black pawn moves from G7 to G6 blocking the check
+        GameState state = game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.G7), Square.G6));
+        assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
+    }
+
     /**
      * White and black perform ten move stalemate:
      *
@@ -106,79 +153,142 @@ public class GameIT {
         Game game = new Game();
 
         // White pawn from E2 to E3
-        GameState state = game.move(new Move(new PieceState(PieceType.PAWN, Colour.WHITE, Square.E2), Square.E3));
+        GameState state = game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E2), Square.E3));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // Black pawn from A7 to A5
-        state = game.move(new Move(new PieceState(PieceType.PAWN, Colour.BLACK, Square.A7), Square.A5));
+        state = game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.A7), Square.A5));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // White queen from D1 to H5
-        state = game.move(new Move(new PieceState(PieceType.QUEEN, Colour.WHITE, Square.D1), Square.H5));
+        state = game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.D1), Square.H5));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // Black castle from A8 to A6
-        state = game.move(new Move(new PieceState(PieceType.CASTLE, Colour.BLACK, Square.A8), Square.A6));
+        state = game.move(Move.of(PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.A8), Square.A6));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // White queen from H5 to A5
-        state = game.move(new Move(new PieceState(PieceType.QUEEN, Colour.WHITE, Square.H5), Square.A5));
+        state = game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.H5), Square.A5));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // Black pawn from H7 to H5
-        state = game.move(new Move(new PieceState(PieceType.PAWN, Colour.BLACK, Square.H7), Square.H5));
+        state = game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.H7), Square.H5));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // White queen from A5 to C7
-        state = game.move(new Move(new PieceState(PieceType.QUEEN, Colour.WHITE, Square.A5), Square.C7));
+        state = game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.A5), Square.C7));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // Black castle from A6 to H6
-        state = game.move(new Move(new PieceState(PieceType.CASTLE, Colour.BLACK, Square.A6), Square.H6));
+        state = game.move(Move.of(PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.A6), Square.H6));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // White pawn from H2 to H4
-        state = game.move(new Move(new PieceState(PieceType.PAWN, Colour.WHITE, Square.H2), Square.H4));
+        state = game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.H2), Square.H4));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // Black pawn from F7 to F6
-        state = game.move(new Move(new PieceState(PieceType.PAWN, Colour.BLACK, Square.F7), Square.F6));
+        state = game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.F7), Square.F6));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // White queen from C7 to D7 - check
-        state = game.move(new Move(new PieceState(PieceType.QUEEN, Colour.WHITE, Square.C7), Square.D7));
+        state = game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.C7), Square.D7));
         assertEquals(GameStatus.IN_PROGRESS_CHECK, state.getStatus());
 
         // Black king from E8 to F7
-        state = game.move(new Move(new PieceState(PieceType.KING, Colour.BLACK, Square.E8), Square.F7));
+        state = game.move(Move.of(PieceState.of(PieceType.KING, Colour.BLACK, Square.E8), Square.F7));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // White queen from D7 to B7
-        state = game.move(new Move(new PieceState(PieceType.QUEEN, Colour.WHITE, Square.D7), Square.B7));
+        state = game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.D7), Square.B7));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // Black queen from D8 to D3
-        state = game.move(new Move(new PieceState(PieceType.QUEEN, Colour.BLACK, Square.D8), Square.D3));
+        state = game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.BLACK, Square.D8), Square.D3));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // White queen from B7 to B8
-        state = game.move(new Move(new PieceState(PieceType.QUEEN, Colour.WHITE, Square.B7), Square.B8));
+        state = game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.B7), Square.B8));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // Black queen from D3 to H7
-        state = game.move(new Move(new PieceState(PieceType.QUEEN, Colour.BLACK, Square.D3), Square.H7));
+        state = game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.BLACK, Square.D3), Square.H7));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // White queen from B8 to C8
-        state = game.move(new Move(new PieceState(PieceType.QUEEN, Colour.WHITE, Square.B8), Square.C8));
+        state = game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.B8), Square.C8));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // Black king from F7 to G6
-        state = game.move(new Move(new PieceState(PieceType.KING, Colour.BLACK, Square.F7), Square.G6));
+        state = game.move(Move.of(PieceState.of(PieceType.KING, Colour.BLACK, Square.F7), Square.G6));
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
 
         // White queen from C8 to E6
-        state = game.move(new Move(new PieceState(PieceType.QUEEN, Colour.WHITE, Square.C8), Square.E6));
+        state = game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.C8), Square.E6));
         assertEquals(GameStatus.OVER_STALEMATE, state.getStatus());
     }
+
+    /**
+     * White and black move their knights out and back twice, so the starting position occurs for the third time:
+     *
+     * WH: G1 to F3
+     * BH: G8 to F6
+     * WH: F3 to G1
+     * BH: F6 to G8
+     * WH: G1 to F3
+     * BH: G8 to F6
+     * WH: F3 to G1
+     * BH: F6 to G8
+     */
+    @Test
+    public void testStartToThreefoldRepetition() {
+        Game game = new Game();
+        GameState state = null;
+        for (int i = 0; i < 2; i++) {
+            // White knight moves from G1 to F3
+            state = game.move(Move.of(PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.G1), Square.F3));
+            assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
+
+            // Black knight moves from G8 to F6
+            state = game.move(Move.of(PieceState.of(PieceType.KNIGHT, Colour.BLACK, Square.G8), Square.F6));
+            assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
+
+            // White knight moves from F3 to G1
+            state = game.move(Move.of(PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.F3), Square.G1));
+            assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
+
+            // Black knight moves from F6 to G8
+            state = game.move(Move.of(PieceState.of(PieceType.KNIGHT, Colour.BLACK, Square.F6), Square.G8));
+        }
+        assertEquals(GameStatus.OVER_THREEFOLD_REPETITION, state.getStatus());
+    }
+
+    /**
+     * The computer finds the four move checkmate for white after the same moves as testStartToCheckmate, and the
+     * move it finds is allowed by the game.
+     */
+    @Test
+    public void testFindBestMoveFindsCheckmate() {
+        Game game = new Game();
+        game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E2), Square.E3));
+        game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.A7), Square.A6));
+        game.move(Move.of(PieceState.of(PieceType.BISHOP, Colour.WHITE, Square.F1), Square.C4));
+        game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.H7), Square.H6));
+        game.move(Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.D1), Square.F3));
+
+        // Black searches for its best move
+        SearchResult result = game.findBestMove(SearchLimits.depth(2));
+        assertEquals(Colour.BLACK, result.getBestMove().getPieceState().getColour());
+
+        // Black makes a non-interfering move instead
+        game.move(Move.of(PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.H8), Square.H7));
+
+        // White finds checkmate, reusing positions searched for black's move
+        result = game.findBestMove(SearchLimits.depth(3));
+        assertEquals(Square.F7, result.getBestMove().getTo());
+        assertEquals(true, result.isMateFound());
+        GameState state = game.move(result.getBestMove());
+        assertEquals(GameStatus.OVER_CHECKMATE, state.getStatus());
+    }
 }
@@ -0,0 +1,78 @@
+package model;
+
+import model.piece.PieceState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class MoveTest {
+
+    @Test
+    public void testOfReturnsSameInstanceForEqualMoves() {
+        // When
+        Move move1 = Move.of(PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.G1), Square.F3);
+        Move move2 = Move.of(PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.G1), Square.F3);
+
+        // Then
+        assertSame(move1, move2);
+        assertSame(PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.G1), move1.getPieceState());
+        assertEquals(Square.F3, move1.getTo());
+    }
+
+    @Test
+    public void testOfReturnsDifferentInstancesForDifferentMoves() {
+        // Given
+        PieceState knight = PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.G1);
+
+        // Then
+        assertNotSame(Move.of(knight, Square.F3), Move.of(knight, Square.H3));
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    public void testConstructorCreatesMoveEqualToSharedInstance() {
+        // Given
+        PieceState knight = PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.G1);
+
+        // When
+        Move move = new Move(knight, Square.F3);
+
+        // Then
+        assertNotSame(Move.of(knight, Square.F3), move);
+        assertEquals(Move.of(knight, Square.F3), move);
+        assertEquals(Move.of(knight, Square.F3).hashCode(), move.hashCode());
+        assertNotEquals(Move.of(knight, Square.H3), move);
+    }
+
+    /**
+     * Moves are created the first time they are asked for, so threads asking at the same time must still share one
+     * instance
+     */
+    @Test
+    public void testOfReturnsSameInstanceToEveryThread() throws Exception {
+        // Given
+        PieceState queen = PieceState.of(PieceType.QUEEN, Colour.BLACK, Square.D8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        List<Future<Move>> moves = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            moves.add(executor.submit(() -> Move.of(queen, Square.H4)));
+        }
+
+        // Then
+        for (Future<Move> move : moves) {
+            assertSame(Move.of(queen, Square.H4), move.get());
+        }
+        executor.shutdown();
+    }
+}
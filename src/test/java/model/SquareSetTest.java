@@ -0,0 +1,89 @@
+package model;
+
+import model.util.Bitboards;
+import org.junit.jupiter.api.Test;
+import testutil.CollectionUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SquareSetTest {
+
+    @Test
+    public void testContains() {
+        // Given
+        SquareSet squares = SquareSet.of(Square.A1, Square.E4);
+
+        // Then
+        assertTrue(squares.contains(Square.A1));
+        assertTrue(squares.contains(Square.E4));
+        assertFalse(squares.contains(Square.E5));
+        assertFalse(squares.contains(Square.NONE));
+    }
+
+    @Test
+    public void testOfIgnoresNone() {
+        assertEquals(SquareSet.EMPTY, SquareSet.of(Square.NONE));
+    }
+
+    @Test
+    public void testFromBitboard() {
+        // When
+        SquareSet actual = SquareSet.fromBitboard(Bitboards.bit(Square.B2) | Bitboards.bit(Square.H8));
+
+        // Then
+        assertEquals(SquareSet.of(Square.B2, Square.H8), actual);
+        assertEquals(2, actual.size());
+    }
+
+    @Test
+    public void testUnionAndIntersection() {
+        // Given
+        SquareSet first = SquareSet.of(Square.A1, Square.B2, Square.C3);
+        SquareSet second = SquareSet.of(Square.C3, Square.D4);
+
+        // Then
+        assertEquals(SquareSet.of(Square.A1, Square.B2, Square.C3, Square.D4), first.union(second));
+        assertEquals(SquareSet.of(Square.C3), first.intersection(second));
+        assertTrue(first.intersects(second));
+        assertFalse(first.intersects(SquareSet.of(Square.H8)));
+    }
+
+    @Test
+    public void testIteratesInBitIndexOrder() {
+        // Given
+        SquareSet squares = SquareSet.of(Square.H8, Square.A2, Square.B1);
+
+        // When
+        List<Square> actual = new ArrayList<>();
+        for (Square square : squares) {
+            actual.add(square);
+        }
+
+        // Then
+        assertEquals(Arrays.asList(Square.A2, Square.B1, Square.H8), actual);
+    }
+
+    @Test
+    public void testAsSetEqualsHashSet() {
+        // Given
+        Set<Square> expected = CollectionUtil.createSet(new Square[] {Square.A1, Square.E4, Square.H8});
+
+        // When
+        Set<Square> actual = SquareSet.of(Square.A1, Square.E4, Square.H8).asSet();
+
+        // Then
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
+
+    @Test
+    public void testAsSetIsUnmodifiable() {
+        assertThrows(UnsupportedOperationException.class, () -> SquareSet.EMPTY.asSet().add(Square.A1));
+    }
+}
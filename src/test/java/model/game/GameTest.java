@@ -8,13 +8,23 @@ import model.exception.ChessException;
 import model.piece.PieceState;
 import model.pieces.Board;
 import model.pieces.PiecesState;
+import model.util.Zobrist;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class GameTest {
@@ -30,14 +40,14 @@ public class GameTest {
     @BeforeEach
     public void setupMocks() {
         MockitoAnnotations.initMocks(this);
-        move = new Move(new PieceState(PieceType.KNIGHT, Colour.WHITE, Square.B8), Square.A6);
+        move = Move.of(PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.B8), Square.A6);
         when(board.move(move)).thenReturn(mockPiecesState);
     }
 
     @Test
     public void testMoveWhenNotColoursTurn() {
         // Given
-        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.BLACK);
+        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.BLACK, new PositionStatusCache(16));
 
         // When
         try {
@@ -53,7 +63,7 @@ public class GameTest {
     @Test
     public void testMoveWhenGameAlreadyOver() {
         // Given
-        Game game = new Game(GameStatus.OVER_CHECKMATE, board, Colour.WHITE);
+        Game game = new Game(GameStatus.OVER_CHECKMATE, board, Colour.WHITE, new PositionStatusCache(16));
 
         // When
         try {
@@ -69,8 +79,8 @@ public class GameTest {
     @Test
     public void testMoveWhenColourPuttingThemselvesIntoCheck() {
         // Given
-        when(board.isChecked(Colour.WHITE)).thenReturn(true);
-        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.WHITE);
+        when(board.leavesKingInCheck(move)).thenReturn(true);
+        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.WHITE, new PositionStatusCache(16));
 
         // When
         try {
@@ -80,29 +90,31 @@ public class GameTest {
 
             // Then
             assertEquals("Colour WHITE cannot be in check after their move.", exception.getMessage());
+            verify(board, never()).move(any());
         }
     }
 
     @Test
     public void testMoveWhenMoveDoesNotResultInCheck() {
         // Given
-        when(board.isChecked(Colour.WHITE)).thenReturn(false);
-        when(board.isChecked(Colour.BLACK)).thenReturn(false);
-        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.WHITE);
+        when(board.leavesKingInCheck(move)).thenReturn(false);
+        when(board.evaluateStatus(Colour.BLACK)).thenReturn(GameStatus.IN_PROGRESS);
+        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.WHITE, new PositionStatusCache(16));
 
         // When
         GameState state = game.move(move);
 
         // Then
         assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
+        verify(board, times(1)).evaluateStatus(Colour.BLACK);
     }
 
     @Test
     public void testMoveWhenMoveResultsInCheck() {
         // Given
-        when(board.isChecked(Colour.WHITE)).thenReturn(false);
-        when(board.isChecked(Colour.BLACK)).thenReturn(true);
-        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.WHITE);
+        when(board.leavesKingInCheck(move)).thenReturn(false);
+        when(board.evaluateStatus(Colour.BLACK)).thenReturn(GameStatus.IN_PROGRESS_CHECK);
+        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.WHITE, new PositionStatusCache(16));
 
         // When
         GameState state = game.move(move);
@@ -115,9 +127,9 @@ public class GameTest {
     @Test
     public void testMoveWhenMoveResultsInCheckmate() {
         // Given
-        when(board.isChecked(Colour.WHITE)).thenReturn(false);
-        when(board.isCheckmated(Colour.BLACK)).thenReturn(true);
-        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.WHITE);
+        when(board.leavesKingInCheck(move)).thenReturn(false);
+        when(board.evaluateStatus(Colour.BLACK)).thenReturn(GameStatus.OVER_CHECKMATE);
+        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.WHITE, new PositionStatusCache(16));
 
         // When
         GameState state = game.move(move);
@@ -130,9 +142,9 @@ public class GameTest {
     @Test
     public void testMoveWhenMoveResultsInStalemate() {
         // Given
-        when(board.isChecked(Colour.WHITE)).thenReturn(false);
-        when(board.isStalemated(Colour.BLACK)).thenReturn(true);
-        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.WHITE);
+        when(board.leavesKingInCheck(move)).thenReturn(false);
+        when(board.evaluateStatus(Colour.BLACK)).thenReturn(GameStatus.OVER_STALEMATE);
+        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.WHITE, new PositionStatusCache(16));
 
         // When
         GameState state = game.move(move);
@@ -141,4 +153,124 @@ public class GameTest {
         assertEquals(mockPiecesState, state.getState());
         assertEquals(GameStatus.OVER_STALEMATE, state.getStatus());
     }
+
+    @Test
+    public void testMoveUsesCachedStatusOfPosition() {
+        // Given
+        when(mockPiecesState.getZobristKey()).thenReturn(42L);
+        when(board.evaluateStatus(Colour.BLACK)).thenReturn(GameStatus.IN_PROGRESS_CHECK);
+        PositionStatusCache statusCache = new PositionStatusCache(16);
+        new Game(GameStatus.IN_PROGRESS, board, Colour.WHITE, statusCache).move(move);
+
+        // When
+        GameState state = new Game(GameStatus.IN_PROGRESS, board, Colour.WHITE, statusCache).move(move);
+
+        // Then
+        assertEquals(GameStatus.IN_PROGRESS_CHECK, state.getStatus());
+        verify(board, times(1)).evaluateStatus(Colour.BLACK);
+        assertEquals(1, statusCache.getHits());
+        assertEquals(1, statusCache.getMisses());
+    }
+
+    @Test
+    public void testMoveWhenMoveRepeatsPositionForThirdTime() {
+        // Given
+        PiecesState blackPiecesState = mock(PiecesState.class);
+        when(board.getZobristKey()).thenReturn(7L);
+        when(mockPiecesState.getZobristKey()).thenReturn(8L);
+        when(blackPiecesState.getZobristKey()).thenReturn(7L);
+        when(board.evaluateStatus(any())).thenReturn(GameStatus.IN_PROGRESS);
+        Move blackMove = Move.of(PieceState.of(PieceType.KNIGHT, Colour.BLACK, Square.A6), Square.B8);
+        when(board.move(blackMove)).thenReturn(blackPiecesState);
+        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.WHITE, new PositionStatusCache(16));
+
+        // When
+        game.move(move);
+        game.move(blackMove);
+        GameState third = game.move(move);
+        GameState fourth = game.move(blackMove);
+
+        // Then
+        assertEquals(GameStatus.IN_PROGRESS, third.getStatus());
+        assertEquals(GameStatus.OVER_THREEFOLD_REPETITION, fourth.getStatus());
+    }
+
+    @Test
+    public void testMoveWhenFiftyMovesWithoutCaptureOrPawnMove() {
+        // Given
+        long[] key = {0};
+        when(mockPiecesState.getZobristKey()).thenAnswer(invocation -> ++key[0]);
+        when(board.evaluateStatus(any())).thenReturn(GameStatus.IN_PROGRESS);
+        Move blackMove = Move.of(PieceState.of(PieceType.KNIGHT, Colour.BLACK, Square.A6), Square.B8);
+        when(board.move(blackMove)).thenReturn(mockPiecesState);
+        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.WHITE, new PositionStatusCache(16));
+
+        // When
+        GameState state = null;
+        for (int i = 0; i < PositionHistory.FIFTY_MOVE_LIMIT / 2; i++) {
+            state = game.move(move);
+            state = game.move(blackMove);
+        }
+
+        // Then
+        assertEquals(GameStatus.OVER_FIFTY_MOVES, state.getStatus());
+    }
+
+    @Test
+    public void testZobristKeyIncludesColourToMoveGivenToGame() {
+        // Given
+        PositionStatusCache statusCache = new PositionStatusCache(16);
+        Game game = new Game(GameStatus.IN_PROGRESS, new Board(), Colour.BLACK, statusCache);
+
+        // When
+        GameState state = game.move(Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.E7), Square.E5));
+
+        // Then
+        long expectedKey = Zobrist.key(state.getState().getBitboards(), Colour.WHITE);
+        assertEquals(expectedKey, state.getState().getZobristKey());
+        assertEquals(GameStatus.IN_PROGRESS, statusCache.get(expectedKey, Colour.WHITE));
+    }
+
+    @Test
+    public void testMoveWhenGameDrawn() {
+        // Given
+        Game game = new Game(GameStatus.OVER_THREEFOLD_REPETITION, board, Colour.WHITE, new PositionStatusCache(16));
+
+        // When
+        try {
+            game.move(move);
+            fail();
+        } catch (ChessException exception) {
+
+            // Then
+            assertEquals("Cannot make a move as game is over.", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testLegalMoves() {
+        // Given
+        List<Move> moves = Collections.singletonList(move);
+        when(board.legalMoves(Colour.BLACK)).thenReturn(moves);
+        Game game = new Game(GameStatus.IN_PROGRESS, board, Colour.BLACK, new PositionStatusCache(16));
+
+        // When
+        List<Move> actual = game.legalMoves();
+
+        // Then
+        assertEquals(moves, actual);
+    }
+
+    @Test
+    public void testLegalMovesWhenGameOver() {
+        // Given
+        Game game = new Game(GameStatus.OVER_STALEMATE, board, Colour.WHITE, new PositionStatusCache(16));
+
+        // When
+        List<Move> actual = game.legalMoves();
+
+        // Then
+        assertTrue(actual.isEmpty());
+        verify(board, never()).legalMoves(any());
+    }
 }
@@ -0,0 +1,123 @@
+package model.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PositionHistoryTest {
+
+    @Test
+    public void testRepetitionIncludesInitialPosition() {
+        // Given
+        PositionHistory history = new PositionHistory(1L);
+
+        // When
+        history.record(2L, false);
+        history.record(1L, false);
+        history.record(2L, false);
+        history.record(1L, false);
+
+        // Then
+        assertEquals(3, history.getOccurrences(1L));
+        assertEquals(2, history.getOccurrences(2L));
+        assertTrue(history.isRepetition(1L));
+        assertFalse(history.isRepetition(2L));
+    }
+
+    @Test
+    public void testIrreversibleMoveForgetsEarlierPositions() {
+        // Given
+        PositionHistory history = new PositionHistory(1L);
+        history.record(1L, false);
+        history.record(2L, false);
+
+        // When
+        history.record(1L, true);
+
+        // Then
+        assertEquals(1, history.getOccurrences(1L));
+        assertEquals(0, history.getOccurrences(2L));
+        assertEquals(0, history.getHalfMoveClock());
+    }
+
+    @Test
+    public void testFiftyMoves() {
+        // Given
+        PositionHistory history = new PositionHistory(0L);
+
+        for (long key = 1; key < PositionHistory.FIFTY_MOVE_LIMIT; key++) {
+            // When
+            history.record(key, false);
+
+            // Then
+            assertFalse(history.isFiftyMoves());
+        }
+        history.record(PositionHistory.FIFTY_MOVE_LIMIT, false);
+        assertTrue(history.isFiftyMoves());
+        assertEquals(PositionHistory.FIFTY_MOVE_LIMIT, history.getHalfMoveClock());
+    }
+
+    @Test
+    public void testOldestPositionIsDroppedWhenFull() {
+        // Given
+        PositionHistory history = new PositionHistory(0L);
+        for (long key = 1; key <= PositionHistory.FIFTY_MOVE_LIMIT; key++) {
+            history.record(key, false);
+        }
+
+        // When
+        history.record(0L, false);
+
+        // Then
+        assertEquals(1, history.getOccurrences(0L));
+        assertEquals(1, history.getOccurrences(1L));
+    }
+
+    @Test
+    public void testRepetitionOnlyComparesPositionsWithSameColourToMove() {
+        // Given
+        PositionHistory history = new PositionHistory(1L);
+
+        // When
+        history.record(1L, false);
+        history.record(1L, false);
+
+        // Then
+        assertEquals(3, history.getOccurrences(1L));
+        assertFalse(history.isRepetition(1L));
+    }
+
+    /**
+     * Recording positions and checking for repetition happen after every move, so must not create objects.
+     */
+    @Test
+    public void testRecordAndIsRepetitionDoNotAllocate() {
+        // Given
+        PositionHistory history = new PositionHistory(0L);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        recordPositions(history, 1000);
+
+        // When
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long measurement = threads.getThreadAllocatedBytes(threadId) - before;
+        before = threads.getThreadAllocatedBytes(threadId);
+        recordPositions(history, 1000);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before - measurement;
+
+        // Then
+        assertEquals(0, allocated);
+    }
+
+    private void recordPositions(PositionHistory history, int times) {
+        for (int i = 0; i < times; i++) {
+            long key = i % 4;
+            history.record(key, i % 50 == 0);
+            history.isRepetition(key);
+        }
+    }
+}
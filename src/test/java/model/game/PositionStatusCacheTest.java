@@ -0,0 +1,133 @@
+package model.game;
+
+import model.Colour;
+import model.exception.ChessException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class PositionStatusCacheTest {
+
+    @Test
+    public void testGetWhenPositionIsCached() {
+        // Given
+        PositionStatusCache cache = new PositionStatusCache(4);
+        cache.put(1L, Colour.WHITE, GameStatus.IN_PROGRESS_CHECK);
+
+        // When
+        GameStatus status = cache.get(1L, Colour.WHITE);
+
+        // Then
+        assertEquals(GameStatus.IN_PROGRESS_CHECK, status);
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void testGetWhenOnlyOtherColourIsCached() {
+        // Given
+        PositionStatusCache cache = new PositionStatusCache(4);
+        cache.put(1L, Colour.WHITE, GameStatus.OVER_CHECKMATE);
+
+        // When
+        GameStatus status = cache.get(1L, Colour.BLACK);
+
+        // Then
+        assertNull(status);
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testPutWhenFullEvictsPositionNotLookedUp() {
+        // Given
+        PositionStatusCache cache = new PositionStatusCache(3);
+        cache.put(1L, Colour.WHITE, GameStatus.IN_PROGRESS);
+        cache.put(2L, Colour.WHITE, GameStatus.IN_PROGRESS);
+        cache.put(3L, Colour.WHITE, GameStatus.IN_PROGRESS);
+        cache.get(1L, Colour.WHITE);
+        cache.get(3L, Colour.WHITE);
+
+        // When
+        cache.put(4L, Colour.WHITE, GameStatus.IN_PROGRESS);
+
+        // Then
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(2L, Colour.WHITE));
+        assertEquals(GameStatus.IN_PROGRESS, cache.get(1L, Colour.WHITE));
+        assertEquals(GameStatus.IN_PROGRESS, cache.get(3L, Colour.WHITE));
+        assertEquals(GameStatus.IN_PROGRESS, cache.get(4L, Colour.WHITE));
+    }
+
+    @Test
+    public void testSizeStaysWithinCapacityWhenUsedByManyThreads() throws InterruptedException {
+        // Given
+        PositionStatusCache cache = new PositionStatusCache(100);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            long offset = i * 1000L;
+            threads.add(new Thread(() -> {
+                for (long key = 0; key < 1000; key++) {
+                    cache.put(offset + key, Colour.WHITE, GameStatus.IN_PROGRESS);
+                    cache.get(offset + key / 2, Colour.WHITE);
+                }
+            }));
+        }
+
+        // When
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertEquals(100, cache.size());
+        assertEquals(4000, cache.getHits() + cache.getMisses());
+        assertEquals(3900, cache.getEvictions());
+    }
+
+    @Test
+    public void testSizeStaysWithinCapacityWhenThreadsPutSamePositions() throws InterruptedException {
+        // Given
+        PositionStatusCache cache = new PositionStatusCache(100);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread(() -> {
+                for (long key = 0; key < 10_000; key++) {
+                    cache.put(key % 300, Colour.WHITE, GameStatus.IN_PROGRESS);
+                    cache.get(key % 150, Colour.WHITE);
+                }
+            }));
+        }
+
+        // When
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertEquals(100, cache.size());
+        assertEquals(40_000, cache.getHits() + cache.getMisses());
+    }
+
+    @Test
+    public void testCapacityMustBePositive() {
+        try {
+            new PositionStatusCache(0);
+            fail();
+        } catch (ChessException exception) {
+            assertEquals("Cache capacity must be positive, not 0.", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package model.perft;
+
+import model.Colour;
+import model.util.Fen;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParallelPerftTest {
+
+    @Test
+    public void testCountsMatchPublishedCounts() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (ReferencePosition position : new ReferencePosition[] {
+                    ReferencePosition.START, ReferencePosition.MIDDLEGAME}) {
+                // Given
+                ParallelPerft perft = new ParallelPerft(Fen.parsePieces(position.getFen()), pool);
+                Colour colour = Fen.parseColourToMove(position.getFen());
+
+                for (int depth = 1; depth <= 3; depth++) {
+                    // When
+                    long nodes = perft.countNodes(colour, depth);
+
+                    // Then
+                    assertEquals(position.getExpectedNodes(depth), nodes);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package model.perft;
+
+import model.Colour;
+import model.util.Fen;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PerftTest {
+
+    @Test
+    public void testStartPosition() {
+        assertCountsMatch(ReferencePosition.START, 3);
+    }
+
+    @Test
+    public void testEndgame() {
+        assertCountsMatch(ReferencePosition.ENDGAME, ReferencePosition.ENDGAME.getMaxDepth());
+    }
+
+    @Test
+    public void testMiddlegame() {
+        assertCountsMatch(ReferencePosition.MIDDLEGAME, 2);
+    }
+
+    @Test
+    public void testDepthZeroIsOnePosition() {
+        // Given
+        Perft perft = new Perft(Fen.parsePieces(ReferencePosition.START.getFen()));
+
+        // Then
+        assertEquals(1, perft.countNodes(Colour.WHITE, 0));
+    }
+
+    /**
+     * Checks the number of positions at each depth up to the given depth against the published counts.
+     * @param position
+     * @param maxDepth
+     */
+    private void assertCountsMatch(ReferencePosition position, int maxDepth) {
+        Perft perft = new Perft(Fen.parsePieces(position.getFen()));
+        Colour colour = Fen.parseColourToMove(position.getFen());
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            assertEquals(position.getExpectedNodes(depth), perft.countNodes(colour, depth));
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package model.piece;
 
 import model.Square;
-import model.pieces.PiecesState;
-import testutil.CollectionUtil;
+import model.SquareSet;
+import model.pieces.PieceBitboards;
 
 /**
  * A fake Piece subclass for testing Piece
@@ -14,8 +14,8 @@ public class FakePiece extends Piece {
     }
 
     @Override
-    protected void updateThreatenedAndMoveableSquares(PiecesState event) {
-        moveableSquares = CollectionUtil.createSet(new Square[] {Square.H2, Square.C7});
+    protected void updateThreatenedAndMoveableSquares(PieceBitboards bitboards) {
+        moveableSquares = SquareSet.of(Square.H2, Square.C7).toBitboard();
         threatenedSquares = moveableSquares;
     }
 }
@@ -22,40 +22,40 @@ public class PieceFactoryTest {
         Set<PieceState> expectedPieceStates = new HashSet<>();
         expectedPieceStates.addAll(Arrays.asList(
                 // Expected black pieces
-                new PieceState(PieceType.KING, Colour.BLACK, Square.E8),
-                new PieceState(PieceType.QUEEN, Colour.BLACK, Square.D8),
-                new PieceState(PieceType.BISHOP, Colour.BLACK, Square.C8),
-                new PieceState(PieceType.BISHOP, Colour.BLACK, Square.F8),
-                new PieceState(PieceType.KNIGHT, Colour.BLACK, Square.B8),
-                new PieceState(PieceType.KNIGHT, Colour.BLACK, Square.G8),
-                new PieceState(PieceType.CASTLE, Colour.BLACK, Square.A8),
-                new PieceState(PieceType.CASTLE, Colour.BLACK, Square.H8),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.A7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.B7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.C7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.D7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.E7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.F7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.G7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.H7),
+                PieceState.of(PieceType.KING, Colour.BLACK, Square.E8),
+                PieceState.of(PieceType.QUEEN, Colour.BLACK, Square.D8),
+                PieceState.of(PieceType.BISHOP, Colour.BLACK, Square.C8),
+                PieceState.of(PieceType.BISHOP, Colour.BLACK, Square.F8),
+                PieceState.of(PieceType.KNIGHT, Colour.BLACK, Square.B8),
+                PieceState.of(PieceType.KNIGHT, Colour.BLACK, Square.G8),
+                PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.A8),
+                PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.H8),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.A7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.B7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.C7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.D7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.E7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.F7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.G7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.H7),
 
                 // Expected white pieces
-                new PieceState(PieceType.KING, Colour.WHITE, Square.E1),
-                new PieceState(PieceType.QUEEN, Colour.WHITE, Square.D1),
-                new PieceState(PieceType.BISHOP, Colour.WHITE, Square.C1),
-                new PieceState(PieceType.BISHOP, Colour.WHITE, Square.F1),
-                new PieceState(PieceType.KNIGHT, Colour.WHITE, Square.B1),
-                new PieceState(PieceType.KNIGHT, Colour.WHITE, Square.G1),
-                new PieceState(PieceType.CASTLE, Colour.WHITE, Square.A1),
-                new PieceState(PieceType.CASTLE, Colour.WHITE, Square.H1),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.A2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.B2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.C2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.D2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.E2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.F2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.G2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.H2)));
+                PieceState.of(PieceType.KING, Colour.WHITE, Square.E1),
+                PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.D1),
+                PieceState.of(PieceType.BISHOP, Colour.WHITE, Square.C1),
+                PieceState.of(PieceType.BISHOP, Colour.WHITE, Square.F1),
+                PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.B1),
+                PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.G1),
+                PieceState.of(PieceType.CASTLE, Colour.WHITE, Square.A1),
+                PieceState.of(PieceType.CASTLE, Colour.WHITE, Square.H1),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.A2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.B2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.C2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.D2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.F2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.G2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.H2)));
 
         assertEquals(expectedPieceStates, actual.getPieceStates());
     }
@@ -64,8 +64,8 @@ public class PieceFactoryTest {
     public void testCreatePieces() {
         // Given
         Set<PieceState> pieces = CollectionUtil.createSet(new PieceState[] {
-                new PieceState(PieceType.KING, Colour.BLACK, Square.E2),
-                new PieceState(PieceType.BISHOP, Colour.WHITE, Square.A7)
+                PieceState.of(PieceType.KING, Colour.BLACK, Square.E2),
+                PieceState.of(PieceType.BISHOP, Colour.WHITE, Square.A7)
         });
 
         // When
@@ -81,7 +81,7 @@ public class PieceFactoryTest {
     @Test
     public void testCreatePieceWhenPieceIsPawn() {
         // Given
-        PieceState expected = new PieceState(PieceType.PAWN, Colour.WHITE, Square.H2);
+        PieceState expected = PieceState.of(PieceType.PAWN, Colour.WHITE, Square.H2);
 
         // When
         Piece piece = new PieceFactory().createPiece(expected);
@@ -94,7 +94,7 @@ public class PieceFactoryTest {
     @Test
     public void testCreatePieceWhenPieceIsCastle() {
         // Given
-        PieceState expected = new PieceState(PieceType.CASTLE, Colour.BLACK, Square.H2);
+        PieceState expected = PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.H2);
 
         // When
         Piece piece = new PieceFactory().createPiece(expected);
@@ -107,7 +107,7 @@ public class PieceFactoryTest {
     @Test
     public void testCreatePieceWhenPieceIsKnight() {
         // Given
-        PieceState expected = new PieceState(PieceType.KNIGHT, Colour.WHITE, Square.H2);
+        PieceState expected = PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.H2);
 
         // When
         Piece piece = new PieceFactory().createPiece(expected);
@@ -120,7 +120,7 @@ public class PieceFactoryTest {
     @Test
     public void testCreatePieceWhenPieceIsBishop() {
         // Given
-        PieceState expected = new PieceState(PieceType.BISHOP, Colour.BLACK, Square.H2);
+        PieceState expected = PieceState.of(PieceType.BISHOP, Colour.BLACK, Square.H2);
 
         // When
         Piece piece = new PieceFactory().createPiece(expected);
@@ -133,7 +133,7 @@ public class PieceFactoryTest {
     @Test
     public void testCreatePieceWhenPieceIsQueen() {
         // Given
-        PieceState expected = new PieceState(PieceType.QUEEN, Colour.WHITE, Square.H2);
+        PieceState expected = PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.H2);
 
         // When
         Piece piece = new PieceFactory().createPiece(expected);
@@ -146,7 +146,7 @@ public class PieceFactoryTest {
     @Test
     public void testCreatePieceWhenPieceIsKing() {
         // Given
-        PieceState expected = new PieceState(PieceType.KING, Colour.BLACK, Square.H2);
+        PieceState expected = PieceState.of(PieceType.KING, Colour.BLACK, Square.H2);
 
         // When
         Piece piece = new PieceFactory().createPiece(expected);
@@ -11,8 +11,8 @@ public class PieceStateTest {
     @Test
     public void testEqualsWhenNotEqual() {
         // Given
-        PieceState state1 = new PieceState(PieceType.QUEEN, Colour.WHITE, Square.A2);
-        PieceState state2 = new PieceState(PieceType.QUEEN, Colour.WHITE, Square.A4);
+        PieceState state1 = PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.A2);
+        PieceState state2 = PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.A4);
 
         // When
         boolean areEqual = state1.equals(state2);
@@ -27,8 +27,8 @@ public class PieceStateTest {
     @Test
     public void testEqualsWhenEqual() {
         // Given
-        PieceState state1 = new PieceState(PieceType.QUEEN, Colour.WHITE, Square.A2);
-        PieceState state2 = new PieceState(PieceType.QUEEN, Colour.WHITE, Square.A2);
+        PieceState state1 = PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.A2);
+        PieceState state2 = PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.A2);
 
         // When
         boolean areEqual = state1.equals(state2);
@@ -40,10 +40,42 @@ public class PieceStateTest {
         assertTrue(areEqual);
     }
 
+    @Test
+    public void testOfReturnsSameInstanceForEqualStates() {
+        // When
+        PieceState state1 = PieceState.of(PieceType.BISHOP, Colour.BLACK, Square.C8);
+        PieceState state2 = PieceState.of(PieceType.BISHOP, Colour.BLACK, Square.C8);
+
+        // Then
+        assertSame(state1, state2);
+        assertEquals(PieceType.BISHOP, state1.getType());
+        assertEquals(Colour.BLACK, state1.getColour());
+        assertEquals(Square.C8, state1.getSquare());
+    }
+
+    @Test
+    public void testIndexesAreDistinct() {
+        // Given
+        boolean[] seen = new boolean[PieceState.NUM_STATES];
+
+        for (Colour colour : Colour.values()) {
+            for (PieceType type : PieceType.values()) {
+                for (Square square : Square.values()) {
+                    // When
+                    int index = PieceState.of(type, colour, square).getIndex();
+
+                    // Then
+                    assertFalse(seen[index]);
+                    seen[index] = true;
+                }
+            }
+        }
+    }
+
     @Test
     public void testToStringWhenAlive() {
         // Given
-        PieceState state = new PieceState(PieceType.PAWN, Colour.BLACK, Square.E7);
+        PieceState state = PieceState.of(PieceType.PAWN, Colour.BLACK, Square.E7);
 
         // When
         String stateString = state.toString();
@@ -55,7 +87,7 @@ public class PieceStateTest {
     @Test
     public void testToStringWhenDead() {
         // Given
-        PieceState state = new PieceState(PieceType.KNIGHT, Colour.BLACK, Square.NONE);
+        PieceState state = PieceState.of(PieceType.KNIGHT, Colour.BLACK, Square.NONE);
 
         // When
         String stateString = state.toString();
@@ -3,8 +3,9 @@ package model.piece;
 import model.Colour;
 import model.PieceType;
 import model.Square;
+import model.SquareSet;
 import model.exception.ChessException;
-import model.pieces.PiecesState;
+import model.pieces.PieceBitboards;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import testutil.CollectionUtil;
@@ -12,10 +13,6 @@ import testutil.CollectionUtil;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Set;
-
 public class PieceTest {
 
     /**
@@ -28,8 +25,8 @@ public class PieceTest {
      */
     @BeforeEach
     public void setupFakePiece() {
-        fakePiece = new FakePiece(new PieceState(PieceType.PAWN, Colour.WHITE, Square.E1));
-        fakePiece.moveableSquares = CollectionUtil.createSet(new Square[] {Square. B6, Square.A8});;
+        fakePiece = new FakePiece(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E1));
+        fakePiece.moveableSquares = SquareSet.of(Square.B6, Square.A8).toBitboard();
     }
 
     @Test
@@ -105,14 +102,15 @@ public class PieceTest {
     @Test
     public void testUpdateWhenAlive() {
         // Given
-        PiecesState state = mock(PiecesState.class);
+        PieceBitboards bitboards = mock(PieceBitboards.class);
 
         // When
-        fakePiece.update(state); // fake piece updates moveable squares to H2 and C7
+        fakePiece.update(bitboards); // fake piece updates moveable squares to H2 and C7
 
         // Then
-        Set<Square> expected = CollectionUtil.createSet(new Square[] {Square.H2, Square.C7});
-        assertEquals(expected, fakePiece.getMoveableSquares());
+        SquareSet expected = SquareSet.of(Square.H2, Square.C7);
+        assertEquals(expected, fakePiece.getMoveableSquareSet());
+        assertEquals(CollectionUtil.createSet(new Square[] {Square.H2, Square.C7}), fakePiece.getMoveableSquares());
         assertTrue(fakePiece.getState().isAlive());
     }
 
@@ -120,16 +118,18 @@ public class PieceTest {
     @Test
     public void testUpdateWhenDead() {
         // Given
-        PiecesState state = mock(PiecesState.class);
+        PieceBitboards bitboards = mock(PieceBitboards.class);
         kill(fakePiece);
 
         // When
-        fakePiece.update(state);
+        fakePiece.update(bitboards);
 
         // Then
         assertFalse(fakePiece.getState().isAlive());
-        assertEquals(new HashSet<>(), fakePiece.getMoveableSquares());
-        assertEquals(new HashSet<>(), fakePiece.getThreatenedSquares());
+        assertEquals(SquareSet.EMPTY, fakePiece.getMoveableSquareSet());
+        assertEquals(SquareSet.EMPTY, fakePiece.getThreatenedSquareSet());
+        assertTrue(fakePiece.getMoveableSquares().isEmpty());
+        assertTrue(fakePiece.getThreatenedSquares().isEmpty());
     }
 
     private void kill(Piece piece) {
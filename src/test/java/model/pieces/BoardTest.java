@@ -3,7 +3,9 @@ package model.pieces;
 import model.Colour;
 import model.Move;
 import model.PieceType;
+import model.Square;
 import model.exception.ChessException;
+import model.game.GameStatus;
 import model.piece.Piece;
 import model.piece.PieceState;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,9 +13,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import testutil.CollectionUtil;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,27 +35,19 @@ public class BoardTest {
     @InjectMocks
     private Board board;
 
-    @Mock
-    private Piece mockKing;
-
-    @Mock
-    private PieceState mockKingState;
-
-    @Mock
-    private PiecesState mockPiecesState;
+    /**
+     * Locations of the pieces on the board
+     */
+    private PieceBitboards bitboards;
 
     @BeforeEach
     public void setupMocks() {
         // Inject dependencies
         MockitoAnnotations.initMocks(this);
 
-        // Mock king for end-of-game checking
-        mockKingState = mock(PieceState.class);
-        when(mockKing.getState()).thenReturn(mockKingState);
-
-        // Mock state of pieces on board
-        mockPiecesState = mock(PiecesState.class);
-        when(piecesMover.generatePiecesState()).thenReturn(mockPiecesState);
+        // Board starts with no pieces on it
+        bitboards = new PieceBitboards();
+        when(piecesMover.getBitboards()).thenReturn(bitboards);
     }
 
     @Test
@@ -74,7 +68,7 @@ public class BoardTest {
     @Test
     public void testIsCheckedWhenThereIsNoKing() {
         // Given
-        when(piecesMover.findPieces(PieceType.KING, Colour.WHITE)).thenReturn(new HashSet<>());
+        bitboards.add(PieceState.of(PieceType.KING, Colour.BLACK, Square.E8));
 
         // When
         try {
@@ -84,17 +78,15 @@ public class BoardTest {
 
             // Then
             assertEquals("There is not exactly one WHITE KING on the board.", exception.getMessage());
-            verify(piecesMover).findPieces(PieceType.KING, Colour.WHITE);
-            verify(piecesMover, never()).findPieces(PieceType.KING, Colour.BLACK);
+            verifyZeroInteractions(endgameHelper);
         }
     }
 
     @Test
     public void testIsCheckedWhenThereIsAKing() {
         // Given
-        when(piecesMover.findPieces(PieceType.KING, Colour.WHITE))
-                .thenReturn(CollectionUtil.createSet(new Piece[] {mockKing}));
-        when(endgameHelper.isInCheck(mockKingState, mockPiecesState)).thenReturn(true);
+        bitboards.add(PieceState.of(PieceType.KING, Colour.WHITE, Square.E1));
+        when(endgameHelper.isInCheck(Colour.WHITE, bitboards)).thenReturn(true);
 
         // When
         boolean isChecked = board.isChecked(Colour.WHITE);
@@ -106,7 +98,7 @@ public class BoardTest {
     @Test
     public void testIsCheckmatedWhenThereIsNoKing() {
         // Given
-        when(piecesMover.findPieces(PieceType.KING, Colour.WHITE)).thenReturn(new HashSet<>());
+        bitboards.add(PieceState.of(PieceType.KING, Colour.BLACK, Square.E8));
 
         // When
         try {
@@ -116,17 +108,15 @@ public class BoardTest {
 
             // Then
             assertEquals("There is not exactly one WHITE KING on the board.", exception.getMessage());
-            verify(piecesMover).findPieces(PieceType.KING, Colour.WHITE);
-            verify(piecesMover, never()).findPieces(PieceType.KING, Colour.BLACK);
+            verifyZeroInteractions(endgameHelper);
         }
     }
 
     @Test
     public void testIsCheckmatedWhenThereIsAKing() {
         // Given
-        when(piecesMover.findPieces(PieceType.KING, Colour.WHITE))
-                .thenReturn(CollectionUtil.createSet(new Piece[] {mockKing}));
-        when(endgameHelper.isInCheckmate(mockKingState, mockPiecesState)).thenReturn(true);
+        bitboards.add(PieceState.of(PieceType.KING, Colour.WHITE, Square.E1));
+        when(endgameHelper.isInCheckmate(Colour.WHITE, bitboards)).thenReturn(true);
 
         // When
         boolean isCheckmated = board.isCheckmated(Colour.WHITE);
@@ -138,7 +128,7 @@ public class BoardTest {
     @Test
     public void testIsStalematedWhenThereIsNoKing() {
         // Given
-        when(piecesMover.findPieces(PieceType.KING, Colour.WHITE)).thenReturn(new HashSet<>());
+        bitboards.add(PieceState.of(PieceType.KING, Colour.BLACK, Square.E8));
 
         // When
         try {
@@ -148,17 +138,15 @@ public class BoardTest {
 
             // Then
             assertEquals("There is not exactly one WHITE KING on the board.", exception.getMessage());
-            verify(piecesMover).findPieces(PieceType.KING, Colour.WHITE);
-            verify(piecesMover, never()).findPieces(PieceType.KING, Colour.BLACK);
+            verifyZeroInteractions(endgameHelper);
         }
     }
 
     @Test
     public void testIsStalematedWhenThereIsAKing() {
         // Given
-        when(piecesMover.findPieces(PieceType.KING, Colour.WHITE))
-                .thenReturn(CollectionUtil.createSet(new Piece[] {mockKing}));
-        when(endgameHelper.isInStalemate(mockKingState, mockPiecesState)).thenReturn(true);
+        bitboards.add(PieceState.of(PieceType.KING, Colour.WHITE, Square.E1));
+        when(endgameHelper.isInStalemate(Colour.WHITE, bitboards)).thenReturn(true);
 
         // When
         boolean isStalemated = board.isStalemated(Colour.WHITE);
@@ -166,4 +154,122 @@ public class BoardTest {
         // Then
         assertTrue(isStalemated);
     }
+
+    @Test
+    public void testEvaluateStatus() {
+        // Given
+        bitboards.add(PieceState.of(PieceType.KING, Colour.BLACK, Square.E8));
+        when(endgameHelper.evaluate(Colour.BLACK, bitboards)).thenReturn(GameStatus.IN_PROGRESS_CHECK);
+
+        // When
+        GameStatus status = board.evaluateStatus(Colour.BLACK);
+
+        // Then
+        assertEquals(GameStatus.IN_PROGRESS_CHECK, status);
+        verify(endgameHelper, times(1)).evaluate(Colour.BLACK, bitboards);
+    }
+
+    /**
+     * 8: |  |__|  |__|BC|__|  |__|
+     * 7: |__|  |__|  |__|  |__|  |
+     * 6: |  |__|  |__|  |__|  |__|
+     * 5: |__|  |__|  |__|  |__|  |
+     * 4: |  |__|  |__|  |__|  |__|
+     * 3: |__|  |__|  |__|  |__|  |
+     * 2: |  |__|  |__|WC|__|  |__|
+     * 1: |__|  |__|  |WK|  |__|  |
+     *     A  B  C  D  E  F  G  H
+     */
+    @Test
+    public void testLegalMoves() {
+        // Given
+        bitboards.add(PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.E8));
+        bitboards.add(PieceState.of(PieceType.CASTLE, Colour.WHITE, Square.E2));
+        bitboards.add(PieceState.of(PieceType.KING, Colour.WHITE, Square.E1));
+
+        // When
+        List<Move> moves = board.legalMoves(Colour.WHITE);
+
+        // Then the pinned castle can only move along the pin, and the king cannot stay on the E column
+        PieceState castle = PieceState.of(PieceType.CASTLE, Colour.WHITE, Square.E2);
+        PieceState king = PieceState.of(PieceType.KING, Colour.WHITE, Square.E1);
+        Set<Move> expected = new HashSet<>();
+        for (Square square : new Square[] {Square.E3, Square.E4, Square.E5, Square.E6, Square.E7, Square.E8}) {
+            expected.add(Move.of(castle, square));
+        }
+        for (Square square : new Square[] {Square.D1, Square.D2, Square.F1, Square.F2}) {
+            expected.add(Move.of(king, square));
+        }
+        assertEquals(expected, new HashSet<>(moves));
+        assertEquals(expected.size(), moves.size());
+    }
+
+    @Test
+    public void testLegalMovesAreCachedUntilNextMove() {
+        // Given
+        bitboards.add(PieceState.of(PieceType.KING, Colour.WHITE, Square.E1));
+        bitboards.add(PieceState.of(PieceType.KING, Colour.BLACK, Square.E8));
+        List<Move> first = board.legalMoves(Colour.WHITE);
+
+        // When
+        List<Move> second = board.legalMoves(Colour.WHITE);
+        List<Move> black = board.legalMoves(Colour.BLACK);
+        board.move(Move.of(PieceState.of(PieceType.KING, Colour.WHITE, Square.E1), Square.E2));
+        List<Move> afterMove = board.legalMoves(Colour.BLACK);
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, black);
+        assertNotSame(black, afterMove);
+        verify(piecesMover, times(3)).getBitboards();
+    }
+
+    /**
+     * 8: |  |__|  |__|BC|__|  |__|
+     * 7: |__|  |__|  |__|  |__|  |
+     * 6: |  |__|  |__|  |__|  |__|
+     * 5: |__|  |__|  |__|  |__|  |
+     * 4: |  |__|  |__|  |__|  |__|
+     * 3: |__|  |__|  |__|  |__|  |
+     * 2: |  |__|  |__|WC|__|  |__|
+     * 1: |__|  |__|  |WK|  |__|  |
+     *     A  B  C  D  E  F  G  H
+     */
+    @Test
+    public void testLeavesKingInCheck() {
+        // Given
+        PieceState castle = PieceState.of(PieceType.CASTLE, Colour.WHITE, Square.E2);
+        bitboards.add(PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.E8));
+        bitboards.add(castle);
+        bitboards.add(PieceState.of(PieceType.KING, Colour.WHITE, Square.E1));
+        Piece piece = mock(Piece.class);
+        when(piece.canMoveTo(any())).thenReturn(true);
+        when(piecesMover.findPiece(castle)).thenReturn(piece);
+
+        // Then
+        assertTrue(board.leavesKingInCheck(Move.of(castle, Square.D2)));
+        assertFalse(board.leavesKingInCheck(Move.of(castle, Square.E5)));
+        verify(piecesMover, never()).move(any());
+        verify(piecesMover, never()).makeMove(any(Move.class));
+    }
+
+    @Test
+    public void testEvaluate() {
+        // Given
+        when(piecesMover.getScore()).thenReturn(150);
+
+        // Then
+        assertEquals(150, board.evaluate(Colour.WHITE));
+        assertEquals(-150, board.evaluate(Colour.BLACK));
+    }
+
+    @Test
+    public void testIsOccupied() {
+        // Given
+        when(piecesMover.findPiece(Square.E2)).thenReturn(mock(Piece.class));
+
+        // Then
+        assertTrue(board.isOccupied(Square.E2));
+        assertFalse(board.isOccupied(Square.E4));
+    }
 }
@@ -0,0 +1,274 @@
+package model.pieces;
+
+import model.Colour;
+import model.Move;
+import model.PieceType;
+import model.Square;
+import model.exception.ChessException;
+import model.piece.PieceFactory;
+import model.piece.PieceState;
+import model.util.Bitboards;
+import model.util.Fen;
+import model.util.MoveList;
+import model.util.MovesCalculator;
+import model.util.PackedMove;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class LegalMoveGeneratorTest {
+
+    /**
+     * Object under test
+     */
+    private final LegalMoveGenerator legalMoveGenerator = new LegalMoveGenerator();
+
+    /**
+     * 8: |  |__|  |__|BC|__|  |__|
+     * 7: |__|  |__|  |__|  |__|  |
+     * 6: |  |__|  |__|  |__|  |__|
+     * 5: |__|  |__|  |__|  |__|  |
+     * 4: |  |__|  |__|  |__|  |__|
+     * 3: |__|  |__|  |__|  |__|  |
+     * 2: |  |__|  |__|WC|__|  |__|
+     * 1: |__|  |__|  |WK|  |__|  |
+     *     A  B  C  D  E  F  G  H
+     */
+    @Test
+    public void testPinnedPieceCanOnlyMoveAlongPin() {
+        // Given
+        PieceBitboards bitboards = createBitboards(
+                PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.E8),
+                PieceState.of(PieceType.CASTLE, Colour.WHITE, Square.E2),
+                PieceState.of(PieceType.KING, Colour.WHITE, Square.E1)
+        );
+
+        // When
+        Set<Square> castleSquares = getSquares(legalMoveGenerator.generateLegalMoves(Colour.WHITE, bitboards),
+                Square.E2);
+
+        // Then
+        Set<Square> expected = new HashSet<>();
+        for (Square square : new Square[] {Square.E3, Square.E4, Square.E5, Square.E6, Square.E7, Square.E8}) {
+            expected.add(square);
+        }
+        assertEquals(expected, castleSquares);
+    }
+
+    /**
+     * 8: |  |__|  |__|BC|__|  |__|
+     * 7: |__|  |__|  |__|  |__|  |
+     * 6: |  |__|  |__|  |__|  |__|
+     * 5: |__|  |__|  |__|  |__|  |
+     * 4: |  |__|  |__|  |__|  |__|
+     * 3: |__|  |__|  |__|  |__|  |
+     * 2: |  |__|  |__|WC|__|  |__|
+     * 1: |__|  |__|  |WK|  |__|  |
+     *     A  B  C  D  E  F  G  H
+     */
+    @Test
+    public void testPackedMovesMarkCaptures() {
+        // Given
+        PieceBitboards bitboards = createBitboards(
+                PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.E8),
+                PieceState.of(PieceType.CASTLE, Colour.WHITE, Square.E2),
+                PieceState.of(PieceType.KING, Colour.WHITE, Square.E1)
+        );
+        MoveList moves = new MoveList();
+
+        // When
+        legalMoveGenerator.generateLegalMoves(Colour.WHITE, bitboards, moves);
+
+        // Then
+        List<Move> expected = legalMoveGenerator.generateLegalMoves(Colour.WHITE, bitboards);
+        assertEquals(expected.size(), moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            assertEquals(expected.get(i), PackedMove.unpack(move));
+            assertEquals(PackedMove.getTo(move) == Square.E8, PackedMove.isCapture(move));
+        }
+    }
+
+    /**
+     * 8: |  |__|  |__|BC|__|  |__|
+     * 7: |__|  |__|  |__|  |__|  |
+     * 6: |  |__|  |__|  |__|  |__|
+     * 5: |__|  |__|  |__|  |__|  |
+     * 4: |  |__|  |__|  |__|  |__|
+     * 3: |__|  |__|  |BH|  |__|  |
+     * 2: |  |__|  |__|  |__|  |WQ|
+     * 1: |__|  |__|  |WK|  |__|  |
+     *     A  B  C  D  E  F  G  H
+     */
+    @Test
+    public void testOnlyKingCanMoveInDoubleCheck() {
+        // Given
+        PieceBitboards bitboards = createBitboards(
+                PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.E8),
+                PieceState.of(PieceType.KNIGHT, Colour.BLACK, Square.D3),
+                PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.H2),
+                PieceState.of(PieceType.KING, Colour.WHITE, Square.E1)
+        );
+
+        // When
+        List<Move> moves = legalMoveGenerator.generateLegalMoves(Colour.WHITE, bitboards);
+
+        // Then
+        assertTrue(getSquares(moves, Square.H2).isEmpty());
+        Set<Square> expected = new HashSet<>();
+        for (Square square : new Square[] {Square.D1, Square.D2, Square.F1}) {
+            expected.add(square);
+        }
+        assertEquals(expected, getSquares(moves, Square.E1));
+    }
+
+    /**
+     * 8: |  |__|  |__|  |__|  |__|
+     * 7: |__|  |__|  |__|  |__|  |
+     * 6: |  |__|  |__|  |__|  |__|
+     * 5: |__|  |__|  |__|  |__|  |
+     * 4: |  |__|  |__|  |__|  |__|
+     * 3: |__|BQ|__|  |__|  |__|  |
+     * 2: |  |__|  |__|  |__|  |__|
+     * 1: |WK|  |__|  |__|  |__|  |
+     *     A  B  C  D  E  F  G  H
+     */
+    @Test
+    public void testHasLegalMoveWhenStalemated() {
+        // Given
+        PieceBitboards bitboards = createBitboards(
+                PieceState.of(PieceType.QUEEN, Colour.BLACK, Square.B3),
+                PieceState.of(PieceType.KING, Colour.WHITE, Square.A1)
+        );
+
+        // Then
+        assertFalse(legalMoveGenerator.hasLegalMove(Colour.WHITE, bitboards));
+        assertTrue(legalMoveGenerator.hasLegalMove(Colour.BLACK, bitboards));
+    }
+
+    /**
+     * 8: |WQ|WQ|WQ|WQ|WQ|WQ|WQ|WQ|
+     * 7: |WQ|  |__|  |__|  |__|  |
+     * 6: |WQ|__|  |__|  |__|WQ|__|
+     * 5: |WQ|  |__|  |__|  |__|WQ|
+     * 4: |WQ|__|  |__|  |WQ|  |WQ|
+     * 3: |__|WQ|__|  |__|  |__|WQ|
+     * 2: |  |__|  |__|  |__|WQ|__|
+     * 1: |WQ|WQ|__|WQ|WQ|WQ|WQ|  |
+     *     A  B  C  D  E  F  G  H
+     */
+    @Test
+    public void testTooManyMovesForList() {
+        // Given
+        PieceBitboards bitboards = Fen.parsePieces("QQQQQQQQ/Q7/Q5Q1/Q6Q/Q4Q1Q/1Q5Q/6Q1/QQ1QQQQ1 w").getBitboards();
+
+        // When
+        try {
+            legalMoveGenerator.generateLegalMoves(Colour.WHITE, bitboards, new MoveList());
+            fail();
+        } catch (ChessException exception) {
+            // Then
+            assertEquals("Cannot hold more than 256 moves.", exception.getMessage());
+        }
+    }
+
+    /**
+     * Plays random games from the starting position and checks that the generated moves are exactly the moves that
+     * do not leave the king in check when tried one at a time.
+     */
+    @Test
+    public void testGeneratedMovesMatchTrialMoves() {
+        Random random = new Random(3);
+        for (int game = 0; game < 20; game++) {
+            PieceBitboards bitboards = new PieceFactory().createDefaultPiecesState().getBitboards();
+            Colour colour = Colour.WHITE;
+
+            for (int ply = 0; ply < 100; ply++) {
+                // When
+                List<Move> moves = legalMoveGenerator.generateLegalMoves(colour, bitboards);
+
+                // Then
+                Set<String> actual = new HashSet<>();
+                for (Move move : moves) {
+                    actual.add(describe(move));
+                }
+                assertEquals(findTrialMoves(colour, bitboards), actual);
+                assertEquals(!moves.isEmpty(), legalMoveGenerator.hasLegalMove(colour, bitboards));
+
+                if (moves.isEmpty()) {
+                    break;
+                }
+                makeMove(bitboards, moves.get(random.nextInt(moves.size())));
+                colour = colour == Colour.WHITE ? Colour.BLACK : Colour.WHITE;
+            }
+        }
+    }
+
+    /**
+     * Finds legal moves the slow way, by making each moveable move and looking for check afterwards.
+     * @param colour
+     * @param bitboards
+     * @return descriptions of the legal moves
+     */
+    private Set<String> findTrialMoves(Colour colour, PieceBitboards bitboards) {
+        Set<String> moves = new HashSet<>();
+        MovesCalculator movesCalculator = new MovesCalculator();
+        EndgameHelper endgameHelper = new EndgameHelper();
+        for (Square from : Square.values()) {
+            if (from == Square.NONE || !Bitboards.contains(bitboards.getColour(colour), from)) {
+                continue;
+            }
+            movesCalculator.calculateMoveableAndThreatenedSquares(bitboards.getType(from), colour, from, bitboards);
+            for (Square to : movesCalculator.getMoveableSquares()) {
+                Move move = Move.of(PieceState.of(bitboards.getType(from), colour, from), to);
+                PieceBitboards trial = new PieceBitboards(bitboards);
+                makeMove(trial, move);
+                if (!endgameHelper.isInCheck(colour, trial)) {
+                    moves.add(describe(move));
+                }
+            }
+        }
+        return moves;
+    }
+
+    private void makeMove(PieceBitboards bitboards, Move move) {
+        PieceState piece = move.getPieceState();
+        PieceType capturedType = bitboards.getType(move.getTo());
+        if (capturedType != null) {
+            Colour opponent = piece.getColour() == Colour.WHITE ? Colour.BLACK : Colour.WHITE;
+            bitboards.remove(capturedType, opponent, move.getTo());
+        }
+        bitboards.remove(piece.getType(), piece.getColour(), piece.getSquare());
+        bitboards.add(piece.getType(), piece.getColour(), move.getTo());
+    }
+
+    private String describe(Move move) {
+        return move.getPieceState() + " to " + move.getTo();
+    }
+
+    private Set<Square> getSquares(List<Move> moves, Square from) {
+        Set<Square> squares = new HashSet<>();
+        for (Move move : moves) {
+            if (move.getPieceState().getSquare() == from) {
+                squares.add(move.getTo());
+            }
+        }
+        return squares;
+    }
+
+    private PieceBitboards createBitboards(PieceState... states) {
+        PieceBitboards bitboards = new PieceBitboards();
+        for (PieceState state : states) {
+            bitboards.add(state);
+        }
+        return bitboards;
+    }
+}
@@ -0,0 +1,61 @@
+package model.pieces;
+
+import model.Colour;
+import model.PieceType;
+import model.Square;
+import model.SquareSet;
+import model.piece.PieceState;
+import model.util.Bitboards;
+import org.junit.jupiter.api.Test;
+import testutil.CollectionUtil;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PieceBitboardsTest {
+
+    /**
+     * 8: |  |__|  |__|  |__|  |__|
+     * 7: |__|  |__|  |__|  |__|  |
+     * 6: |  |__|  |__|  |__|  |__|
+     * 5: |__|  |__|BP|__|  |__|  |
+     * 4: |  |__|  |WK|  |__|  |BB|
+     * 3: |__|  |__|  |__|WP|__|  |
+     * 2: |  |__|BH|__|  |__|  |__|
+     * 1: |__|  |__|BC|__|  |__|  |
+     *     A  B  C  D  E  F  G  H
+     */
+    @Test
+    public void testGetAttackers() {
+        // Given
+        PiecesState piecesState = new PiecesState(CollectionUtil.createSet(new PieceState[] {
+                PieceState.of(PieceType.KING, Colour.WHITE, Square.D4),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.F3),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.C5),
+                PieceState.of(PieceType.KNIGHT, Colour.BLACK, Square.C2),
+                PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.D1),
+                PieceState.of(PieceType.BISHOP, Colour.BLACK, Square.H4)}));
+
+        // When
+        SquareSet actual = SquareSet.fromBitboard(piecesState.getBitboards().getAttackers(Square.D4, Colour.BLACK));
+
+        // Then
+        SquareSet expected = SquareSet.of(Square.C5, Square.C2, Square.D1);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testIsAttackedIgnoresDeadPieces() {
+        // Given
+        PiecesState piecesState = new PiecesState(CollectionUtil.createSet(new PieceState[] {
+                PieceState.of(PieceType.KING, Colour.WHITE, Square.E1),
+                PieceState.of(PieceType.QUEEN, Colour.BLACK, Square.NONE),
+                PieceState.of(PieceType.CASTLE, Colour.BLACK, Square.E8)}));
+
+        // Then
+        assertTrue(piecesState.getBitboards().isAttacked(Square.E1, Colour.BLACK));
+        assertFalse(piecesState.getBitboards().isAttacked(Square.D1, Colour.BLACK));
+        assertFalse(piecesState.getBitboards().isAttacked(Square.E1, Colour.WHITE));
+    }
+}
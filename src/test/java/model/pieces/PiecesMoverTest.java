@@ -4,10 +4,13 @@ import model.Colour;
 import model.Move;
 import model.PieceType;
 import model.Square;
+import model.SquareSet;
 import model.exception.ChessException;
 import model.piece.Piece;
 import model.piece.PieceFactory;
 import model.piece.PieceState;
+import model.util.PieceSquareTables;
+import model.util.Zobrist;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -17,10 +20,18 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.stubbing.Answer;
 import testutil.CollectionUtil;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.*;
 
 public class PiecesMoverTest {
@@ -53,15 +64,15 @@ public class PiecesMoverTest {
         MockitoAnnotations.initMocks(this);
 
         // Set up first mock pawn to return a state (white pawn at B5)
-        mockPawn1State = new PieceState(PieceType.PAWN, Colour.WHITE, Square.B5);
+        mockPawn1State = PieceState.of(PieceType.PAWN, Colour.WHITE, Square.B5);
         mockPawn1 = connectStateAndPiece(mockPawn1State);
 
         // Set up second mock pawn to return a state (black pawn at A3)
-        mockPawn2State = new PieceState(PieceType.PAWN, Colour.BLACK, Square.A3);
+        mockPawn2State = PieceState.of(PieceType.PAWN, Colour.BLACK, Square.A3);
         mockPawn2 = connectStateAndPiece(mockPawn2State);
 
         // Set up mock king to return a state (white king at D1)
-        mockKingState = new PieceState(PieceType.KING, Colour.WHITE, Square.D1);
+        mockKingState = PieceState.of(PieceType.KING, Colour.WHITE, Square.D1);
         mockKing = connectStateAndPiece(mockKingState);
 
         // Add mock pieces to piece mover under test
@@ -73,10 +84,10 @@ public class PiecesMoverTest {
     @Test
     public void testAddPieces() {
         // Given
-        PieceState mockPawn3State = new PieceState(PieceType.PAWN, Colour.BLACK, Square.A7);
+        PieceState mockPawn3State = PieceState.of(PieceType.PAWN, Colour.BLACK, Square.A7);
         connectStateAndPiece(mockPawn3State);
 
-        PieceState mockQueenState = new PieceState(PieceType.QUEEN, Colour.WHITE, Square.A4);
+        PieceState mockQueenState = PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.A4);
         connectStateAndPiece(mockQueenState);
 
         PiecesState piecesState = mock(PiecesState.class);
@@ -109,7 +120,7 @@ public class PiecesMoverTest {
         rememberPieceMove(mockPawn2, PieceType.PAWN, Colour.BLACK, Square.A3);
 
         // When
-        PiecesState actualPiecesState = piecesMover.move(new Move(mockPawn1State, Square.A3));
+        PiecesState actualPiecesState = piecesMover.move(Move.of(mockPawn1State, Square.A3));
 
         // Then
         verify(mockPawn1).moveTo(Square.A3);
@@ -118,11 +129,67 @@ public class PiecesMoverTest {
         Set<PieceState> expectedPieceStates = getInitialPieceStates();
         expectedPieceStates.remove(mockPawn1State);
         expectedPieceStates.remove(mockPawn2State);
-        expectedPieceStates.add(new PieceState(PieceType.PAWN, Colour.WHITE, Square.A3));
-        expectedPieceStates.add(new PieceState(PieceType.PAWN, Colour.BLACK, Square.NONE));
+        expectedPieceStates.add(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.A3));
+        expectedPieceStates.add(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.NONE));
 
         assertEquals(expectedPieceStates, actualPiecesState.getPieceStates());
-        verifyUpdate(expectedPieceStates);
+        verifyUpdate(expectedPieceStates, mockPawn1, mockPawn2);
+
+        // King is not affected by the move, so is only updated when added
+        verify(mockKing, times(1)).update(any());
+        assertEquals(2, piecesMover.getNumberOfListenersUpdated());
+    }
+
+    @Test
+    public void testMoveUpdatesAffectedPieces() {
+        // Given
+        when(mockKing.isAffectedBy(SquareSet.of(Square.B5, Square.A3).toBitboard())).thenReturn(true);
+        rememberPieceMove(mockPawn1, PieceType.PAWN, Colour.WHITE, Square.B5);
+        rememberPieceMove(mockPawn2, PieceType.PAWN, Colour.BLACK, Square.A3);
+
+        // When
+        piecesMover.move(Move.of(mockPawn1State, Square.A3));
+
+        // Then
+        Set<PieceState> expectedPieceStates = CollectionUtil.createSet(new PieceState[] {
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.A3),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.NONE),
+                mockKingState});
+        verifyUpdate(expectedPieceStates, mockPawn1, mockPawn2, mockKing);
+        assertEquals(3, piecesMover.getNumberOfListenersUpdated());
+    }
+
+    /**
+     * Plays random moves with real pieces and checks that pieces updated only when affected by a move end up with the
+     * same moveable and threatened squares as pieces recalculated from scratch.
+     */
+    @Test
+    public void testMoveUpdatesMatchFullRecalculation() {
+        // Given
+        PiecesMover realPiecesMover = new PiecesMover(new PieceFactory().createDefaultPiecesState());
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200; i++) {
+            // When
+            List<Move> moves = new ArrayList<>();
+            for (Piece piece : realPiecesMover.getPieces()) {
+                for (Square square : piece.getMoveableSquares()) {
+                    moves.add(Move.of(piece.getState(), square));
+                }
+            }
+            if (moves.isEmpty()) {
+                break;
+            }
+            realPiecesMover.move(moves.get(random.nextInt(moves.size())));
+
+            // Then
+            PiecesMover recalculated = new PiecesMover(realPiecesMover.generatePiecesState());
+            for (Piece piece : realPiecesMover.getPieces()) {
+                Piece expected = recalculated.findPiece(piece.getState());
+                assertEquals(expected.getMoveableSquares(), piece.getMoveableSquares());
+                assertEquals(expected.getThreatenedSquares(), piece.getThreatenedSquares());
+            }
+        }
     }
 
     @Test
@@ -131,7 +198,7 @@ public class PiecesMoverTest {
         when(mockPawn1.canMoveTo(Square.A3)).thenReturn(true);
         rememberPieceMove(mockPawn1, PieceType.PAWN, Colour.WHITE, Square.B5);
         rememberPieceMove(mockPawn2, PieceType.PAWN, Colour.BLACK, Square.A3);
-        piecesMover.move(new Move(mockPawn1State, Square.A3));
+        piecesMover.move(Move.of(mockPawn1State, Square.A3));
 
         // When
         PiecesState actualPiecesState = piecesMover.undoMove();
@@ -144,7 +211,265 @@ public class PiecesMoverTest {
 
         Set<PieceState> expectedPieceStates = getInitialPieceStates();
         assertEquals(expectedPieceStates, actualPiecesState.getPieceStates());
-        verifyUpdate(getInitialPieceStates());
+        verifyUpdate(getInitialPieceStates(), mockPawn1, mockPawn2);
+    }
+
+    @Test
+    public void testUndoMoveSeveralMoves() {
+        // Given
+        rememberPieceMove(mockPawn1, PieceType.PAWN, Colour.WHITE, Square.B5);
+        rememberPieceMove(mockPawn2, PieceType.PAWN, Colour.BLACK, Square.A3);
+        rememberPieceMove(mockKing, PieceType.KING, Colour.WHITE, Square.D1);
+        piecesMover.move(Move.of(mockKingState, Square.D2));
+        piecesMover.move(Move.of(mockPawn2State, Square.A2));
+        piecesMover.move(Move.of(PieceState.of(PieceType.KING, Colour.WHITE, Square.D2), Square.C3));
+
+        // When
+        piecesMover.undoMove();
+        piecesMover.undoMove();
+        PiecesState actualPiecesState = piecesMover.undoMove();
+
+        // Then
+        assertEquals(getInitialPieceStates(), actualPiecesState.getPieceStates());
+        assertEquals(0, piecesMover.getNumberOfMoves());
+        assertEquals(mockKing, piecesMover.findPiece(Square.D1));
+        assertNull(piecesMover.findPiece(Square.C3));
+    }
+
+    /**
+     * 8: |  |__|  |__|  |__|  |__|
+     * 7: |__|  |__|  |__|  |__|  |
+     * 6: |BP|__|  |__|  |__|  |__|
+     * 5: |__|  |__|  |__|  |__|  |
+     * 4: |BP|__|  |__|  |__|  |__|
+     * 3: |__|  |__|  |__|  |__|  |
+     * 2: |  |__|  |__|  |__|  |__|
+     * 1: |WC|  |__|  |__|  |__|  |
+     *     A  B  C  D  E  F  G  H
+     */
+    @Test
+    public void testUndoMoveRestoresEachCapturedPiece() {
+        // Given
+        PiecesMover realPiecesMover = new PiecesMover(new PiecesState(CollectionUtil.createSet(new PieceState[] {
+                PieceState.of(PieceType.CASTLE, Colour.WHITE, Square.A1),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.A4),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.A6)})));
+        Piece pawnOnA4 = realPiecesMover.findPiece(Square.A4);
+        Piece pawnOnA6 = realPiecesMover.findPiece(Square.A6);
+        realPiecesMover.move(Move.of(PieceState.of(PieceType.CASTLE, Colour.WHITE, Square.A1), Square.A4));
+        realPiecesMover.move(Move.of(PieceState.of(PieceType.CASTLE, Colour.WHITE, Square.A4), Square.A6));
+
+        // When
+        realPiecesMover.undoMove();
+        realPiecesMover.undoMove();
+
+        // Then
+        assertSame(pawnOnA4, realPiecesMover.findPiece(Square.A4));
+        assertSame(pawnOnA6, realPiecesMover.findPiece(Square.A6));
+        assertEquals(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.A4), pawnOnA4.getState());
+        assertEquals(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.A6), pawnOnA6.getState());
+    }
+
+    @Test
+    public void testMakeMoveWhenPieceDoesNotExist() {
+        // Given
+        PiecesMover realPiecesMover = new PiecesMover(new PieceFactory().createDefaultPiecesState());
+        long key = realPiecesMover.getZobristKey();
+
+        // When
+        try {
+            realPiecesMover.makeMove(Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E5), Square.E6));
+            fail();
+        } catch (ChessException exception) {
+
+            // Then
+            assertEquals("There is no WHITE PAWN on E5", exception.getMessage());
+            assertEquals(key, realPiecesMover.getZobristKey());
+            assertEquals(0, realPiecesMover.getNumberOfMoves());
+        }
+    }
+
+    @Test
+    public void testUndoMoveWhenThereAreNoMoves() {
+        // When
+        try {
+            piecesMover.undoMove();
+            fail();
+        } catch (ChessException exception) {
+
+            // Then
+            assertEquals("There are no moves to undo.", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testCopy() {
+        // Given
+        PiecesMover original = new PiecesMover(new PieceFactory().createDefaultPiecesState());
+        original.move(Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E2), Square.E4));
+
+        // When
+        PiecesMover copy = original.copy();
+        copy.move(Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.E7), Square.E5));
+
+        // Then
+        assertNull(original.findPiece(Square.E5));
+        assertEquals(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E4), copy.findPiece(Square.E4).getState());
+        assertEquals(1, original.getNumberOfMoves());
+        assertEquals(1, copy.getNumberOfMoves());
+    }
+
+    @Test
+    public void testZobristKeyIsRestoredByUndoMove() {
+        // Given
+        PiecesMover realPiecesMover = new PiecesMover(new PieceFactory().createDefaultPiecesState());
+        long initialKey = realPiecesMover.getZobristKey();
+
+        // When
+        realPiecesMover.move(Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E2), Square.E4));
+        long keyAfterMove = realPiecesMover.getZobristKey();
+        realPiecesMover.undoMove();
+
+        // Then
+        assertNotEquals(initialKey, keyAfterMove);
+        assertEquals(initialKey, realPiecesMover.getZobristKey());
+        assertEquals(new PieceFactory().createDefaultPiecesState().getZobristKey(), initialKey);
+    }
+
+    @Test
+    public void testZobristKeyIsEqualForSamePositionReachedByDifferentMoves() {
+        // Given
+        PiecesMover first = new PiecesMover(new PieceFactory().createDefaultPiecesState());
+        PiecesMover second = new PiecesMover(new PieceFactory().createDefaultPiecesState());
+        Move whiteKnightB1 = Move.of(PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.B1), Square.C3);
+        Move whiteKnightG1 = Move.of(PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.G1), Square.F3);
+        Move blackKnight = Move.of(PieceState.of(PieceType.KNIGHT, Colour.BLACK, Square.B8), Square.C6);
+
+        // When
+        first.move(whiteKnightB1);
+        first.move(blackKnight);
+        PiecesState firstState = first.move(whiteKnightG1);
+        second.move(whiteKnightG1);
+        second.move(blackKnight);
+        PiecesState secondState = second.move(whiteKnightB1);
+
+        // Then
+        assertEquals(firstState.getZobristKey(), secondState.getZobristKey());
+
+        // Same pieces with white to move instead of black
+        long whiteToMoveKey = new PiecesState(firstState.getPieceStates()).getZobristKey();
+        assertEquals(whiteToMoveKey ^ Zobrist.blackToMoveKey(), firstState.getZobristKey());
+    }
+
+    @Test
+    public void testZobristKeyIncludesColourToMoveGivenAtSetUp() {
+        // Given
+        PiecesState piecesState = new PieceFactory().createDefaultPiecesState();
+        PiecesMover realPiecesMover = new PiecesMover(piecesState, Colour.BLACK);
+        Move blackPawn = Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.E7), Square.E5);
+
+        // When
+        long initialKey = realPiecesMover.getZobristKey();
+        realPiecesMover.makeMove(blackPawn);
+
+        // Then
+        assertEquals(Zobrist.key(piecesState.getBitboards(), Colour.BLACK), initialKey);
+        assertEquals(Colour.WHITE, realPiecesMover.getColourToMove());
+        assertEquals(Zobrist.key(realPiecesMover.getBitboards(), Colour.WHITE), realPiecesMover.getZobristKey());
+        assertEquals(Colour.WHITE, realPiecesMover.copy().getColourToMove());
+        realPiecesMover.unmakeMove();
+        assertEquals(initialKey, realPiecesMover.getZobristKey());
+        assertEquals(Colour.BLACK, realPiecesMover.getColourToMove());
+    }
+
+    @Test
+    public void testSetColourToMoveUpdatesZobristKey() {
+        // Given
+        PiecesMover realPiecesMover = new PiecesMover(new PieceFactory().createDefaultPiecesState());
+        long whiteToMoveKey = realPiecesMover.getZobristKey();
+
+        // When
+        realPiecesMover.setColourToMove(Colour.BLACK);
+        realPiecesMover.setColourToMove(Colour.BLACK);
+
+        // Then
+        assertEquals(whiteToMoveKey ^ Zobrist.blackToMoveKey(), realPiecesMover.getZobristKey());
+        assertEquals(Colour.BLACK, realPiecesMover.getColourToMove());
+    }
+
+    @Test
+    public void testScoreIsUpdatedByMoveAndUndoMove() {
+        // Given
+        PiecesMover realPiecesMover = new PiecesMover(new PieceFactory().createDefaultPiecesState());
+        Random random = new Random(7);
+
+        // The starting position is symmetrical
+        assertEquals(0, realPiecesMover.getScore());
+
+        for (int i = 0; i < 100; i++) {
+            // When
+            List<Move> moves = new ArrayList<>();
+            for (Piece piece : realPiecesMover.getPieces()) {
+                for (Square square : piece.getMoveableSquares()) {
+                    moves.add(Move.of(piece.getState(), square));
+                }
+            }
+            if (moves.isEmpty()) {
+                break;
+            }
+            realPiecesMover.move(moves.get(random.nextInt(moves.size())));
+
+            // Then
+            assertEquals(PieceSquareTables.score(realPiecesMover.getBitboards()), realPiecesMover.getScore());
+        }
+
+        // When
+        while (realPiecesMover.getNumberOfMoves() > 0) {
+            realPiecesMover.undoMove();
+        }
+
+        // Then
+        assertEquals(0, realPiecesMover.getScore());
+    }
+
+    /**
+     * Makes and unmakes moves, including a capture, many times and checks that no memory is allocated once the
+     * history of moves has grown to its size.
+     */
+    @Test
+    public void testMakeMoveAndUnmakeMoveDoNotAllocate() {
+        // Given
+        PiecesMover realPiecesMover = new PiecesMover(new PieceFactory().createDefaultPiecesState());
+        Move[] moves = {
+                Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E2), Square.E4),
+                Move.of(PieceState.of(PieceType.PAWN, Colour.BLACK, Square.D7), Square.D5),
+                Move.of(PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E4), Square.D5)};
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        makeAndUnmakeMoves(realPiecesMover, moves, 1000);
+
+        // When
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long measurement = threads.getThreadAllocatedBytes(threadId) - before;
+        before = threads.getThreadAllocatedBytes(threadId);
+        makeAndUnmakeMoves(realPiecesMover, moves, 1000);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before - measurement;
+
+        // Then
+        assertEquals(0, allocated);
+        assertEquals(new PieceFactory().createDefaultPiecesState().getPieceStates(),
+                realPiecesMover.generatePiecesState().getPieceStates());
+    }
+
+    private void makeAndUnmakeMoves(PiecesMover piecesMover, Move[] moves, int times) {
+        for (int i = 0; i < times; i++) {
+            for (Move move : moves) {
+                piecesMover.makeMove(move);
+            }
+            for (int j = 0; j < moves.length; j++) {
+                piecesMover.unmakeMove();
+            }
+        }
     }
 
     @Test
@@ -179,6 +504,36 @@ public class PiecesMoverTest {
         assertEquals(mockKing, actual);
     }
 
+    @Test
+    public void testFindPieceBySquare() {
+        // When
+        Piece actual = piecesMover.findPiece(Square.B5);
+
+        // Then
+        assertEquals(mockPawn1, actual);
+    }
+
+    @Test
+    public void testFindPieceBySquareWhenSquareIsEmpty() {
+        assertNull(piecesMover.findPiece(Square.B6));
+        assertNull(piecesMover.findPiece(Square.NONE));
+    }
+
+    @Test
+    public void testFindPieceBySquareAfterMove() {
+        // Given
+        rememberPieceMove(mockPawn1, PieceType.PAWN, Colour.WHITE, Square.B5);
+        rememberPieceMove(mockPawn2, PieceType.PAWN, Colour.BLACK, Square.A3);
+
+        // When
+        piecesMover.move(Move.of(mockPawn1State, Square.A3));
+
+        // Then
+        assertNull(piecesMover.findPiece(Square.B5));
+        assertEquals(mockPawn1, piecesMover.findPiece(Square.A3));
+        assertEquals(mockPawn2, piecesMover.findPiece(PieceType.PAWN, Colour.BLACK, Square.NONE));
+    }
+
     @Test
     public void testFindPieces() {
         // When
@@ -213,15 +568,23 @@ public class PiecesMoverTest {
     }
 
     /**
-     * Verifies that the mock pieces received an update() call with the expected colour locations and king locations.
+     * Verifies that the given mock pieces were updated with the live bitboards of the piece mover, and that these
+     * hold the expected piece states.
      * @param expectedPieceStates
+     * @param mocks
      */
-    private void verifyUpdate(Set<PieceState> expectedPieceStates) {
-        for (Piece mock : new Piece[] {mockPawn1, mockPawn2, mockKing}) {
-            ArgumentCaptor<PiecesState> piecesStateCaptor = ArgumentCaptor.forClass(PiecesState.class);
-            verify(mock, atLeast(1)).update(piecesStateCaptor.capture());
-            Set<PieceState> actualPieceStates = piecesStateCaptor.getValue().getPieceStates();
-            assertEquals(expectedPieceStates, actualPieceStates);
+    private void verifyUpdate(Set<PieceState> expectedPieceStates, Piece... mocks) {
+        PieceBitboards expected = new PiecesState(expectedPieceStates).getBitboards();
+        for (Piece mock : mocks) {
+            ArgumentCaptor<PieceBitboards> bitboardsCaptor = ArgumentCaptor.forClass(PieceBitboards.class);
+            verify(mock, atLeast(1)).update(bitboardsCaptor.capture());
+            PieceBitboards actual = bitboardsCaptor.getValue();
+            assertSame(piecesMover.getBitboards(), actual);
+            for (Colour colour : Colour.values()) {
+                for (PieceType type : PieceType.values()) {
+                    assertEquals(expected.getPieces(type, colour), actual.getPieces(type, colour));
+                }
+            }
         }
     }
 
@@ -252,6 +615,6 @@ public class PiecesMoverTest {
         }).when(piece).moveToUnchecked(any());
 
         // Set up piece.getState() to return the stored value of where the piece has been moved to
-        when(piece.getState()).thenAnswer((Answer<PieceState>) invocation -> new PieceState(type, colour, square[0]));
+        when(piece.getState()).thenAnswer((Answer<PieceState>) invocation -> PieceState.of(type, colour, square[0]));
     }
 }
@@ -0,0 +1,136 @@
+package model.search;
+
+import model.Colour;
+import model.Square;
+import model.exception.ChessException;
+import model.perft.ReferencePosition;
+import model.pieces.PiecesMover;
+import model.util.Fen;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class ParallelSearchTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setupPool() {
+        pool = new ForkJoinPool(3);
+    }
+
+    @AfterEach
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    /**
+     * r . b q k b . r
+     * p p p p . p p p
+     * . . n . . n . .
+     * . . . . p . . Q
+     * . . B . P . . .
+     * . . . . . . . .
+     * P P P P . P P P
+     * R N B . K . N R
+     */
+    @Test
+    public void testFindsMateInOne() {
+        // Given
+        PiecesMover piecesMover =
+                new PiecesMover(Fen.parsePieces("r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR"));
+        ParallelSearch search = new ParallelSearch(piecesMover, new TranspositionTable(1), pool);
+
+        // When
+        SearchResult result = search.search(Colour.WHITE, SearchLimits.depth(3), 4);
+
+        // Then
+        assertEquals(Square.F7, result.getBestMove().getTo());
+        assertTrue(result.isMateFound());
+    }
+
+    @Test
+    public void testSameScoreAsSingleThread() {
+        // Given
+        PiecesMover piecesMover = new PiecesMover(Fen.parsePieces(ReferencePosition.ENDGAME.getFen()));
+        SearchResult expected = new Search(piecesMover.copy(), new TranspositionTable(1))
+                .search(Colour.WHITE, SearchLimits.depth(4));
+        ParallelSearch search = new ParallelSearch(piecesMover, new TranspositionTable(1), pool);
+
+        // When
+        SearchResult result = search.search(Colour.WHITE, SearchLimits.depth(4), 4);
+
+        // Then
+        assertEquals(expected.getScore(), result.getScore());
+        assertEquals(4, result.getDepth());
+    }
+
+    @Test
+    public void testHelpersStopWithMainSearch() {
+        // Given
+        PiecesMover piecesMover = new PiecesMover(Fen.parsePieces(ReferencePosition.MIDDLEGAME.getFen()));
+        long zobristKey = piecesMover.getZobristKey();
+        ParallelSearch search = new ParallelSearch(piecesMover, new TranspositionTable(1), pool);
+
+        // When
+        SearchResult result = search.search(Colour.WHITE, new SearchLimits(Search.MAX_PLY, 100, Long.MAX_VALUE), 4);
+
+        // Then
+        assertNotNull(result.getBestMove());
+        assertTrue(result.getElapsedNanos() < 5_000_000_000L);
+        assertEquals(zobristKey, piecesMover.getZobristKey());
+    }
+
+    @Test
+    public void testThreadsAreLimitedByPool() {
+        // Given
+        PiecesMover piecesMover = new PiecesMover(Fen.parsePieces(ReferencePosition.ENDGAME.getFen()));
+        ParallelSearch search = new ParallelSearch(piecesMover, new TranspositionTable(1), pool);
+
+        // When
+        SearchResult result = search.search(Colour.WHITE, SearchLimits.depth(3), 64);
+
+        // Then
+        assertEquals(4, search.getMaxThreads());
+        assertEquals(3, result.getDepth());
+        assertTrue(pool.getPoolSize() <= 3);
+    }
+
+    @Test
+    public void testSharedPoolIsNotCommonPool() {
+        // When
+        ForkJoinPool shared = ParallelSearch.getSharedPool();
+
+        // Then
+        assertSame(shared, ParallelSearch.getSharedPool());
+        assertNotSame(ForkJoinPool.commonPool(), shared);
+        assertEquals(Integer.getInteger("chess.searchHelperThreads", ParallelSearch.DEFAULT_HELPER_THREADS).intValue(),
+                shared.getParallelism());
+    }
+
+    @Test
+    public void testThreadsMustBePositive() {
+        // Given
+        ParallelSearch search = new ParallelSearch(
+                new PiecesMover(Fen.parsePieces(ReferencePosition.START.getFen())), new TranspositionTable(1), pool);
+
+        // When
+        try {
+            search.search(Colour.WHITE, SearchLimits.depth(1), 0);
+            fail();
+        } catch (ChessException exception) {
+
+            // Then
+            assertEquals("Number of search threads must be positive, not 0.", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package model.search;
+
+import model.Colour;
+import model.Move;
+import model.PieceType;
+import model.Square;
+import model.perft.ReferencePosition;
+import model.piece.PieceState;
+import model.pieces.PiecesMover;
+import model.util.Fen;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SearchTest {
+
+    /**
+     * r . b q k b . r
+     * p p p p . p p p
+     * . . n . . n . .
+     * . . . . p . . Q
+     * . . B . P . . .
+     * . . . . . . . .
+     * P P P P . P P P
+     * R N B . K . N R
+     */
+    @Test
+    public void testFindsMateInOne() {
+        // Given
+        Search search = new Search(Fen.parsePieces("r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR"));
+
+        // When
+        SearchResult result = search.search(Colour.WHITE, SearchLimits.depth(3));
+
+        // Then
+        assertEquals(Square.H5, result.getBestMove().getPieceState().getSquare());
+        assertEquals(Square.F7, result.getBestMove().getTo());
+        assertEquals(Evaluation.MATE_SCORE - 1, result.getScore());
+        assertTrue(result.isMateFound());
+    }
+
+    /**
+     * q . . . . . . k
+     * . . . . . . . .
+     * . . . . . . . .
+     * . . . . . . . .
+     * . . . . . . . .
+     * . . . . . . . .
+     * . . . . . . . .
+     * R . . . . . K .
+     */
+    @Test
+    public void testTakesHangingPiece() {
+        // Given
+        Search search = new Search(Fen.parsePieces("q6k/8/8/8/8/8/8/R5K1"));
+
+        // When
+        SearchResult result = search.search(Colour.WHITE, SearchLimits.depth(2));
+
+        // Then
+        assertEquals(Square.A8, result.getBestMove().getTo());
+        assertTrue(result.getScore() > Evaluation.getPieceValue(PieceType.CASTLE) / 2);
+        assertFalse(result.isMateFound());
+        assertEquals(2, result.getDepth());
+    }
+
+    /**
+     * . . . . . . . k
+     * . . . . . . . .
+     * . . p . . . . .
+     * . . . p . . . .
+     * . . . . . . . .
+     * . . . . . . . .
+     * . . . . . . . .
+     * . . . Q . . . K
+     */
+    @Test
+    public void testDoesNotTakeDefendedPawnWithQueen() {
+        // Given
+        Search search = new Search(Fen.parsePieces("7k/8/2p5/3p4/8/8/8/3Q3K"));
+
+        // When
+        SearchResult result = search.search(Colour.WHITE, SearchLimits.depth(1));
+
+        // Then
+        assertNotEquals(Square.D5, result.getBestMove().getTo());
+        assertTrue(result.getScore() > Evaluation.getPieceValue(PieceType.QUEEN) / 2);
+    }
+
+    /**
+     * . . . . . . . k
+     * . . . . . . Q .
+     * . . . . . . K .
+     * . . . . . . . .
+     * . . . . . . . .
+     * . . . . . . . .
+     * . . . . . . . .
+     * . . . . . . . .
+     */
+    @Test
+    public void testCheckmatedHasNoBestMove() {
+        // Given
+        Search search = new Search(Fen.parsePieces("7k/6Q1/6K1/8/8/8/8/8"));
+
+        // When
+        SearchResult result = search.search(Colour.BLACK, SearchLimits.depth(3));
+
+        // Then
+        assertNull(result.getBestMove());
+        assertEquals(-Evaluation.MATE_SCORE, result.getScore());
+        assertEquals(0, result.getDepth());
+    }
+
+    @Test
+    public void testNodeLimitIsRespected() {
+        // Given
+        Search search = new Search(Fen.parsePieces(ReferencePosition.START.getFen()));
+
+        // When
+        SearchResult result = search.search(Colour.WHITE, new SearchLimits(Search.MAX_PLY, Long.MAX_VALUE, 5000));
+
+        // Then
+        assertNotNull(result.getBestMove());
+        assertTrue(result.getNodes() <= 5000);
+        assertTrue(result.getDepth() >= 1);
+        assertTrue(result.getDepth() < Search.MAX_PLY);
+    }
+
+    /**
+     * . . . . . . . k
+     * . . p . . . . .
+     * . . . r . . . .
+     * . . . . . n . .
+     * . . . . P . . .
+     * . . . . . . . .
+     * . . . . . . . .
+     * K . . Q . . . .
+     */
+    @Test
+    public void testNodeLimitBeforeDepthOneIsFinished() {
+        // Given
+        Search search = new Search(Fen.parsePieces("7k/2p5/3r4/5n2/4P3/8/8/K2Q4 w"));
+
+        // When
+        SearchResult result = search.search(Colour.WHITE, new SearchLimits(Search.MAX_PLY, Long.MAX_VALUE, 1));
+
+        // Then
+        assertNotNull(result.getBestMove());
+        assertEquals(0, result.getDepth());
+        assertEquals(1, result.getNodes());
+    }
+
+    /**
+     * The node limit is reached after the queen taking the defended castle has been searched at depth 1, but before
+     * every move has, so the best of the moves searched is returned rather than the losing capture.
+     */
+    @Test
+    public void testNodeLimitDuringDepthOneReturnsBestFinishedMove() {
+        // Given
+        String fen = "7k/2p5/3r4/5n2/4P3/8/8/K2Q4 w";
+        Search search = new Search(Fen.parsePieces(fen));
+        SearchResult depthOne = new Search(Fen.parsePieces(fen)).search(Colour.WHITE, SearchLimits.depth(1));
+
+        // When
+        SearchResult result = search.search(Colour.WHITE, new SearchLimits(Search.MAX_PLY, Long.MAX_VALUE, 20));
+
+        // Then
+        assertEquals(0, result.getDepth());
+        assertEquals(20, result.getNodes());
+        assertNotEquals(Move.of(PieceState.of(PieceType.QUEEN, Colour.WHITE, Square.D1), Square.D6),
+                result.getBestMove());
+        assertEquals(depthOne.getBestMove(), result.getBestMove());
+    }
+
+    @Test
+    public void testTimeBudgetIsRespected() {
+        // Given
+        Search search = new Search(Fen.parsePieces(ReferencePosition.MIDDLEGAME.getFen()));
+
+        // When
+        SearchResult result = search.search(Colour.WHITE, new SearchLimits(Search.MAX_PLY, 100, Long.MAX_VALUE));
+
+        // Then
+        assertNotNull(result.getBestMove());
+        assertTrue(result.getElapsedNanos() < 5_000_000_000L);
+        assertTrue(result.getNodes() > 0);
+        assertTrue(result.getNodesPerSecond() > 0);
+    }
+
+    @Test
+    public void testLargeTimeBudgetDoesNotStopSearch() {
+        // Given
+        Search search = new Search(Fen.parsePieces(ReferencePosition.MIDDLEGAME.getFen()));
+
+        // When
+        SearchResult result = search.search(Colour.WHITE,
+                new SearchLimits(2, Long.MAX_VALUE / 1_000_000 - 1, Long.MAX_VALUE));
+
+        // Then
+        assertEquals(2, result.getDepth());
+    }
+
+    @Test
+    public void testPositionIsRestoredAfterSearch() {
+        // Given
+        PiecesMover piecesMover = new PiecesMover(Fen.parsePieces(ReferencePosition.MIDDLEGAME.getFen()));
+        long zobristKey = piecesMover.getZobristKey();
+        long occupied = piecesMover.getBitboards().getOccupied();
+
+        // When
+        new Search(piecesMover).search(Colour.WHITE, SearchLimits.depth(3));
+
+        // Then
+        assertEquals(zobristKey, piecesMover.getZobristKey());
+        assertEquals(occupied, piecesMover.getBitboards().getOccupied());
+    }
+
+    @Test
+    public void testSharedTableIsReusedBySecondSearch() {
+        // Given
+        TranspositionTable table = new TranspositionTable(1);
+        PiecesMover piecesMover = new PiecesMover(Fen.parsePieces(ReferencePosition.MIDDLEGAME.getFen()));
+        SearchResult first = new Search(piecesMover, table).search(Colour.WHITE, SearchLimits.depth(3));
+
+        // When
+        SearchResult second = new Search(piecesMover.copy(), table).search(Colour.WHITE, SearchLimits.depth(3));
+
+        // Then
+        assertEquals(first.getScore(), second.getScore());
+        assertTrue(second.getNodes() < first.getNodes());
+    }
+
+    @Test
+    public void testSameResultWithAndWithoutStoredPositions() {
+        // Given
+        PiecesMover piecesMover = new PiecesMover(Fen.parsePieces(ReferencePosition.ENDGAME.getFen()));
+        TranspositionTable table = new TranspositionTable(1);
+        new Search(piecesMover, table).search(Colour.WHITE, SearchLimits.depth(4));
+
+        // When
+        SearchResult withTable = new Search(piecesMover, table).search(Colour.WHITE, SearchLimits.depth(4));
+        SearchResult withoutTable = new Search(piecesMover, new TranspositionTable(1))
+                .search(Colour.WHITE, SearchLimits.depth(4));
+
+        // Then
+        assertEquals(withoutTable.getScore(), withTable.getScore());
+    }
+}
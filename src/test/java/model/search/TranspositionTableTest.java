@@ -0,0 +1,135 @@
+package model.search;
+
+import model.Square;
+import model.exception.ChessException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class TranspositionTableTest {
+
+    private static final long KEY = 0x123456789ABCDEF0L;
+
+    @Test
+    public void testGetShared() {
+        // When
+        TranspositionTable shared = TranspositionTable.getShared();
+
+        // Then
+        assertSame(shared, TranspositionTable.getShared());
+        assertEquals(new TranspositionTable().getCapacity(), shared.getCapacity());
+    }
+
+    @Test
+    public void testProbeWhenEmpty() {
+        // Given
+        TranspositionTable table = new TranspositionTable(1);
+
+        // Then
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(KEY));
+    }
+
+    @Test
+    public void testStoreAndProbe() {
+        // Given
+        TranspositionTable table = new TranspositionTable(1);
+
+        // When
+        table.store(KEY, 7, TranspositionTable.LOWER_BOUND, -1234, Square.E2, Square.E4);
+        long entry = table.probe(KEY);
+
+        // Then
+        assertEquals(-1234, TranspositionTable.getScore(entry));
+        assertEquals(7, TranspositionTable.getDepth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(entry));
+        assertEquals(Square.E2, TranspositionTable.getBestMoveFrom(entry));
+        assertEquals(Square.E4, TranspositionTable.getBestMoveTo(entry));
+    }
+
+    @Test
+    public void testStoreWithoutBestMove() {
+        // Given
+        TranspositionTable table = new TranspositionTable(1);
+
+        // When
+        table.store(KEY, 3, TranspositionTable.UPPER_BOUND, 50, Square.NONE, Square.NONE);
+        long entry = table.probe(KEY);
+
+        // Then
+        assertEquals(Square.NONE, TranspositionTable.getBestMoveFrom(entry));
+        assertEquals(Square.NONE, TranspositionTable.getBestMoveTo(entry));
+    }
+
+    @Test
+    public void testProbeDifferentKeyInSameEntry() {
+        // Given
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(KEY, 3, TranspositionTable.EXACT, 50, Square.A1, Square.A2);
+
+        // Then
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(KEY ^ (1L << 63)));
+    }
+
+    @Test
+    public void testDeeperEntryFromCurrentSearchIsKept() {
+        // Given
+        TranspositionTable table = new TranspositionTable(1);
+        long otherKey = KEY ^ (1L << 63);
+        table.store(KEY, 6, TranspositionTable.EXACT, 50, Square.A1, Square.A2);
+
+        // When
+        table.store(otherKey, 2, TranspositionTable.EXACT, 10, Square.B1, Square.B2);
+
+        // Then
+        assertEquals(6, TranspositionTable.getDepth(table.probe(KEY)));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(otherKey));
+    }
+
+    @Test
+    public void testEntryFromEarlierSearchIsReplaced() {
+        // Given
+        TranspositionTable table = new TranspositionTable(1);
+        long otherKey = KEY ^ (1L << 63);
+        table.store(KEY, 6, TranspositionTable.EXACT, 50, Square.A1, Square.A2);
+        table.newSearch();
+
+        // When
+        table.store(otherKey, 2, TranspositionTable.EXACT, 10, Square.B1, Square.B2);
+
+        // Then
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(KEY));
+        assertEquals(2, TranspositionTable.getDepth(table.probe(otherKey)));
+    }
+
+    @Test
+    public void testClear() {
+        // Given
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(KEY, 3, TranspositionTable.EXACT, 50, Square.A1, Square.A2);
+
+        // When
+        table.clear();
+
+        // Then
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(KEY));
+    }
+
+    @Test
+    public void testCapacityFromSize() {
+        // Each entry takes 16 bytes
+        assertEquals(1 << 16, new TranspositionTable(1).getCapacity());
+        assertEquals(1 << 17, new TranspositionTable(3).getCapacity());
+    }
+
+    @Test
+    public void testSizeMustBePositive() {
+        try {
+            new TranspositionTable(0);
+            fail();
+        } catch (ChessException exception) {
+            assertEquals("Transposition table size must be positive, not 0 MB.", exception.getMessage());
+        }
+    }
+}
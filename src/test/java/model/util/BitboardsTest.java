@@ -0,0 +1,75 @@
+package model.util;
+
+import model.Square;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BitboardsTest {
+
+    @Test
+    public void testIndexAndSquareAreInverse() {
+        for (int index = 0; index < Bitboards.NUM_SQUARES; index++) {
+            // When
+            Square square = Bitboards.square(index);
+
+            // Then
+            assertEquals(index, Bitboards.index(square));
+        }
+    }
+
+    @Test
+    public void testBitWhenSquareIsNone() {
+        assertEquals(Bitboards.EMPTY, Bitboards.bit(Square.NONE));
+    }
+
+    @Test
+    public void testNorthDoesNotWrapIntoNextColumn() {
+        // When
+        long actual = Bitboards.north(Bitboards.bit(Square.A8) | Bitboards.bit(Square.C4));
+
+        // Then
+        assertEquals(Bitboards.bit(Square.C5), actual);
+    }
+
+    @Test
+    public void testSouthDoesNotWrapIntoPreviousColumn() {
+        // When
+        long actual = Bitboards.south(Bitboards.bit(Square.H1) | Bitboards.bit(Square.C4));
+
+        // Then
+        assertEquals(Bitboards.bit(Square.C3), actual);
+    }
+
+    @Test
+    public void testEastAndWestDropSquaresOffTheBoard() {
+        // When
+        long east = Bitboards.east(Bitboards.bit(Square.H3) | Bitboards.bit(Square.B2));
+        long west = Bitboards.west(Bitboards.bit(Square.A3) | Bitboards.bit(Square.B2));
+
+        // Then
+        assertEquals(Bitboards.bit(Square.C2), east);
+        assertEquals(Bitboards.bit(Square.A2), west);
+    }
+
+    @Test
+    public void testDiagonals() {
+        // Given
+        long d4 = Bitboards.bit(Square.D4);
+
+        // Then
+        assertEquals(Bitboards.bit(Square.E5), Bitboards.northEast(d4));
+        assertEquals(Bitboards.bit(Square.C5), Bitboards.northWest(d4));
+        assertEquals(Bitboards.bit(Square.E3), Bitboards.southEast(d4));
+        assertEquals(Bitboards.bit(Square.C3), Bitboards.southWest(d4));
+    }
+
+    @Test
+    public void testLightSquares() {
+        // Then
+        assertEquals(32, Long.bitCount(Bitboards.LIGHT_SQUARES));
+        assertEquals(Bitboards.EMPTY, Bitboards.LIGHT_SQUARES & Bitboards.bit(Square.A1));
+        assertEquals(Bitboards.bit(Square.B1), Bitboards.LIGHT_SQUARES & Bitboards.bit(Square.B1));
+        assertEquals(Bitboards.bit(Square.H8) & ~Bitboards.LIGHT_SQUARES, Bitboards.bit(Square.H8));
+    }
+}
@@ -0,0 +1,86 @@
+package model.util;
+
+import model.Colour;
+import model.PieceType;
+import model.Square;
+import model.exception.ChessException;
+import model.perft.ReferencePosition;
+import model.piece.PieceFactory;
+import model.piece.PieceState;
+import org.junit.jupiter.api.Test;
+import testutil.CollectionUtil;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class FenTest {
+
+    @Test
+    public void testParseStartPosition() {
+        assertEquals(new PieceFactory().createDefaultPiecesState().getPieceStates(),
+                Fen.parsePieces(ReferencePosition.START.getFen()).getPieceStates());
+    }
+
+    @Test
+    public void testParseSparsePosition() {
+        // Given
+        String fen = "8/8/8/8/8/1q6/8/K7 b";
+
+        // Then
+        assertEquals(CollectionUtil.createSet(new PieceState[] {
+                PieceState.of(PieceType.QUEEN, Colour.BLACK, Square.B3),
+                PieceState.of(PieceType.KING, Colour.WHITE, Square.A1)
+        }), Fen.parsePieces(fen).getPieceStates());
+        assertEquals(Colour.BLACK, Fen.parseColourToMove(fen));
+    }
+
+    @Test
+    public void testParseUnknownPiece() {
+        try {
+            Fen.parsePieces("8/8/8/8/8/8/8/X7 w");
+            fail();
+        } catch (ChessException exception) {
+            assertEquals("FEN 8/8/8/8/8/8/8/X7 w contains unknown piece X.", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testParseTooManySquaresInRow() {
+        try {
+            Fen.parsePieces("8/8/8/8/8/8/8/8K w");
+            fail();
+        } catch (ChessException exception) {
+            assertEquals("FEN 8/8/8/8/8/8/8/8K w has too many squares in row 1.", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testParseTooManySquaresAtEndOfRow() {
+        try {
+            Fen.parsePieces("8/8/8/8/8/8/8/K8 w");
+            fail();
+        } catch (ChessException exception) {
+            assertEquals("FEN 8/8/8/8/8/8/8/K8 w has too many squares in row 1.", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testParseTooFewSquaresInRow() {
+        try {
+            Fen.parsePieces("8/8/8/8/8/8/8/K6 w");
+            fail();
+        } catch (ChessException exception) {
+            assertEquals("FEN 8/8/8/8/8/8/8/K6 w has too few squares in row 1.", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testParseEmptyRow() {
+        try {
+            Fen.parsePieces("8/8/8//8/8/8/8 w");
+            fail();
+        } catch (ChessException exception) {
+            assertEquals("FEN 8/8/8//8/8/8/8 w has too few squares in row 5.", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package model.util;
+
+import model.Colour;
+import model.Square;
+import model.SquareSet;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LeaperAttacksTest {
+
+    @Test
+    public void testKnightAttacksInCentre() {
+        // When
+        SquareSet actual = SquareSet.fromBitboard(LeaperAttacks.knightAttacks(Bitboards.index(Square.D4)));
+
+        // Then
+        SquareSet expected = SquareSet.of(
+                Square.C6, Square.E6, Square.F5, Square.F3, Square.E2, Square.C2, Square.B3, Square.B5);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testKnightAttacksInCorner() {
+        // When
+        SquareSet actual = SquareSet.fromBitboard(LeaperAttacks.knightAttacks(Bitboards.index(Square.H8)));
+
+        // Then
+        SquareSet expected = SquareSet.of(Square.G6, Square.F7);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testKingAttacksOnEdge() {
+        // When
+        SquareSet actual = SquareSet.fromBitboard(LeaperAttacks.kingAttacks(Bitboards.index(Square.A4)));
+
+        // Then
+        SquareSet expected = SquareSet.of(
+                Square.A5, Square.B5, Square.B4, Square.B3, Square.A3);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testPawnAttacksDependOnColour() {
+        // When
+        SquareSet white = SquareSet.fromBitboard(LeaperAttacks.pawnAttacks(Colour.WHITE, Bitboards.index(Square.H4)));
+        SquareSet black = SquareSet.fromBitboard(LeaperAttacks.pawnAttacks(Colour.BLACK, Bitboards.index(Square.E4)));
+
+        // Then
+        assertEquals(SquareSet.of(Square.G5), white);
+        assertEquals(SquareSet.of(Square.D3, Square.F3), black);
+    }
+}
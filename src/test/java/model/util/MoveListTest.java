@@ -0,0 +1,82 @@
+package model.util;
+
+import model.exception.ChessException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class MoveListTest {
+
+    @Test
+    public void testAddAndGet() {
+        // Given
+        MoveList moves = new MoveList();
+
+        // When
+        moves.add(10);
+        moves.add(20);
+
+        // Then
+        assertEquals(2, moves.size());
+        assertFalse(moves.isEmpty());
+        assertEquals(10, moves.get(0));
+        assertEquals(20, moves.get(1));
+    }
+
+    @Test
+    public void testClear() {
+        // Given
+        MoveList moves = new MoveList();
+        moves.add(10);
+
+        // When
+        moves.clear();
+
+        // Then
+        assertTrue(moves.isEmpty());
+    }
+
+    @Test
+    public void testSortByScoreIsStable() {
+        // Given
+        MoveList moves = new MoveList();
+        for (int move = 1; move <= 5; move++) {
+            moves.add(move);
+        }
+        moves.setScore(1, 5);
+        moves.setScore(3, 5);
+        moves.setScore(4, 9);
+
+        // When
+        moves.sortByScore();
+
+        // Then
+        assertEquals(5, moves.get(0));
+        assertEquals(2, moves.get(1));
+        assertEquals(4, moves.get(2));
+        assertEquals(1, moves.get(3));
+        assertEquals(3, moves.get(4));
+    }
+
+    @Test
+    public void testAddWhenFull() {
+        // Given
+        MoveList moves = new MoveList();
+        for (int move = 0; move < MoveList.CAPACITY; move++) {
+            moves.add(move);
+        }
+
+        // When
+        try {
+            moves.add(MoveList.CAPACITY);
+            fail();
+        } catch (ChessException exception) {
+            // Then
+            assertEquals("Cannot hold more than 256 moves.", exception.getMessage());
+            assertEquals(MoveList.CAPACITY, moves.size());
+        }
+    }
+}
@@ -50,11 +50,11 @@ public class MovesCalculatorTest {
     @Timeout(value = 100, unit = TimeUnit.MILLISECONDS)
     public void testCalculateThreatenedAndMoveableSquaresForPawnWhenPawnIsWhite() {
         // Given
-        PieceState pawnState = new PieceState(PieceType.PAWN, Colour.WHITE, Square.E2);
+        PieceState pawnState = PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E2);
         Set<PieceState> pieceStates = CollectionUtil.createSet(new PieceState[] {
-                        new PieceState(PieceType.PAWN, Colour.BLACK, Square.D3),
-                        new PieceState(PieceType.PAWN, Colour.BLACK, Square.E3),
-                        new PieceState(PieceType.PAWN, Colour.WHITE, Square.F3),
+                        PieceState.of(PieceType.PAWN, Colour.BLACK, Square.D3),
+                        PieceState.of(PieceType.PAWN, Colour.BLACK, Square.E3),
+                        PieceState.of(PieceType.PAWN, Colour.WHITE, Square.F3),
                         pawnState});
 
         // When
@@ -91,9 +91,9 @@ public class MovesCalculatorTest {
     @Timeout(value = 100, unit = TimeUnit.MILLISECONDS)
     public void testCalculateThreatenedAndMoveableSquaresForPawnWhenPawnIsBlack() {
         // Given
-        PieceState pawnState = new PieceState(PieceType.PAWN, Colour.BLACK, Square.E6);
+        PieceState pawnState = PieceState.of(PieceType.PAWN, Colour.BLACK, Square.E6);
         Set<PieceState> pieceStates = CollectionUtil.createSet(new PieceState[] {
-                new PieceState(PieceType.KING, Colour.WHITE, Square.D5), pawnState});
+                PieceState.of(PieceType.KING, Colour.WHITE, Square.D5), pawnState});
 
         // When
         movesCalculator.calculateMoveableAndThreatenedSquaresForPawn(pawnState, new PiecesState(pieceStates));
@@ -125,7 +125,7 @@ public class MovesCalculatorTest {
     @Timeout(value = 100, unit = TimeUnit.MILLISECONDS)
     public void testCalculateThreatenedAndMoveableSquaresForPawnWhenPawnIsOnEdge() {
         // Given
-        PieceState pawnState = new PieceState(PieceType.PAWN, Colour.WHITE, Square.E8);
+        PieceState pawnState = PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E8);
         Set<PieceState> pieceStates = CollectionUtil.createSet(new PieceState[] {pawnState});
 
         // When
@@ -156,7 +156,7 @@ public class MovesCalculatorTest {
     @Timeout(value = 100, unit = TimeUnit.MILLISECONDS)
     public void testCalculateThreatenedAndMoveableSquaresForPawnWhenPawnIsInFirstRow() {
         // Given
-        PieceState pawnState = new PieceState(PieceType.PAWN, Colour.WHITE, Square.E2);
+        PieceState pawnState = PieceState.of(PieceType.PAWN, Colour.WHITE, Square.E2);
         Set<PieceState> pieceStates = CollectionUtil.createSet(new PieceState[] {pawnState});
 
         // When
@@ -194,11 +194,11 @@ public class MovesCalculatorTest {
     @Timeout(value = 100, unit = TimeUnit.MILLISECONDS)
     public void testCalculateThreatenedAndMoveableSquaresForCastle() {
         // Given
-        PieceState castleState = new PieceState(PieceType.CASTLE, Colour.WHITE, Square.D5);
+        PieceState castleState = PieceState.of(PieceType.CASTLE, Colour.WHITE, Square.D5);
         Set<PieceState> pieceStates = CollectionUtil.createSet(new PieceState[] {
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.D7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.B5),
-                new PieceState(PieceType.KING, Colour.BLACK, Square.F5),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.D7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.B5),
+                PieceState.of(PieceType.KING, Colour.BLACK, Square.F5),
                 castleState});
 
         // When
@@ -240,14 +240,14 @@ public class MovesCalculatorTest {
     @Timeout(value = 100, unit = TimeUnit.MILLISECONDS)
     public void testCalculateThreatenedAndMoveableSquaresForKnight() {
         // Given
-        PieceState knightState = new PieceState(PieceType.KNIGHT, Colour.BLACK, Square.B6);
+        PieceState knightState = PieceState.of(PieceType.KNIGHT, Colour.BLACK, Square.B6);
         Set<PieceState> pieceStates = CollectionUtil.createSet(new PieceState[] {
-                new PieceState(PieceType.KING, Colour.WHITE, Square.D7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.A5),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.B5),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.D5),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.A4),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.B4),
+                PieceState.of(PieceType.KING, Colour.WHITE, Square.D7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.A5),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.B5),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.D5),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.A4),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.B4),
                 knightState});
 
         // When
@@ -286,11 +286,11 @@ public class MovesCalculatorTest {
     @Timeout(value = 100, unit = TimeUnit.MILLISECONDS)
     public void testCalculateThreatenedAndMoveableSquaresForBishop() {
         // Given
-        PieceState bishopState = new PieceState(PieceType.BISHOP, Colour.WHITE, Square.D5);
+        PieceState bishopState = PieceState.of(PieceType.BISHOP, Colour.WHITE, Square.D5);
         Set<PieceState> pieceStates = CollectionUtil.createSet(new PieceState[] {
-                new PieceState(PieceType.KING, Colour.BLACK, Square.G2),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.B7),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.C4),
+                PieceState.of(PieceType.KING, Colour.BLACK, Square.G2),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.B7),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.C4),
                 bishopState});
 
         // When
@@ -331,13 +331,13 @@ public class MovesCalculatorTest {
     @Timeout(value = 100, unit = TimeUnit.MILLISECONDS)
     public void testCalculateThreatenedAndMoveableSquaresForQueen() {
         // Given
-        PieceState queenState = new PieceState(PieceType.QUEEN, Colour.BLACK, Square.D5);
+        PieceState queenState = PieceState.of(PieceType.QUEEN, Colour.BLACK, Square.D5);
         Set<PieceState> pieceStates = CollectionUtil.createSet(new PieceState[] {
-                new PieceState(PieceType.KING, Colour.WHITE, Square.G2),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.D8),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.B7),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.F5),
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.C4),
+                PieceState.of(PieceType.KING, Colour.WHITE, Square.G2),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.D8),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.B7),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.F5),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.C4),
                 queenState});
 
         // When
@@ -379,10 +379,10 @@ public class MovesCalculatorTest {
     @Timeout(value = 100, unit = TimeUnit.MILLISECONDS)
     public void testCalculateThreatenedAndMoveableSquaresForKing() {
         // Given
-        PieceState kingState = new PieceState(PieceType.KING, Colour.WHITE, Square.D4);
+        PieceState kingState = PieceState.of(PieceType.KING, Colour.WHITE, Square.D4);
         Set<PieceState> pieceStates = CollectionUtil.createSet(new PieceState[] {
-                new PieceState(PieceType.PAWN, Colour.WHITE, Square.C4),
-                new PieceState(PieceType.PAWN, Colour.BLACK, Square.C3),
+                PieceState.of(PieceType.PAWN, Colour.WHITE, Square.C4),
+                PieceState.of(PieceType.PAWN, Colour.BLACK, Square.C3),
                 kingState});
 
         // When
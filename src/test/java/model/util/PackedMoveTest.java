@@ -0,0 +1,74 @@
+package model.util;
+
+import model.Colour;
+import model.Move;
+import model.PieceType;
+import model.Square;
+import model.piece.PieceState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PackedMoveTest {
+
+    @Test
+    public void testPackAndUnpackCapture() {
+        // When
+        int move = PackedMove.pack(PieceType.QUEEN, Colour.BLACK, Bitboards.index(Square.D8), Bitboards.index(Square.H4),
+                PieceType.CASTLE);
+
+        // Then
+        assertEquals(Square.D8, PackedMove.getFrom(move));
+        assertEquals(Square.H4, PackedMove.getTo(move));
+        assertEquals(PieceType.QUEEN, PackedMove.getType(move));
+        assertEquals(Colour.BLACK, PackedMove.getColour(move));
+        assertEquals(PieceType.CASTLE, PackedMove.getCaptured(move));
+        assertTrue(PackedMove.isCapture(move));
+    }
+
+    @Test
+    public void testPackAndUnpackQuietMove() {
+        // When
+        int move = PackedMove.pack(PieceType.PAWN, Colour.WHITE, Bitboards.index(Square.E2), Bitboards.index(Square.E4),
+                null);
+
+        // Then
+        assertNull(PackedMove.getCaptured(move));
+        assertFalse(PackedMove.isCapture(move));
+    }
+
+    @Test
+    public void testEveryFieldSurvivesPacking() {
+        for (PieceType type : PieceType.values()) {
+            for (Colour colour : Colour.values()) {
+                for (int from = 0; from < Bitboards.NUM_SQUARES; from++) {
+                    // When
+                    int move = PackedMove.pack(type, colour, from, Bitboards.NUM_SQUARES - 1 - from, type);
+
+                    // Then
+                    assertEquals(from, PackedMove.getFromIndex(move));
+                    assertEquals(Bitboards.NUM_SQUARES - 1 - from, PackedMove.getToIndex(move));
+                    assertEquals(type, PackedMove.getType(move));
+                    assertEquals(colour, PackedMove.getColour(move));
+                    assertEquals(type, PackedMove.getCaptured(move));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnpackReturnsSharedMove() {
+        // Given
+        Move expected = Move.of(PieceState.of(PieceType.KNIGHT, Colour.WHITE, Square.G1), Square.F3);
+
+        // When
+        Move actual = PackedMove.unpack(PackedMove.pack(expected, null));
+
+        // Then
+        assertSame(expected, actual);
+    }
+}
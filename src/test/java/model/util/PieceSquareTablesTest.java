@@ -0,0 +1,50 @@
+package model.util;
+
+import model.Colour;
+import model.PieceType;
+import model.Square;
+import model.piece.PieceFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PieceSquareTablesTest {
+
+    @Test
+    public void testBlackScoresAreWhiteScoresFlipped() {
+        for (PieceType type : PieceType.values()) {
+            for (int index = 0; index < Bitboards.NUM_SQUARES; index++) {
+                // Given
+                Square square = Bitboards.square(index);
+                Square flipped = Square.byPosition(Square.NUM_ROWS + 1 - square.getRowNumber(),
+                        square.getLetterNumber());
+
+                // Then
+                assertEquals(PieceSquareTables.score(type, Colour.WHITE, square),
+                        -PieceSquareTables.score(type, Colour.BLACK, flipped));
+            }
+        }
+    }
+
+    @Test
+    public void testScoreIncludesMaterialAndPosition() {
+        // Then
+        assertEquals(PieceSquareTables.materialValue(PieceType.KNIGHT) + 20,
+                PieceSquareTables.score(PieceType.KNIGHT, Colour.WHITE, Square.E4));
+        assertEquals(-PieceSquareTables.materialValue(PieceType.KNIGHT) + 50,
+                PieceSquareTables.score(PieceType.KNIGHT, Colour.BLACK, Square.H8));
+        assertTrue(PieceSquareTables.score(PieceType.PAWN, Colour.WHITE, Square.D4)
+                > PieceSquareTables.score(PieceType.PAWN, Colour.WHITE, Square.D2));
+    }
+
+    @Test
+    public void testScoreWhenSquareIsNone() {
+        assertEquals(0, PieceSquareTables.score(PieceType.QUEEN, Colour.WHITE, Square.NONE));
+    }
+
+    @Test
+    public void testStartingPositionScoresZero() {
+        assertEquals(0, PieceSquareTables.score(new PieceFactory().createDefaultPiecesState().getBitboards()));
+    }
+}
@@ -0,0 +1,83 @@
+package model.util;
+
+import model.Square;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SlidingAttacksTest {
+
+    /**
+     * Number of random arrangements of pieces to check on every square
+     */
+    private static final int NUM_OCCUPANCIES = 200;
+
+    @Test
+    public void testCastleAttacksMatchWalkingRays() {
+        Random random = new Random(7);
+        for (int index = 0; index < Bitboards.NUM_SQUARES; index++) {
+            for (int i = 0; i < NUM_OCCUPANCIES; i++) {
+                // Given
+                long occupied = random.nextLong() & random.nextLong();
+
+                // When
+                long actual = SlidingAttacks.castleAttacks(index, occupied);
+
+                // Then
+                assertEquals(SlidingAttacks.slowAttacks(index, occupied, false), actual);
+            }
+        }
+    }
+
+    @Test
+    public void testBishopAttacksMatchWalkingRays() {
+        Random random = new Random(11);
+        for (int index = 0; index < Bitboards.NUM_SQUARES; index++) {
+            for (int i = 0; i < NUM_OCCUPANCIES; i++) {
+                // Given
+                long occupied = random.nextLong() & random.nextLong();
+
+                // When
+                long actual = SlidingAttacks.bishopAttacks(index, occupied);
+
+                // Then
+                assertEquals(SlidingAttacks.slowAttacks(index, occupied, true), actual);
+            }
+        }
+    }
+
+    /**
+     * 8: |  |__|  |__|  |__|  |__|
+     * 7: |__|  |__|  |__|  |__|  |
+     * 6: |  |__|  |__|  |__|  |__|
+     * 5: |__|  |__|  |__|  |__|  |
+     * 4: |  |__|  |__|  |__|  |__|
+     * 3: |__|  |__|  |__|  |__|  |
+     * 2: |  |__|  |__|  |__|  |__|
+     * 1: |WQ|  |__|  |__|  |__|  |
+     *     A  B  C  D  E  F  G  H
+     */
+    @Test
+    public void testQueenAttacksOnEmptyBoard() {
+        // When
+        long actual = SlidingAttacks.queenAttacks(Bitboards.index(Square.A1), Bitboards.EMPTY);
+
+        // Then
+        assertEquals(7 * 3, Long.bitCount(actual));
+    }
+
+    @Test
+    public void testBetween() {
+        // Then
+        assertEquals(Bitboards.bit(Square.A2) | Bitboards.bit(Square.A3) | Bitboards.bit(Square.A4),
+                SlidingAttacks.between(Bitboards.index(Square.A1), Bitboards.index(Square.A5)));
+        assertEquals(Bitboards.bit(Square.D2),
+                SlidingAttacks.between(Bitboards.index(Square.E3), Bitboards.index(Square.C1)));
+        assertEquals(Bitboards.EMPTY,
+                SlidingAttacks.between(Bitboards.index(Square.B1), Bitboards.index(Square.C1)));
+        assertEquals(Bitboards.EMPTY,
+                SlidingAttacks.between(Bitboards.index(Square.A1), Bitboards.index(Square.B3)));
+    }
+}